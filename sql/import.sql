@@ -1,8 +1,17 @@
 CREATE TYPE "role" AS ENUM ('GUEST', 'PATIENT', 'DOCTOR', 'ADMIN')
 
 
+-- Hibernate hands out ids from these in blocks of 50 (pooled optimizer), so inserts can be batched.
+CREATE SEQUENCE "user_account_seq" START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE "patient_seq" START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE "doctor_seq" START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE "appointment_seq" START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE "medical_record_seq" START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE "prescription_seq" START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE "billing_seq" START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE "user_account" (
-  "id" INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "id" INT PRIMARY KEY DEFAULT (nextval('"user_account_seq"')),
   "username" varchar UNIQUE NOT NULL,
   "password" varchar NOT NULL,
   "role" role NOT NULL DEFAULT 'GUEST',
@@ -11,7 +20,7 @@ CREATE TABLE "user_account" (
 );
 
 CREATE TABLE "patient" (
-  "id" INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "id" INT PRIMARY KEY DEFAULT (nextval('"patient_seq"')),
   "user_account_id" int,
   "first_name" varchar NOT NULL,
   "last_name" varchar NOT NULL,
@@ -26,7 +35,7 @@ CREATE TABLE "patient" (
 );
 
 CREATE TABLE "doctor" (
-  "id" INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "id" INT PRIMARY KEY DEFAULT (nextval('"doctor_seq"')),
   "user_account_id" int,
   "first_name" varchar NOT NULL,
   "last_name" varchar NOT NULL,
@@ -38,7 +47,7 @@ CREATE TABLE "doctor" (
 );
 
 CREATE TABLE "appointment" (
-  "id" INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "id" INT PRIMARY KEY DEFAULT (nextval('"appointment_seq"')),
   "patient_id" int,
   "doctor_id" int,
   "appointment_date" timestamp NOT NULL,
@@ -49,7 +58,7 @@ CREATE TABLE "appointment" (
 );
 
 CREATE TABLE "medical_record" (
-  "id" INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "id" INT PRIMARY KEY DEFAULT (nextval('"medical_record_seq"')),
   "patient_id" int,
   "record_date" timestamp NOT NULL,
   "description" text,
@@ -59,7 +68,7 @@ CREATE TABLE "medical_record" (
 );
 
 CREATE TABLE "prescription" (
-  "id" INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "id" INT PRIMARY KEY DEFAULT (nextval('"prescription_seq"')),
   "appointment_id" int,
   "medication" varchar NOT NULL,
   "dosage" varchar,
@@ -69,7 +78,7 @@ CREATE TABLE "prescription" (
 );
 
 CREATE TABLE "billing" (
-  "id" INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "id" INT PRIMARY KEY DEFAULT (nextval('"billing_seq"')),
   "patient_id" int,
   "appointment_id" int,
   "amount" decimal NOT NULL,
@@ -79,6 +88,74 @@ CREATE TABLE "billing" (
   "updated_at" timestamp DEFAULT (now())
 );
 
+CREATE TABLE "revoked_token" (
+  "id" BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "token_id" varchar UNIQUE NOT NULL,
+  "expires_at" timestamptz NOT NULL,
+  "revoked_at" timestamptz NOT NULL DEFAULT (now())
+);
+
+CREATE INDEX ON "revoked_token" ("revoked_at");
+
+-- Hibernate Search outbox polling: index work is appended here in the writing transaction and applied by background agents.
+-- Generated by the Hibernate Search 7.2 schema export, only needed with SEARCH_COORDINATION=outbox-polling.
+CREATE TABLE "hsearch_agent" (
+  "assigned_shard_index" int,
+  "total_shard_count" int,
+  "expiration" timestamptz(6) NOT NULL,
+  "id" uuid PRIMARY KEY,
+  "name" varchar(255) NOT NULL,
+  "state" varchar(255) NOT NULL CHECK ("state" IN ('RUNNING', 'WAITING', 'SUSPENDED')),
+  "tenant_id" varchar(255),
+  "type" varchar(255) NOT NULL CHECK ("type" IN ('EVENT_PROCESSING_DYNAMIC_SHARDING', 'EVENT_PROCESSING_STATIC_SHARDING', 'MASS_INDEXING')),
+  "payload" bytea
+);
+
+CREATE TABLE "hsearch_outbox_event" (
+  "entity_id_hash" int NOT NULL,
+  "retries" int NOT NULL,
+  "process_after" timestamptz(6) NOT NULL,
+  "id" uuid PRIMARY KEY,
+  "entity_id" varchar(256) NOT NULL,
+  "entity_name" varchar(256) NOT NULL,
+  "status" varchar(255) NOT NULL CHECK ("status" IN ('PENDING', 'ABORTED')),
+  "tenant_id" varchar(255),
+  "payload" bytea NOT NULL
+);
+
+CREATE INDEX "entityIdHash" ON "hsearch_outbox_event" ("entity_id_hash");
+CREATE INDEX "status" ON "hsearch_outbox_event" ("status");
+CREATE INDEX "processAfter" ON "hsearch_outbox_event" ("process_after");
+
+CREATE TABLE "index_watermark" (
+  "entity_name" varchar PRIMARY KEY,
+  "indexed_until" timestamp NOT NULL
+);
+
+-- Incremental reindexing selects the rows updated since the last watermark.
+CREATE INDEX ON "user_account" ("updated_at");
+CREATE INDEX ON "patient" ("updated_at");
+CREATE INDEX ON "doctor" ("updated_at");
+CREATE INDEX ON "appointment" ("updated_at");
+CREATE INDEX ON "medical_record" ("updated_at");
+CREATE INDEX ON "prescription" ("updated_at");
+CREATE INDEX ON "billing" ("updated_at");
+
+-- Composite indexes for the filter endpoints: an equality column followed by the range or sort column that usually goes with it.
+CREATE INDEX ON "appointment" ("patient_id", "appointment_date");
+CREATE INDEX ON "appointment" ("doctor_id", "appointment_date");
+CREATE INDEX ON "appointment" ("status", "appointment_date");
+CREATE INDEX ON "billing" ("patient_id", "billing_date");
+CREATE INDEX ON "billing" ("appointment_id", "billing_date");
+CREATE INDEX ON "billing" ("status", "billing_date");
+CREATE INDEX ON "medical_record" ("patient_id", "record_date");
+CREATE INDEX ON "prescription" ("appointment_id", "created_at");
+CREATE INDEX ON "patient" ("user_account_id");
+CREATE INDEX ON "doctor" ("user_account_id");
+
+-- Doctor email is the natural id cached by Hibernate, so it has to be unique.
+CREATE UNIQUE INDEX ON "doctor" ("email");
+
 ALTER TABLE "patient" ADD FOREIGN KEY ("user_account_id") REFERENCES "user_account" ("id");
 
 ALTER TABLE "doctor" ADD FOREIGN KEY ("user_account_id") REFERENCES "user_account" ("id");
@@ -0,0 +1,13 @@
+package com.vbatecan.patient_management_system.config;
+
+import com.vbatecan.patient_management_system.repository.BaseJpaRepository;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+@Configuration
+@EnableJpaRepositories(
+	basePackages = "com.vbatecan.patient_management_system.repository",
+	repositoryBaseClass = BaseJpaRepository.class
+)
+public class JpaConfig {
+}
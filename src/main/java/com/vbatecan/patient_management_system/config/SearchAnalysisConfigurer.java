@@ -0,0 +1,75 @@
+package com.vbatecan.patient_management_system.config;
+
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+/**
+ * Analyzers of the typeahead fields. Names are indexed as every prefix of every word up to {@link #MAX_PREFIX}
+ * characters, so a suggestion is a plain term lookup instead of a wildcard or fuzzy scan. Phone numbers are reduced to
+ * their digits first, so "+63 917-555" and "63917555" index the same prefixes.
+ * <p>
+ * Duplicate detection compares names by their Double Metaphone codes, so "Jon Smyth" meets "John Smith", and phone
+ * numbers and emails by normalized keys.
+ * <p>
+ * Registered through {@code hibernate.search.backend.analysis.configurer}.
+ */
+public class SearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+	public static final String AUTOCOMPLETE = "autocomplete";
+	public static final String AUTOCOMPLETE_QUERY = "autocomplete_query";
+	public static final String PHONE_AUTOCOMPLETE = "phone_autocomplete";
+	public static final String PHONE_AUTOCOMPLETE_QUERY = "phone_autocomplete_query";
+	public static final String PHONETIC = "phonetic";
+	public static final String PHONE_DIGITS = "phone_digits";
+	public static final String EMAIL = "email";
+
+	private static final String MAX_PREFIX = "15";
+
+	@Override
+	public void configure(LuceneAnalysisConfigurationContext context) {
+		context.analyzer(AUTOCOMPLETE).custom()
+			.tokenizer("standard")
+			.tokenFilter("lowercase")
+			.tokenFilter("asciiFolding")
+			.tokenFilter("edgeNGram")
+				.param("minGramSize", "1")
+				.param("maxGramSize", MAX_PREFIX);
+
+		// The query side must not be n-grammed, or "ann" would also match everything starting with "a".
+		context.analyzer(AUTOCOMPLETE_QUERY).custom()
+			.tokenizer("standard")
+			.tokenFilter("lowercase")
+			.tokenFilter("asciiFolding");
+
+		context.analyzer(PHONE_AUTOCOMPLETE).custom()
+			.tokenizer("keyword")
+			.charFilter("patternReplace")
+				.param("pattern", "[^0-9]")
+				.param("replacement", "")
+			.tokenFilter("edgeNGram")
+				.param("minGramSize", "1")
+				.param("maxGramSize", MAX_PREFIX);
+
+		context.analyzer(PHONE_AUTOCOMPLETE_QUERY).custom()
+			.tokenizer("keyword")
+			.charFilter("patternReplace")
+				.param("pattern", "[^0-9]")
+				.param("replacement", "");
+
+		context.analyzer(PHONETIC).custom()
+			.tokenizer("standard")
+			.tokenFilter("lowercase")
+			.tokenFilter("asciiFolding")
+			.tokenFilter("doubleMetaphone")
+				.param("inject", "false");
+
+		context.normalizer(PHONE_DIGITS).custom()
+			.charFilter("patternReplace")
+				.param("pattern", "[^0-9]")
+				.param("replacement", "");
+
+		context.normalizer(EMAIL).custom()
+			.tokenFilter("lowercase")
+			.tokenFilter("asciiFolding");
+	}
+}
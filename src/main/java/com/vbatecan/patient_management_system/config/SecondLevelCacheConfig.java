@@ -0,0 +1,53 @@
+package com.vbatecan.patient_management_system.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.entities.UserAccount;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * In-process Caffeine caches behind the Hibernate second-level cache. Each entity region and its natural id region
+ * share a size bound and a time to live, so rows changed outside this application, by another node or by hand, are
+ * served stale for at most that long.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+	@Bean(destroyMethod = "close")
+	public CacheManager secondLevelCacheManager(
+		@Value("${cache.second-level.doctor.max-size:10000}") long doctorMaxSize,
+		@Value("${cache.second-level.doctor.ttl:10m}") Duration doctorTtl,
+		@Value("${cache.second-level.user-account.max-size:10000}") long userAccountMaxSize,
+		@Value("${cache.second-level.user-account.ttl:5m}") Duration userAccountTtl
+	) {
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+		createRegion(cacheManager, Doctor.CACHE_REGION, doctorMaxSize, doctorTtl);
+		createRegion(cacheManager, Doctor.NATURAL_ID_CACHE_REGION, doctorMaxSize, doctorTtl);
+		createRegion(cacheManager, UserAccount.CACHE_REGION, userAccountMaxSize, userAccountTtl);
+		createRegion(cacheManager, UserAccount.NATURAL_ID_CACHE_REGION, userAccountMaxSize, userAccountTtl);
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+	}
+
+	private static void createRegion(CacheManager cacheManager, String region, long maxSize, Duration ttl) {
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setMaximumSize(OptionalLong.of(maxSize));
+		configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+		configuration.setStatisticsEnabled(true);
+		cacheManager.createCache(region, configuration);
+	}
+}
@@ -2,6 +2,7 @@ package com.vbatecan.patient_management_system.config;
 
 import com.vbatecan.patient_management_system.service.interfaces.UserAccountService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -17,9 +18,11 @@ public class SecurityConfig {
 
 	private final UserAccountService userAccountService;
 
+	// Static so that creating the encoder does not require this configuration and, through it, UserAccountService
+	// which itself depends on the encoder.
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public static PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+		return new BCryptPasswordEncoder(strength);
 	}
 
 	@Bean
@@ -30,9 +33,9 @@ public class SecurityConfig {
 	}
 
 	@Bean
-	public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
+	public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
 		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
-		provider.setPasswordEncoder(passwordEncoder());
+		provider.setPasswordEncoder(passwordEncoder);
 		return provider;
 	}
 }
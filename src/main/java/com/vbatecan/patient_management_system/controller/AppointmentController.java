@@ -1,14 +1,25 @@
 package com.vbatecan.patient_management_system.controller;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.AppointmentMapper;
 import com.vbatecan.patient_management_system.model.dto.AppointmentDTO;
 import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
+import com.vbatecan.patient_management_system.model.filter.AppointmentFilter;
 import com.vbatecan.patient_management_system.model.input.AppointmentInput;
-import com.vbatecan.patient_management_system.model.responses.MessageResponse;
+import com.vbatecan.patient_management_system.model.input.AppointmentStatusTransition;
+import com.vbatecan.patient_management_system.model.responses.BulkUpdateResponse;
+import com.vbatecan.patient_management_system.model.responses.CursorSlice;
+import com.vbatecan.patient_management_system.model.responses.ImportResult;
 import com.vbatecan.patient_management_system.model.update.AppointmentUpdate;
+import com.vbatecan.patient_management_system.pagination.CursorCodec;
+import com.vbatecan.patient_management_system.pagination.CursorRequest;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.service.BulkImportService;
 import com.vbatecan.patient_management_system.service.interfaces.AppointmentService;
+import com.vbatecan.patient_management_system.service.interfaces.filter.AppointmentFilterService;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
+import com.vbatecan.patient_management_system.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,14 +29,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/appointments")
@@ -33,8 +52,14 @@ import java.util.Optional;
 @Tag(name = "Appointment Management", description = "APIs for managing patient appointments")
 public class AppointmentController {
 
+	private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("appointmentDate");
+
 	private final AppointmentService appointmentService;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final AppointmentFilterService appointmentFilterService;
+	private final AppointmentMapper appointmentMapper;
+	private final ConditionalGet conditionalGet;
+	private final CursorCodec cursorCodec;
+	private final BulkImportService bulkImportService;
 
 	@Operation(summary = "Create a new appointment", description = "Creates a new appointment with the provided details")
 	@ApiResponses(value = {
@@ -46,44 +71,90 @@ public class AppointmentController {
 	@PostMapping
 	public ResponseEntity<AppointmentDTO> createAppointment(@RequestBody AppointmentInput appointmentDTO) {
 		Appointment savedAppointment = appointmentService.save(appointmentDTO);
-		return new ResponseEntity<>(mapper.convertValue(savedAppointment, AppointmentDTO.class), HttpStatus.CREATED);
+		return new ResponseEntity<>(appointmentMapper.toDTO(savedAppointment), HttpStatus.CREATED);
+	}
+
+	@Operation(summary = "Import appointments", description = "Creates appointments from a JSON array or an NDJSON stream, rows that fail are reported instead of aborting the import")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Import finished, see the report for rows that failed",
+			content = @Content(schema = @Schema(implementation = ImportResult.class))),
+		@ApiResponse(responseCode = "400", description = "Unreadable request body")
+	})
+	@PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<ImportResult> importAppointments(
+		@Parameter(description = "Appointments as a JSON array or one JSON object per line") InputStream body) throws IOException {
+		return ResponseEntity.ok(bulkImportService.importAppointments(body));
 	}
 
 	@Operation(summary = "Get appointment by ID", description = "Returns an appointment based on its ID")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Appointment found",
 			content = @Content(schema = @Schema(implementation = AppointmentDTO.class))),
-		@ApiResponse(responseCode = "404", description = "Appointment not found")
+		@ApiResponse(responseCode = "404", description = "Appointment not found"),
+		@ApiResponse(responseCode = "304", description = "The copy named by If-None-Match or If-Modified-Since is current")
 	})
 	@GetMapping("/{id}")
 	public ResponseEntity<AppointmentDTO> getAppointmentById(
-		@Parameter(description = "ID of the appointment", required = true) @PathVariable Integer id) {
-		Optional<Appointment> appointmentOptional = appointmentService.findById(id);
-		return appointmentOptional.map(appointment -> ResponseEntity.ok(mapper.convertValue(appointmentOptional.get(), AppointmentDTO.class)))
-			.orElseGet(() -> ResponseEntity.notFound().build());
+		@Parameter(description = "ID of the appointment", required = true) @PathVariable Integer id, WebRequest request) {
+		return conditionalGet.respond(request, id, appointmentService::findVersion, () -> appointmentService.findById(id).map(appointmentMapper::toDTO));
 	}
 
 	@Operation(summary = "Get all appointments", description = "Returns a paginated list of all appointments")
 	@ApiResponse(responseCode = "200", description = "List of appointments retrieved successfully")
 	@GetMapping
-	public ResponseEntity<Page<AppointmentDTO>> getAllAppointments(
-		@Parameter(description = "Pagination parameters") Pageable pageable) {
-		Page<Appointment> appointments = appointmentService.findAll(pageable);
-		Page<AppointmentDTO> appointmentDTOs = appointments.map(appointment -> mapper.convertValue(appointment, AppointmentDTO.class));
+	public ResponseEntity<Slice<AppointmentDTO>> getAllAppointments(
+		@Parameter(description = "Pagination parameters") Pageable pageable,
+		@Parameter(description = "Compute the total count, false only reports whether there is a next page") @RequestParam(defaultValue = "true") boolean withTotal,
+		@Parameter(description = "Estimate the total from table statistics instead of counting, for unfiltered lists") @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Appointment> appointments = appointmentService.findAll(pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<AppointmentDTO> appointmentDTOs = appointments.map(appointmentMapper::toDTO);
+		return ResponseEntity.ok(appointmentDTOs);
+	}
+
+	@Operation(summary = "Filter appointments", description = "Returns a paginated list of the appointments matching every given filter field, fields left out are ignored")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "List of appointments retrieved successfully"),
+		@ApiResponse(responseCode = "400", description = "Invalid filter value")
+	})
+	@GetMapping("/filter")
+	public ResponseEntity<Slice<AppointmentDTO>> filterAppointments(
+		@ParameterObject AppointmentFilter filter,
+		@Parameter(description = "Pagination parameters") Pageable pageable,
+		@Parameter(description = "Compute the total count, false only reports whether there is a next page") @RequestParam(defaultValue = "true") boolean withTotal,
+		@Parameter(description = "Estimate the total from table statistics instead of counting, for unfiltered lists") @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Appointment> appointments = appointmentFilterService.filter(filter, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<AppointmentDTO> appointmentDTOs = appointments.map(appointmentMapper::toDTO);
 		return ResponseEntity.ok(appointmentDTOs);
 	}
 
+	@Operation(summary = "Scroll through appointments", description = "Returns a slice of appointments using keyset pagination, without a total count")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Slice of appointments retrieved successfully"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor or sort property")
+	})
+	@GetMapping("/scroll")
+	public ResponseEntity<CursorSlice<AppointmentDTO>> scrollAppointments(
+		@Parameter(description = "Cursor returned by the previous slice, omit for the first slice") @RequestParam(required = false) String cursor,
+		@Parameter(description = "Number of appointments per slice, at most " + CursorCodec.MAX_SIZE) @RequestParam(defaultValue = "20") int size,
+		@Parameter(description = "Sort order, ignored when a cursor is given") @SortDefault("id") Sort sort) {
+		CursorRequest request = cursorCodec.decode(cursor, size, sort, Appointment.class, SCROLL_SORT_PROPERTIES);
+		Window<Appointment> appointments = appointmentService.scroll(request.position(), request.limit(), request.sort());
+		return ResponseEntity.ok(cursorCodec.toSlice(appointments, request, appointmentMapper::toDTO));
+	}
+
 	@Operation(summary = "Get appointments by patient ID", description = "Returns a paginated list of all appointments for a specific patient")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "List of appointments retrieved successfully"),
 		@ApiResponse(responseCode = "404", description = "Patient not found")
 	})
 	@GetMapping("/patient/{patientId}")
-	public ResponseEntity<Page<AppointmentDTO>> getAppointmentsByPatientId(
+	public ResponseEntity<Slice<AppointmentDTO>> getAppointmentsByPatientId(
 		@Parameter(description = "ID of the patient", required = true) @PathVariable Integer patientId,
-		@Parameter(description = "Pagination parameters") Pageable pageable) {
-		Page<Appointment> appointments = appointmentService.findByPatientId(patientId, pageable);
-		Page<AppointmentDTO> appointmentDTOs = appointments.map(appointment -> mapper.convertValue(appointment, AppointmentDTO.class));
+		@Parameter(description = "Pagination parameters") Pageable pageable,
+		@Parameter(description = "Compute the total count, false only reports whether there is a next page") @RequestParam(defaultValue = "true") boolean withTotal,
+		@Parameter(description = "Estimate the total from table statistics instead of counting, for unfiltered lists") @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Appointment> appointments = appointmentService.findByPatientId(patientId, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<AppointmentDTO> appointmentDTOs = appointments.map(appointmentMapper::toDTO);
 		return ResponseEntity.ok(appointmentDTOs);
 	}
 
@@ -93,11 +164,13 @@ public class AppointmentController {
 		@ApiResponse(responseCode = "404", description = "Doctor not found")
 	})
 	@GetMapping("/doctor/{doctorId}")
-	public ResponseEntity<Page<AppointmentDTO>> getAppointmentsByDoctorId(
+	public ResponseEntity<Slice<AppointmentDTO>> getAppointmentsByDoctorId(
 		@Parameter(description = "ID of the doctor", required = true) @PathVariable Integer doctorId,
-		@Parameter(description = "Pagination parameters") Pageable pageable) {
-		Page<Appointment> appointments = appointmentService.findByDoctorId(doctorId, pageable);
-		Page<AppointmentDTO> appointmentDTOs = appointments.map(appointment -> mapper.convertValue(appointment, AppointmentDTO.class));
+		@Parameter(description = "Pagination parameters") Pageable pageable,
+		@Parameter(description = "Compute the total count, false only reports whether there is a next page") @RequestParam(defaultValue = "true") boolean withTotal,
+		@Parameter(description = "Estimate the total from table statistics instead of counting, for unfiltered lists") @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Appointment> appointments = appointmentService.findByDoctorId(doctorId, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<AppointmentDTO> appointmentDTOs = appointments.map(appointmentMapper::toDTO);
 		return ResponseEntity.ok(appointmentDTOs);
 	}
 
@@ -111,10 +184,10 @@ public class AppointmentController {
 	@PutMapping("/{id}")
 	public ResponseEntity<?> updateAppointment(
 		@Parameter(description = "ID of the appointment to update", required = true) @PathVariable Integer id,
-		@RequestBody @Valid AppointmentUpdate appointmentUpdate) throws JsonMappingException {
+		@RequestBody @Valid AppointmentUpdate appointmentUpdate) {
 		try {
 			Appointment updatedAppointment = appointmentService.update(id, appointmentUpdate);
-			return ResponseEntity.ok(mapper.convertValue(updatedAppointment, AppointmentDTO.class));
+			return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
 		} catch ( ResourceNotFoundException e ) {
 			return ResponseEntity.notFound().build();
 		}
@@ -124,25 +197,37 @@ public class AppointmentController {
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Appointment status updated successfully"),
 		@ApiResponse(responseCode = "400", description = "Invalid status provided"),
-		@ApiResponse(responseCode = "404", description = "Appointment not found")
+		@ApiResponse(responseCode = "404", description = "Appointment not found"),
+		@ApiResponse(responseCode = "409", description = "The current status of the appointment cannot move to the given one")
 	})
 	@PatchMapping("/{id}/status")
 	public ResponseEntity<AppointmentDTO> updateAppointmentStatus(
 		@Parameter(description = "ID of the appointment", required = true) @PathVariable Integer id,
 		@RequestBody Map<String, String> statusUpdate) {
-		String status = statusUpdate.get("status");
-		if ( status == null || status.trim().isEmpty() ) {
+		AppointmentStatus status = FilterSpecification.enumValue(AppointmentStatus.class, statusUpdate.get("status"));
+		if ( status == null ) {
 			return ResponseEntity.badRequest().build();
 		}
 
 		try {
 			Appointment updatedAppointment = appointmentService.updateAppointmentStatus(id, status);
-			return ResponseEntity.ok(mapper.convertValue(updatedAppointment, AppointmentDTO.class));
+			return ResponseEntity.ok(appointmentMapper.toDTO(updatedAppointment));
 		} catch ( ResourceNotFoundException e ) {
 			return ResponseEntity.notFound().build();
 		}
 	}
 
+	@Operation(summary = "Update appointment statuses", description = "Moves every appointment matching the filter to the given status in a single update. Appointments whose current status cannot make the transition are left unchanged. The filter must have at least one criterion besides the status.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Appointment statuses updated successfully"),
+		@ApiResponse(responseCode = "400", description = "Invalid filter or status transition")
+	})
+	@PatchMapping("/status")
+	public ResponseEntity<BulkUpdateResponse> updateAppointmentStatuses(@RequestBody @Valid AppointmentStatusTransition transition) {
+		int updated = appointmentService.updateStatuses(transition.getFilter(), transition.getStatus());
+		return ResponseEntity.ok(new BulkUpdateResponse(updated));
+	}
+
 	@Operation(summary = "Delete an appointment", description = "Deletes an appointment by its ID")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "204", description = "Appointment deleted successfully"),
@@ -158,13 +243,4 @@ public class AppointmentController {
 			return ResponseEntity.notFound().build();
 		}
 	}
-
-	// Region: Exception Handler
-	@ExceptionHandler(JsonMappingException.class)
-	public ResponseEntity<MessageResponse> handleJsonMappingException(JsonMappingException e) {
-		return ResponseEntity.badRequest().body(new MessageResponse(
-			"Malformed JSON data, please try again with proper json structure.",
-			false
-		));
-	}
 }
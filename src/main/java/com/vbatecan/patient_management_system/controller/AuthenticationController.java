@@ -1,6 +1,7 @@
 package com.vbatecan.patient_management_system.controller;
 
 import com.vbatecan.patient_management_system.model.input.AuthenticationInput;
+import com.vbatecan.patient_management_system.model.input.TokenRevocationInput;
 import com.vbatecan.patient_management_system.model.responses.MessageResponse;
 import com.vbatecan.patient_management_system.model.responses.SuccessfulLoginResponse;
 import com.vbatecan.patient_management_system.service.interfaces.AuthenticationService;
@@ -14,7 +15,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -24,30 +25,35 @@ public class AuthenticationController {
 	private final AuthenticationService authenticationService;
 
 	@PostMapping("/login")
-	public ResponseEntity<?> login(@RequestBody @Valid AuthenticationInput input, HttpServletResponse servletResponse) {
+	public CompletableFuture<ResponseEntity<?>> login(@RequestBody @Valid AuthenticationInput input, HttpServletResponse servletResponse) {
 		try {
-			Optional<SuccessfulLoginResponse> response = authenticationService.login(input);
-			if ( response.isPresent() ) {
-				// Set cookie
-				Cookie cookie = new Cookie("token", response.get().getToken());
-				cookie.setHttpOnly(true);
-				cookie.setSecure(true);
-				cookie.setPath("/");
-				cookie.setMaxAge(24 * 60 * 60);
-				cookie.setDomain("localhost");
-				cookie.setAttribute("username", response.get().getUsername());
-				cookie.setAttribute("role", response.get().getRole().name());
-				servletResponse.addCookie(cookie);
-				return ResponseEntity.ok().body(response.get());
-			}
+			// Password verification runs on the hashing pool, the servlet thread is released until it completes.
+			return authenticationService.login(input)
+				.<ResponseEntity<?>>thenApply(response -> {
+					if ( response.isPresent() ) {
+						// Set cookie
+						Cookie cookie = new Cookie("token", response.get().getToken());
+						cookie.setHttpOnly(true);
+						cookie.setSecure(true);
+						cookie.setPath("/");
+						cookie.setMaxAge(24 * 60 * 60);
+						cookie.setDomain("localhost");
+						cookie.setAttribute("username", response.get().getUsername());
+						cookie.setAttribute("role", response.get().getRole().name());
+						servletResponse.addCookie(cookie);
+						return ResponseEntity.ok().body(response.get());
+					}
 
-			return ResponseEntity.badRequest().body(new MessageResponse("Username or Password is incorrect", false));
+					return ResponseEntity.badRequest().body(new MessageResponse("Username or Password is incorrect", false));
+				})
+				.exceptionally(e -> {
+					Throwable cause = e.getCause() != null ? e.getCause() : e;
+					return ResponseEntity.badRequest().body(new MessageResponse(cause.getMessage(), false));
+				});
 		} catch ( UsernameNotFoundException e ) {
-			return ResponseEntity.badRequest().body(new MessageResponse(
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(new MessageResponse(
 				"Username or Password is incorrect", false
-			));
-		} catch ( Exception e ) {
-			return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage(), false));
+			)));
 		}
 	}
 
@@ -70,6 +76,7 @@ public class AuthenticationController {
 			cookie.setPath("/");
 			cookie.setMaxAge(0);
 			cookie.setDomain("localhost");
+			authenticationService.logout(SecurityContextHolder.getContext().getAuthentication());
 			SecurityContextHolder.clearContext();
 
 			servletResponse.addCookie(cookie);
@@ -78,4 +85,13 @@ public class AuthenticationController {
 
 		return ResponseEntity.badRequest().body(new MessageResponse("You are not logged in", false));
 	}
+
+	@PostMapping("/revoke")
+	public ResponseEntity<MessageResponse> revoke(@RequestBody @Valid TokenRevocationInput input) {
+		if ( authenticationService.revoke(input.getToken()) ) {
+			return ResponseEntity.ok().body(new MessageResponse("Token is revoked", true));
+		}
+
+		return ResponseEntity.badRequest().body(new MessageResponse("Token is invalid or already expired", false));
+	}
 }
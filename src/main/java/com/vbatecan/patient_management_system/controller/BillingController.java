@@ -1,9 +1,23 @@
 package com.vbatecan.patient_management_system.controller;
 
+import com.vbatecan.patient_management_system.mapper.BillingMapper;
 import com.vbatecan.patient_management_system.model.dto.BillingDTO;
 import com.vbatecan.patient_management_system.model.entities.Billing;
+import com.vbatecan.patient_management_system.model.filter.BillingFilter;
+import com.vbatecan.patient_management_system.model.enums.BillingStatus;
+import com.vbatecan.patient_management_system.model.enums.ExportFormat;
 import com.vbatecan.patient_management_system.model.input.BillingInput;
+import com.vbatecan.patient_management_system.model.input.BillingStatusTransition;
+import com.vbatecan.patient_management_system.model.responses.BulkUpdateResponse;
+import com.vbatecan.patient_management_system.model.responses.CursorSlice;
+import com.vbatecan.patient_management_system.pagination.CursorCodec;
+import com.vbatecan.patient_management_system.pagination.CursorRequest;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.service.ExportService;
 import com.vbatecan.patient_management_system.service.interfaces.BillingService;
+import com.vbatecan.patient_management_system.service.interfaces.filter.BillingFilterService;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
+import com.vbatecan.patient_management_system.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,15 +25,24 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/billings")
@@ -27,7 +50,14 @@ import java.util.Optional;
 @Tag(name = "Billing Management", description = "APIs for managing patient billings and payments")
 public class BillingController {
 
+	private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("amount");
+
 	private final BillingService billingService;
+	private final BillingFilterService billingFilterService;
+	private final BillingMapper billingMapper;
+	private final ConditionalGet conditionalGet;
+	private final CursorCodec cursorCodec;
+	private final ExportService exportService;
 
 	@Operation(summary = "Create a new billing", description = "Creates a new billing record with the provided details")
 	@ApiResponses(value = {
@@ -40,7 +70,7 @@ public class BillingController {
 	public ResponseEntity<?> createBilling(@RequestBody BillingInput billingInput) {
 		try {
 			Billing savedBilling = billingService.save(billingInput);
-			return new ResponseEntity<>(convertToDTO(savedBilling), HttpStatus.CREATED);
+			return new ResponseEntity<>(billingMapper.toDTO(savedBilling), HttpStatus.CREATED);
 		} catch (java.lang.IllegalArgumentException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
@@ -50,37 +80,91 @@ public class BillingController {
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Billing found", 
 				content = @Content(schema = @Schema(implementation = BillingDTO.class))),
-		@ApiResponse(responseCode = "404", description = "Billing not found")
+		@ApiResponse(responseCode = "404", description = "Billing not found"),
+		@ApiResponse(responseCode = "304", description = "The copy named by If-None-Match or If-Modified-Since is current")
 	})
 	@GetMapping("/{id}")
 	public ResponseEntity<BillingDTO> getBillingById(
-			@Parameter(description = "ID of the billing", required = true) @PathVariable Integer id) {
-		Optional<Billing> billingOptional = billingService.findById(id);
-		return billingOptional.map(billing -> ResponseEntity.ok(convertToDTO(billing)))
-			.orElseGet(() -> ResponseEntity.notFound().build());
+			@Parameter(description = "ID of the billing", required = true) @PathVariable Integer id, WebRequest request) {
+		return conditionalGet.respond(request, id, billingService::findVersion, () -> billingService.findById(id).map(billingMapper::toDTO));
 	}
 
 	@Operation(summary = "Get all billings", description = "Returns a paginated list of all billing records")
 	@ApiResponse(responseCode = "200", description = "List of billings retrieved successfully")
 	@GetMapping
-	public ResponseEntity<Page<BillingDTO>> getAllBillings(
-			@Parameter(description = "Pagination parameters") Pageable pageable) {
-		Page<Billing> billings = billingService.findAll(pageable);
-		Page<BillingDTO> billingDTOs = billings.map(this::convertToDTO);
+	public ResponseEntity<Slice<BillingDTO>> getAllBillings(
+			@Parameter(description = "Pagination parameters") Pageable pageable,
+			@Parameter(description = "Compute the total count, false only reports whether there is a next page") @RequestParam(defaultValue = "true") boolean withTotal,
+			@Parameter(description = "Estimate the total from table statistics instead of counting, for unfiltered lists") @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Billing> billings = billingService.findAll(pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<BillingDTO> billingDTOs = billings.map(billingMapper::toDTO);
 		return ResponseEntity.ok(billingDTOs);
 	}
 
+	@Operation(summary = "Filter billings", description = "Returns a paginated list of the billings matching every given filter field, fields left out are ignored")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "List of billings retrieved successfully"),
+		@ApiResponse(responseCode = "400", description = "Invalid filter value")
+	})
+	@GetMapping("/filter")
+	public ResponseEntity<Slice<BillingDTO>> filterBillings(
+			@ParameterObject BillingFilter filter,
+			@Parameter(description = "Pagination parameters") Pageable pageable,
+			@Parameter(description = "Compute the total count, false only reports whether there is a next page") @RequestParam(defaultValue = "true") boolean withTotal,
+			@Parameter(description = "Estimate the total from table statistics instead of counting, for unfiltered lists") @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Billing> billings = billingFilterService.filter(filter, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<BillingDTO> billingDTOs = billings.map(billingMapper::toDTO);
+		return ResponseEntity.ok(billingDTOs);
+	}
+
+	@Operation(summary = "Scroll through billings", description = "Returns a slice of billings using keyset pagination, without a total count")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Slice of billings retrieved successfully"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor or sort property")
+	})
+	@GetMapping("/scroll")
+	public ResponseEntity<CursorSlice<BillingDTO>> scrollBillings(
+		@Parameter(description = "Cursor returned by the previous slice, omit for the first slice") @RequestParam(required = false) String cursor,
+		@Parameter(description = "Number of billings per slice, at most " + CursorCodec.MAX_SIZE) @RequestParam(defaultValue = "20") int size,
+		@Parameter(description = "Sort order, ignored when a cursor is given") @SortDefault("id") Sort sort) {
+		CursorRequest request = cursorCodec.decode(cursor, size, sort, Billing.class, SCROLL_SORT_PROPERTIES);
+		Window<Billing> billings = billingService.scroll(request.position(), request.limit(), request.sort());
+		return ResponseEntity.ok(cursorCodec.toSlice(billings, request, billingMapper::toDTO));
+	}
+
+	@Operation(summary = "Export all billings", description = "Streams every billing record ordered by ID as NDJSON or CSV, optionally gzip encoded")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Billings streamed successfully",
+				content = { @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv") }),
+		@ApiResponse(responseCode = "400", description = "Unsupported export format")
+	})
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportBillings(
+		@Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+		@Parameter(description = "Compress the response with gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+		ExportFormat exportFormat = ExportFormat.from(format);
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+			.contentType(exportFormat.getMediaType())
+			.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("billings." + exportFormat.getExtension()).build().toString());
+		if ( gzip ) {
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return response.body(out -> exportService.exportBillings(exportFormat, gzip, out));
+	}
+
 	@Operation(summary = "Get billings by patient ID", description = "Returns a paginated list of all billing records for a specific patient")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "List of billings retrieved successfully"),
 		@ApiResponse(responseCode = "404", description = "Patient not found")
 	})
 	@GetMapping("/patient/{patientId}")
-	public ResponseEntity<Page<BillingDTO>> getBillingsByPatientId(
+	public ResponseEntity<Slice<BillingDTO>> getBillingsByPatientId(
 			@Parameter(description = "ID of the patient", required = true) @PathVariable Integer patientId, 
-			@Parameter(description = "Pagination parameters") Pageable pageable) {
-		Page<Billing> billings = billingService.findByPatientId(patientId, pageable);
-		Page<BillingDTO> billingDTOs = billings.map(this::convertToDTO);
+			@Parameter(description = "Pagination parameters") Pageable pageable,
+			@Parameter(description = "Compute the total count, false only reports whether there is a next page") @RequestParam(defaultValue = "true") boolean withTotal,
+			@Parameter(description = "Estimate the total from table statistics instead of counting, for unfiltered lists") @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Billing> billings = billingService.findByPatientId(patientId, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<BillingDTO> billingDTOs = billings.map(billingMapper::toDTO);
 		return ResponseEntity.ok(billingDTOs);
 	}
 
@@ -90,11 +174,13 @@ public class BillingController {
 		@ApiResponse(responseCode = "404", description = "Appointment not found")
 	})
 	@GetMapping("/appointment/{appointmentId}")
-	public ResponseEntity<Page<BillingDTO>> getBillingsByAppointmentId(
+	public ResponseEntity<Slice<BillingDTO>> getBillingsByAppointmentId(
 			@Parameter(description = "ID of the appointment", required = true) @PathVariable Integer appointmentId, 
-			@Parameter(description = "Pagination parameters") Pageable pageable) {
-		Page<Billing> billings = billingService.findByAppointmentId(appointmentId, pageable);
-		Page<BillingDTO> billingDTOs = billings.map(this::convertToDTO);
+			@Parameter(description = "Pagination parameters") Pageable pageable,
+			@Parameter(description = "Compute the total count, false only reports whether there is a next page") @RequestParam(defaultValue = "true") boolean withTotal,
+			@Parameter(description = "Estimate the total from table statistics instead of counting, for unfiltered lists") @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Billing> billings = billingService.findByAppointmentId(appointmentId, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<BillingDTO> billingDTOs = billings.map(billingMapper::toDTO);
 		return ResponseEntity.ok(billingDTOs);
 	}
 
@@ -110,25 +196,37 @@ public class BillingController {
 			@Parameter(description = "ID of the billing to update", required = true) @PathVariable Integer id, 
 			@RequestBody BillingDTO billingDTO) {
 		Billing updatedBilling = billingService.update(id, billingDTO);
-		return ResponseEntity.ok(convertToDTO(updatedBilling));
+		return ResponseEntity.ok(billingMapper.toDTO(updatedBilling));
 	}
 
 	@Operation(summary = "Update billing status", description = "Updates the payment status of an existing billing record")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Billing status updated successfully"),
 		@ApiResponse(responseCode = "400", description = "Invalid status provided"),
-		@ApiResponse(responseCode = "404", description = "Billing not found")
+		@ApiResponse(responseCode = "404", description = "Billing not found"),
+		@ApiResponse(responseCode = "409", description = "The current status of the billing cannot move to the given one")
 	})
 	@PatchMapping("/{id}/status")
 	public ResponseEntity<BillingDTO> updateBillingStatus(
 			@Parameter(description = "ID of the billing", required = true) @PathVariable Integer id, 
 			@RequestBody Map<String, String> statusUpdate) {
-		String status = statusUpdate.get("status");
-		if (status == null || status.trim().isEmpty()) {
+		BillingStatus status = FilterSpecification.enumValue(BillingStatus.class, statusUpdate.get("status"));
+		if (status == null) {
 			return ResponseEntity.badRequest().body(null);
 		}
 		Billing updatedBilling = billingService.updateBillingStatus(id, status);
-		return ResponseEntity.ok(convertToDTO(updatedBilling));
+		return ResponseEntity.ok(billingMapper.toDTO(updatedBilling));
+	}
+
+	@Operation(summary = "Update billing statuses", description = "Moves every billing matching the filter to the given payment status in a single update. Billings whose current status cannot make the transition are left unchanged. The filter must have at least one criterion besides the status.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Billing statuses updated successfully"),
+		@ApiResponse(responseCode = "400", description = "Invalid filter or status transition")
+	})
+	@PatchMapping("/status")
+	public ResponseEntity<BulkUpdateResponse> updateBillingStatuses(@RequestBody @Valid BillingStatusTransition transition) {
+		int updated = billingService.updateStatuses(transition.getFilter(), transition.getStatus());
+		return ResponseEntity.ok(new BulkUpdateResponse(updated));
 	}
 
 	@Operation(summary = "Delete a billing", description = "Deletes a billing record by its ID")
@@ -142,21 +240,4 @@ public class BillingController {
 		billingService.delete(id);
 		return ResponseEntity.noContent().build();
 	}
-	
-	private BillingDTO convertToDTO(Billing billing) {
-		BillingDTO dto = new BillingDTO();
-		dto.setId(billing.getId());
-		if (billing.getPatient() != null) {
-			dto.setPatientId(billing.getPatient().getId());
-		}
-		if (billing.getAppointment() != null) {
-			dto.setAppointmentId(billing.getAppointment().getId());
-		}
-		dto.setAmount(billing.getAmount());
-		dto.setStatus(billing.getStatus());
-		dto.setBillingDate(billing.getBillingDate());
-		dto.setCreatedAt(billing.getCreatedAt());
-		dto.setUpdatedAt(billing.getUpdatedAt());
-		return dto;
-	}
 }
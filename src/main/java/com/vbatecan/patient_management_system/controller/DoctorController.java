@@ -1,13 +1,22 @@
 package com.vbatecan.patient_management_system.controller;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.DoctorMapper;
 import com.vbatecan.patient_management_system.model.dto.DoctorDTO;
 import com.vbatecan.patient_management_system.model.entities.Doctor;
-import com.vbatecan.patient_management_system.model.responses.MessageResponse;
+import com.vbatecan.patient_management_system.model.filter.DoctorFilter;
+import com.vbatecan.patient_management_system.model.projection.DoctorSearchHit;
+import com.vbatecan.patient_management_system.model.responses.CursorSlice;
+import com.vbatecan.patient_management_system.model.responses.SearchResults;
+import com.vbatecan.patient_management_system.model.responses.Suggestions;
 import com.vbatecan.patient_management_system.model.update.DoctorUpdate;
+import com.vbatecan.patient_management_system.pagination.CursorCodec;
+import com.vbatecan.patient_management_system.pagination.CursorRequest;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.service.SearchService;
 import com.vbatecan.patient_management_system.service.interfaces.DoctorService;
+import com.vbatecan.patient_management_system.service.interfaces.filter.DoctorFilterService;
+import com.vbatecan.patient_management_system.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,13 +25,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/doctors")
@@ -30,8 +46,14 @@ import java.util.Optional;
 @Tag(name = "Doctor Management", description = "APIs for managing doctors")
 public class DoctorController {
 
+	private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("firstName", "lastName");
+
 	private final DoctorService doctorService;
-	private final ObjectMapper mapper;
+	private final DoctorFilterService doctorFilterService;
+	private final SearchService searchService;
+	private final DoctorMapper doctorMapper;
+	private final ConditionalGet conditionalGet;
+	private final CursorCodec cursorCodec;
 
 	@Operation(summary = "Create a new doctor", description = "Creates a new doctor record in the system.")
 	@ApiResponses(value = {
@@ -43,7 +65,7 @@ public class DoctorController {
 	@PostMapping
 	public ResponseEntity<DoctorDTO> createDoctor(@Valid @RequestBody DoctorDTO doctorDTO) {
 		Doctor savedDoctor = doctorService.save(doctorDTO);
-		return new ResponseEntity<>(mapper.convertValue(savedDoctor, DoctorDTO.class), HttpStatus.CREATED);
+		return new ResponseEntity<>(doctorMapper.toDTO(savedDoctor), HttpStatus.CREATED);
 	}
 
 	@Operation(summary = "Get a doctor by ID", description = "Retrieves a specific doctor by their unique ID.")
@@ -51,14 +73,12 @@ public class DoctorController {
 		@ApiResponse(responseCode = "200", description = "Doctor found",
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = DoctorDTO.class))),
 		@ApiResponse(responseCode = "404", description = "Doctor not found",
-			content = @Content(mediaType = "text/plain"))
+			content = @Content(mediaType = "text/plain")),
+		@ApiResponse(responseCode = "304", description = "The copy named by If-None-Match or If-Modified-Since is current")
 	})
 	@GetMapping("/{id}")
-	public ResponseEntity<DoctorDTO> getDoctorById(@PathVariable Integer id) {
-		Optional<Doctor> doctorOptional = doctorService.findById(id);
-		return doctorOptional
-			.map(doctor -> ResponseEntity.ok(mapper.convertValue(doctor, DoctorDTO.class)))
-			.orElseGet(() -> ResponseEntity.notFound().build());
+	public ResponseEntity<DoctorDTO> getDoctorById(@PathVariable Integer id, WebRequest request) {
+		return conditionalGet.respond(request, id, doctorService::findVersion, () -> doctorService.findById(id).map(doctorMapper::toDTO));
 	}
 
 	@Operation(summary = "Get a doctor by User Account ID", description = "Retrieves a doctor associated with a specific User Account ID.")
@@ -72,7 +92,7 @@ public class DoctorController {
 	public ResponseEntity<DoctorDTO> getDoctorByUserAccountId(@PathVariable Integer userAccountId) {
 		Optional<Doctor> doctorOptional = doctorService.findByUserAccountId(userAccountId);
 		return doctorOptional
-			.map(doctor -> ResponseEntity.ok(mapper.convertValue(doctor, DoctorDTO.class)))
+			.map(doctor -> ResponseEntity.ok(doctorMapper.toDTO(doctor)))
 			.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
@@ -87,7 +107,7 @@ public class DoctorController {
 	public ResponseEntity<DoctorDTO> getDoctorByEmail(@PathVariable String email) {
 		Optional<Doctor> doctorOptional = doctorService.findByEmail(email);
 		return doctorOptional
-			.map(doctor -> ResponseEntity.ok(mapper.convertValue(doctor, DoctorDTO.class)))
+			.map(doctor -> ResponseEntity.ok(doctorMapper.toDTO(doctor)))
 			.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
@@ -97,12 +117,67 @@ public class DoctorController {
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
 	})
 	@GetMapping
-	public ResponseEntity<Page<DoctorDTO>> getAllDoctors(Pageable pageable) {
-		Page<Doctor> doctors = doctorService.findAll(pageable);
-		Page<DoctorDTO> doctorDTOs = doctors.map(doctor -> mapper.convertValue(doctor, DoctorDTO.class));
+	public ResponseEntity<Slice<DoctorDTO>> getAllDoctors(Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Doctor> doctors = doctorService.findAll(pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<DoctorDTO> doctorDTOs = doctors.map(doctorMapper::toDTO);
 		return ResponseEntity.ok(doctorDTOs);
 	}
 
+	@Operation(summary = "Search doctors", description = "Full-text search of doctors by name, specialty, contact number or email, tolerating typos and matching word prefixes. Results are ordered by relevance and served from the index without touching the database, and hits are only counted up to a threshold so the total may be a lower bound.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully searched doctors",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = SearchResults.class))),
+		@ApiResponse(responseCode = "400", description = "Empty search query",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/search")
+	public ResponseEntity<SearchResults<DoctorSearchHit>> searchDoctors(@RequestParam String q, Pageable pageable) {
+		return ResponseEntity.ok(searchService.searchDoctors(q, pageable));
+	}
+
+	@Operation(summary = "Suggest doctors", description = "Typeahead lookup of doctors by the start of their name or contact number. Returns at most a few hits and gives up after a short time budget, in which case the hits found so far are returned and partial is true.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully suggested doctors",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Suggestions.class))),
+		@ApiResponse(responseCode = "400", description = "Empty search query",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/suggest")
+	public ResponseEntity<Suggestions<DoctorSearchHit>> suggestDoctors(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(searchService.suggestDoctors(q, limit));
+	}
+
+	@Operation(summary = "Filter doctors", description = "Retrieves a paginated list of the doctors matching every given filter field. Fields left out are ignored.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved list of doctors",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid filter value",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/filter")
+	public ResponseEntity<Slice<DoctorDTO>> filterDoctors(@ParameterObject DoctorFilter filter, Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Doctor> doctors = doctorFilterService.filter(filter, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<DoctorDTO> doctorDTOs = doctors.map(doctorMapper::toDTO);
+		return ResponseEntity.ok(doctorDTOs);
+	}
+
+	@Operation(summary = "Scroll through doctors", description = "Retrieves a slice of doctors using keyset pagination. Pass the returned cursor to fetch the next slice, no total count is computed.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved a slice of doctors",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorSlice.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor or sort property",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/scroll")
+	public ResponseEntity<CursorSlice<DoctorDTO>> scrollDoctors(
+		@RequestParam(required = false) String cursor,
+		@RequestParam(defaultValue = "20") int size,
+		@SortDefault("id") Sort sort) {
+		CursorRequest request = cursorCodec.decode(cursor, size, sort, Doctor.class, SCROLL_SORT_PROPERTIES);
+		Window<Doctor> doctors = doctorService.scroll(request.position(), request.limit(), request.sort());
+		return ResponseEntity.ok(cursorCodec.toSlice(doctors, request, doctorMapper::toDTO));
+	}
+
 	@Operation(summary = "Update an existing doctor", description = "Updates the details of an existing doctor by their ID.")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Doctor updated successfully",
@@ -113,9 +188,9 @@ public class DoctorController {
 			content = @Content(mediaType = "text/plain"))
 	})
 	@PutMapping("/{id}")
-	public ResponseEntity<DoctorDTO> updateDoctor(@PathVariable Integer id, @Valid @RequestBody DoctorUpdate doctorUpdate) throws JsonMappingException {
+	public ResponseEntity<DoctorDTO> updateDoctor(@PathVariable Integer id, @Valid @RequestBody DoctorUpdate doctorUpdate) {
 		Doctor updatedDoctor = doctorService.update(id, doctorUpdate);
-		return ResponseEntity.ok(mapper.convertValue(updatedDoctor, DoctorDTO.class));
+		return ResponseEntity.ok(doctorMapper.toDTO(updatedDoctor));
 	}
 
 	@Operation(summary = "Delete a doctor", description = "Deletes a doctor by their ID.")
@@ -139,13 +214,4 @@ public class DoctorController {
 	public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
 	}
-
-	// Region: Exception Handlers
-	@ExceptionHandler(JsonMappingException.class)
-	public ResponseEntity<MessageResponse> handleJsonMappingException(JsonMappingException ex) {
-		return ResponseEntity.badRequest().body(new MessageResponse(
-			"Malformed JSON data, please try again with proper json structure.",
-			false
-		));
-	}
 }
@@ -0,0 +1,56 @@
+package com.vbatecan.patient_management_system.controller;
+
+import com.vbatecan.patient_management_system.model.projection.AppointmentSearchHit;
+import com.vbatecan.patient_management_system.model.projection.DoctorSearchHit;
+import com.vbatecan.patient_management_system.model.projection.PatientSearchHit;
+import com.vbatecan.patient_management_system.model.responses.FacetedResults;
+import com.vbatecan.patient_management_system.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/facets")
+@RequiredArgsConstructor
+@Tag(name = "Facets", description = "APIs for search results with term and range counts")
+public class FacetController {
+
+	private final SearchService searchService;
+
+	@Operation(summary = "Patient facets", description = "Searches patients like the patient search, or matches every patient without a query, and counts the hits per gender. Counts cover all hits, the results only the requested page.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully counted patients",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = FacetedResults.class)))
+	})
+	@GetMapping("/patients")
+	public ResponseEntity<FacetedResults<PatientSearchHit>> facetPatients(@RequestParam(required = false) String q, Pageable pageable) {
+		return ResponseEntity.ok(searchService.facetPatients(q, pageable));
+	}
+
+	@Operation(summary = "Doctor facets", description = "Searches doctors like the doctor search, or matches every doctor without a query, and counts the hits per specialty. Counts cover all hits, the results only the requested page.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully counted doctors",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = FacetedResults.class)))
+	})
+	@GetMapping("/doctors")
+	public ResponseEntity<FacetedResults<DoctorSearchHit>> facetDoctors(@RequestParam(required = false) String q, Pageable pageable) {
+		return ResponseEntity.ok(searchService.facetDoctors(q, pageable));
+	}
+
+	@Operation(summary = "Appointment facets", description = "Searches appointments by reason, or matches every appointment without a query, and counts the hits per status and per date bucket: past, today, next7Days and later. Counts cover all hits, the results only the requested page.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully counted appointments",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = FacetedResults.class)))
+	})
+	@GetMapping("/appointments")
+	public ResponseEntity<FacetedResults<AppointmentSearchHit>> facetAppointments(@RequestParam(required = false) String q, Pageable pageable) {
+		return ResponseEntity.ok(searchService.facetAppointments(q, pageable));
+	}
+}
@@ -1,6 +1,10 @@
 package com.vbatecan.patient_management_system.controller;
 
+import com.vbatecan.patient_management_system.exception.ConflictException;
+import com.vbatecan.patient_management_system.exception.ServiceBusyException;
 import com.vbatecan.patient_management_system.model.responses.MessageResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -24,6 +28,18 @@ public class GlobalExceptionHandlerController {
 		return ResponseEntity.badRequest().body(errors);
 	}
 
+	@ExceptionHandler(ServiceBusyException.class)
+	public ResponseEntity<MessageResponse> handleServiceBusyException(ServiceBusyException ex) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+			.header(HttpHeaders.RETRY_AFTER, "1")
+			.body(new MessageResponse(ex.getMessage(), false));
+	}
+
+	@ExceptionHandler(ConflictException.class)
+	public ResponseEntity<MessageResponse> handleConflictException(ConflictException ex) {
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(ex.getMessage(), false));
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<?> handleGenericException(Exception ex) {
 		return ResponseEntity.badRequest().body(new MessageResponse(ex.getMessage(), false));
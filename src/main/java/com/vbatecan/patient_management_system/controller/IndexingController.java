@@ -1,12 +1,20 @@
 package com.vbatecan.patient_management_system.controller;
 
-import com.vbatecan.patient_management_system.model.responses.MessageResponse;
+import com.vbatecan.patient_management_system.model.input.ReindexOptions;
+import com.vbatecan.patient_management_system.model.responses.ReindexJobStatus;
 import com.vbatecan.patient_management_system.service.IndexingService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.util.UUID;
+
 @RestController
 @RequiredArgsConstructor
 public class IndexingController {
@@ -14,8 +22,17 @@ public class IndexingController {
 	private final IndexingService indexingService;
 
 	@PostMapping("/reindex")
-	public ResponseEntity<MessageResponse> index() {
-		this.indexingService.reindexAll();
-		return ResponseEntity.ok().build();
+	public ResponseEntity<ReindexJobStatus> index(@RequestBody(required = false) @Valid ReindexOptions options) {
+		ReindexJobStatus job = this.indexingService.startReindex(options != null ? options : new ReindexOptions());
+		return ResponseEntity.accepted()
+			.location(URI.create("/reindex/" + job.getId()))
+			.body(job);
+	}
+
+	@GetMapping("/reindex/{id}")
+	public ResponseEntity<ReindexJobStatus> status(@PathVariable UUID id) {
+		return indexingService.findJob(id)
+			.map(ResponseEntity::ok)
+			.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 }
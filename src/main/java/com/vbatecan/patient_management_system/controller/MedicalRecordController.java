@@ -1,9 +1,17 @@
 package com.vbatecan.patient_management_system.controller;
 
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.MedicalRecordMapper;
 import com.vbatecan.patient_management_system.model.dto.MedicalRecordDTO;
 import com.vbatecan.patient_management_system.model.entities.MedicalRecord;
+import com.vbatecan.patient_management_system.model.filter.MedicalRecordFilter;
+import com.vbatecan.patient_management_system.model.responses.CursorSlice;
+import com.vbatecan.patient_management_system.pagination.CursorCodec;
+import com.vbatecan.patient_management_system.pagination.CursorRequest;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
 import com.vbatecan.patient_management_system.service.interfaces.MedicalRecordService;
+import com.vbatecan.patient_management_system.service.interfaces.filter.MedicalRecordFilterService;
+import com.vbatecan.patient_management_system.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,13 +20,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/medical-records")
@@ -26,7 +40,13 @@ import java.util.Optional;
 @Tag(name = "Medical Record Management", description = "APIs for managing medical records")
 public class MedicalRecordController {
 
+	private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("recordDate");
+
 	private final MedicalRecordService medicalRecordService;
+	private final MedicalRecordFilterService medicalRecordFilterService;
+	private final MedicalRecordMapper medicalRecordMapper;
+	private final ConditionalGet conditionalGet;
+	private final CursorCodec cursorCodec;
 
 	@Operation(summary = "Create a new medical record", description = "Creates a new medical record in the system.")
 	@ApiResponses(value = {
@@ -40,7 +60,7 @@ public class MedicalRecordController {
 	@PostMapping
 	public ResponseEntity<MedicalRecordDTO> createMedicalRecord(@Valid @RequestBody MedicalRecordDTO medicalRecordDTO) {
 		MedicalRecord savedMedicalRecord = medicalRecordService.save(medicalRecordDTO);
-		return new ResponseEntity<>(convertToDTO(savedMedicalRecord), HttpStatus.CREATED);
+		return new ResponseEntity<>(medicalRecordMapper.toDTO(savedMedicalRecord), HttpStatus.CREATED);
 	}
 
 	@Operation(summary = "Get a medical record by ID", description = "Retrieves a specific medical record by its unique ID.")
@@ -48,14 +68,12 @@ public class MedicalRecordController {
 		@ApiResponse(responseCode = "200", description = "Medical record found",
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = MedicalRecordDTO.class))),
 		@ApiResponse(responseCode = "404", description = "Medical record not found",
-			content = @Content(mediaType = "text/plain"))
+			content = @Content(mediaType = "text/plain")),
+		@ApiResponse(responseCode = "304", description = "The copy named by If-None-Match or If-Modified-Since is current")
 	})
 	@GetMapping("/{id}")
-	public ResponseEntity<MedicalRecordDTO> getMedicalRecordById(@PathVariable Integer id) {
-		Optional<MedicalRecord> medicalRecordOptional = medicalRecordService.findById(id);
-		return medicalRecordOptional
-			.map(medicalRecord -> ResponseEntity.ok(convertToDTO(medicalRecord)))
-			.orElseGet(() -> ResponseEntity.notFound().build());
+	public ResponseEntity<MedicalRecordDTO> getMedicalRecordById(@PathVariable Integer id, WebRequest request) {
+		return conditionalGet.respond(request, id, medicalRecordService::findVersion, () -> medicalRecordService.findById(id).map(medicalRecordMapper::toDTO));
 	}
 
 	@Operation(summary = "Get all medical records", description = "Retrieves a paginated list of all medical records.")
@@ -64,12 +82,43 @@ public class MedicalRecordController {
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
 	})
 	@GetMapping
-	public ResponseEntity<Page<MedicalRecordDTO>> getAllMedicalRecords(Pageable pageable) {
-		Page<MedicalRecord> medicalRecords = medicalRecordService.findAll(pageable);
-		Page<MedicalRecordDTO> medicalRecordDTOs = medicalRecords.map(this::convertToDTO);
+	public ResponseEntity<Slice<MedicalRecordDTO>> getAllMedicalRecords(Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<MedicalRecord> medicalRecords = medicalRecordService.findAll(pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<MedicalRecordDTO> medicalRecordDTOs = medicalRecords.map(medicalRecordMapper::toDTO);
 		return ResponseEntity.ok(medicalRecordDTOs);
 	}
 
+	@Operation(summary = "Filter medical records", description = "Retrieves a paginated list of the medical records matching every given filter field. Fields left out are ignored.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved list of medical records",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid filter value",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/filter")
+	public ResponseEntity<Slice<MedicalRecordDTO>> filterMedicalRecords(@ParameterObject MedicalRecordFilter filter, Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<MedicalRecord> medicalRecords = medicalRecordFilterService.filter(filter, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<MedicalRecordDTO> medicalRecordDTOs = medicalRecords.map(medicalRecordMapper::toDTO);
+		return ResponseEntity.ok(medicalRecordDTOs);
+	}
+
+	@Operation(summary = "Scroll through medical records", description = "Retrieves a slice of medical records using keyset pagination. Pass the returned cursor to fetch the next slice, no total count is computed.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved a slice of medical records",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorSlice.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor or sort property",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/scroll")
+	public ResponseEntity<CursorSlice<MedicalRecordDTO>> scrollMedicalRecords(
+		@RequestParam(required = false) String cursor,
+		@RequestParam(defaultValue = "20") int size,
+		@SortDefault("id") Sort sort) {
+		CursorRequest request = cursorCodec.decode(cursor, size, sort, MedicalRecord.class, SCROLL_SORT_PROPERTIES);
+		Window<MedicalRecord> medicalRecords = medicalRecordService.scroll(request.position(), request.limit(), request.sort());
+		return ResponseEntity.ok(cursorCodec.toSlice(medicalRecords, request, medicalRecordMapper::toDTO));
+	}
+
 	@Operation(summary = "Get medical records by Patient ID", description = "Retrieves a paginated list of medical records for a specific patient.")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Successfully retrieved list of medical records for the patient",
@@ -78,9 +127,9 @@ public class MedicalRecordController {
 			content = @Content(mediaType = "text/plain"))
 	})
 	@GetMapping("/patient/{patientId}")
-	public ResponseEntity<Page<MedicalRecordDTO>> getMedicalRecordsByPatientId(@PathVariable Integer patientId, Pageable pageable) {
-		Page<MedicalRecord> medicalRecords = medicalRecordService.findByPatientId(patientId, pageable);
-		Page<MedicalRecordDTO> medicalRecordDTOs = medicalRecords.map(this::convertToDTO);
+	public ResponseEntity<Slice<MedicalRecordDTO>> getMedicalRecordsByPatientId(@PathVariable Integer patientId, Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<MedicalRecord> medicalRecords = medicalRecordService.findByPatientId(patientId, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<MedicalRecordDTO> medicalRecordDTOs = medicalRecords.map(medicalRecordMapper::toDTO);
 		return ResponseEntity.ok(medicalRecordDTOs);
 	}
 
@@ -96,7 +145,7 @@ public class MedicalRecordController {
 	@PutMapping("/{id}")
 	public ResponseEntity<MedicalRecordDTO> updateMedicalRecord(@PathVariable Integer id, @Valid @RequestBody MedicalRecordDTO medicalRecordDTO) {
 		MedicalRecord updatedMedicalRecord = medicalRecordService.update(id, medicalRecordDTO);
-		return ResponseEntity.ok(convertToDTO(updatedMedicalRecord));
+		return ResponseEntity.ok(medicalRecordMapper.toDTO(updatedMedicalRecord));
 	}
 
 	@Operation(summary = "Delete a medical record", description = "Deletes a medical record by its ID.")
@@ -120,18 +169,4 @@ public class MedicalRecordController {
 	public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
 	}
-	
-	private MedicalRecordDTO convertToDTO(MedicalRecord medicalRecord) {
-		MedicalRecordDTO dto = new MedicalRecordDTO();
-		dto.setId(medicalRecord.getId());
-		if (medicalRecord.getPatient() != null) {
-			dto.setPatientId(medicalRecord.getPatient().getId());
-		}
-		dto.setRecordDate(medicalRecord.getRecordDate());
-		dto.setDescription(medicalRecord.getDescription());
-		dto.setFilePath(medicalRecord.getFilePath());
-		dto.setCreatedAt(medicalRecord.getCreatedAt());
-		dto.setUpdatedAt(medicalRecord.getUpdatedAt());
-		return dto;
-	}
 }
@@ -1,12 +1,29 @@
 package com.vbatecan.patient_management_system.controller;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.PatientMapper;
 import com.vbatecan.patient_management_system.model.dto.PatientDTO;
 import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.enums.ExportFormat;
+import com.vbatecan.patient_management_system.model.filter.PatientFilter;
+import com.vbatecan.patient_management_system.model.projection.PatientSearchHit;
+import com.vbatecan.patient_management_system.model.responses.CursorSlice;
+import com.vbatecan.patient_management_system.model.responses.DuplicateCandidate;
+import com.vbatecan.patient_management_system.model.responses.DuplicateScanStatus;
+import com.vbatecan.patient_management_system.model.responses.ImportResult;
 import com.vbatecan.patient_management_system.model.responses.MessageResponse;
+import com.vbatecan.patient_management_system.model.responses.SearchResults;
+import com.vbatecan.patient_management_system.model.responses.Suggestions;
+import com.vbatecan.patient_management_system.pagination.CursorCodec;
+import com.vbatecan.patient_management_system.pagination.CursorRequest;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.service.BulkImportService;
+import com.vbatecan.patient_management_system.service.DuplicatePatientService;
+import com.vbatecan.patient_management_system.service.ExportService;
+import com.vbatecan.patient_management_system.service.SearchService;
 import com.vbatecan.patient_management_system.service.interfaces.PatientService;
+import com.vbatecan.patient_management_system.service.interfaces.filter.PatientFilterService;
+import com.vbatecan.patient_management_system.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,13 +32,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Optional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/patients")
@@ -29,22 +61,89 @@ import java.util.Optional;
 @Tag(name = "Patient Management", description = "APIs for managing patients")
 public class PatientController {
 
+	private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("firstName", "lastName", "dateOfBirth");
+
 	private final PatientService patientService;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final PatientFilterService patientFilterService;
+	private final SearchService searchService;
+	private final PatientMapper patientMapper;
+	private final ConditionalGet conditionalGet;
+	private final CursorCodec cursorCodec;
+	private final ExportService exportService;
+	private final BulkImportService bulkImportService;
+	private final DuplicatePatientService duplicatePatientService;
 
-	@Operation(summary = "Create a new patient", description = "Creates a new patient record in the system.")
+	@Operation(summary = "Create a new patient", description = "Creates a new patient record in the system. Registration is rejected when an existing patient is very likely the same person, unless allowDuplicates is set. Duplicates are looked up in the search index, which is updated after commit, so a duplicate registered a moment earlier may not be found yet.")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "201", description = "Patient created successfully",
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = PatientDTO.class))),
 		@ApiResponse(responseCode = "400", description = "Invalid input data",
 			content = @Content(mediaType = "text/plain")),
 		@ApiResponse(responseCode = "404", description = "Associated UserAccount not found",
-			content = @Content(mediaType = "text/plain"))
+			content = @Content(mediaType = "text/plain")),
+		@ApiResponse(responseCode = "409", description = "Patient is likely a duplicate of an existing one",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = MessageResponse.class)))
 	})
 	@PostMapping
-	public ResponseEntity<PatientDTO> createPatient(@Valid @RequestBody PatientDTO patientDTO) {
-		Optional<Patient> savedPatient = patientService.save(patientDTO);
-		return new ResponseEntity<>(mapper.convertValue(savedPatient, PatientDTO.class), HttpStatus.CREATED);
+	public ResponseEntity<PatientDTO> createPatient(@Valid @RequestBody PatientDTO patientDTO, @RequestParam(defaultValue = "false") boolean allowDuplicates) {
+		// Checked before the transaction of save() begins, so the index lookup does not hold a connection.
+		if ( !allowDuplicates ) {
+			duplicatePatientService.check(patientMapper.toEntity(patientDTO));
+		}
+		return patientService.save(patientDTO)
+			.map(patient -> new ResponseEntity<>(patientMapper.toDTO(patient), HttpStatus.CREATED))
+			.orElseGet(() -> ResponseEntity.badRequest().build());
+	}
+
+	@Operation(summary = "Find likely duplicates", description = "Scores existing patients against the given, not yet registered, patient by phonetic name, date of birth, phone number and email. Only candidates above the warn threshold are returned, best first.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully checked for duplicates",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = DuplicateCandidate.class)))
+	})
+	@PostMapping("/duplicates")
+	public ResponseEntity<List<DuplicateCandidate>> findDuplicates(@RequestBody PatientDTO patientDTO) {
+		return ResponseEntity.ok(duplicatePatientService.findCandidates(patientMapper.toEntity(patientDTO)));
+	}
+
+	@Operation(summary = "Scan for duplicates", description = "Starts a background scan of every patient for likely duplicates. Poll the returned location for progress and the pairs found.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "202", description = "Scan started",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = DuplicateScanStatus.class))),
+		@ApiResponse(responseCode = "409", description = "A scan is already running",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = MessageResponse.class)))
+	})
+	@PostMapping("/duplicates/scan")
+	public ResponseEntity<DuplicateScanStatus> scanDuplicates() {
+		DuplicateScanStatus scan = duplicatePatientService.startScan();
+		return ResponseEntity.accepted()
+			.location(URI.create("/api/v1/patients/duplicates/scan/" + scan.getId()))
+			.body(scan);
+	}
+
+	@Operation(summary = "Get a duplicate scan", description = "Retrieves the progress of a duplicate scan and the pairs found so far.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Scan found",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = DuplicateScanStatus.class))),
+		@ApiResponse(responseCode = "404", description = "Scan not found or expired",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/duplicates/scan/{id}")
+	public ResponseEntity<DuplicateScanStatus> getDuplicateScan(@PathVariable UUID id) {
+		return duplicatePatientService.findScan(id)
+			.map(ResponseEntity::ok)
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	@Operation(summary = "Import patients", description = "Creates patients from a JSON array or an NDJSON stream. Rows that fail validation or persistence are reported with their position instead of aborting the import.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Import finished, see the report for rows that failed",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportResult.class))),
+		@ApiResponse(responseCode = "400", description = "Unreadable request body",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = MessageResponse.class)))
+	})
+	@PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<ImportResult> importPatients(InputStream body) throws IOException {
+		return ResponseEntity.ok(bulkImportService.importPatients(body));
 	}
 
 	@Operation(summary = "Get a patient by ID", description = "Retrieves a specific patient by their unique ID.")
@@ -52,14 +151,12 @@ public class PatientController {
 		@ApiResponse(responseCode = "200", description = "Patient found",
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = PatientDTO.class))),
 		@ApiResponse(responseCode = "404", description = "Patient not found",
-			content = @Content(mediaType = "text/plain"))
+			content = @Content(mediaType = "text/plain")),
+		@ApiResponse(responseCode = "304", description = "The copy named by If-None-Match or If-Modified-Since is current")
 	})
 	@GetMapping("/{id}")
-	public ResponseEntity<PatientDTO> getPatientById(@PathVariable Integer id) {
-		Optional<Patient> patientOptional = patientService.findById(id);
-		return patientOptional
-			.map(patient -> ResponseEntity.ok(mapper.convertValue(patient, PatientDTO.class)))
-			.orElseGet(() -> ResponseEntity.notFound().build());
+	public ResponseEntity<PatientDTO> getPatientById(@PathVariable Integer id, WebRequest request) {
+		return conditionalGet.respond(request, id, patientService::findVersion, () -> patientService.findById(id).map(patientMapper::toDTO));
 	}
 
 	@Operation(summary = "Get all patients", description = "Retrieves a paginated list of all patients.")
@@ -68,12 +165,88 @@ public class PatientController {
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
 	})
 	@GetMapping
-	public ResponseEntity<Page<PatientDTO>> getAllPatients(Pageable pageable) {
-		Page<Patient> patients = patientService.findAll(pageable);
-		Page<PatientDTO> patientDTOs = patients.map(patient -> mapper.convertValue(patient, PatientDTO.class));
+	public ResponseEntity<Slice<PatientDTO>> getAllPatients(Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Patient> patients = patientService.findAll(pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<PatientDTO> patientDTOs = patients.map(patientMapper::toDTO);
+		return ResponseEntity.ok(patientDTOs);
+	}
+
+	@Operation(summary = "Search patients", description = "Full-text search of patients by name, contact number or email, tolerating typos and matching word prefixes. Results are ordered by relevance and served from the index without touching the database, and hits are only counted up to a threshold so the total may be a lower bound.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully searched patients",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = SearchResults.class))),
+		@ApiResponse(responseCode = "400", description = "Empty search query",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/search")
+	public ResponseEntity<SearchResults<PatientSearchHit>> searchPatients(@RequestParam String q, Pageable pageable) {
+		return ResponseEntity.ok(searchService.searchPatients(q, pageable));
+	}
+
+	@Operation(summary = "Suggest patients", description = "Typeahead lookup of patients by the start of their name or contact number. Returns at most a few hits and gives up after a short time budget, in which case the hits found so far are returned and partial is true.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully suggested patients",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Suggestions.class))),
+		@ApiResponse(responseCode = "400", description = "Empty search query",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/suggest")
+	public ResponseEntity<Suggestions<PatientSearchHit>> suggestPatients(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(searchService.suggestPatients(q, limit));
+	}
+
+	@Operation(summary = "Filter patients", description = "Retrieves a paginated list of the patients matching every given filter field. Fields left out are ignored.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved list of patients",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid filter value",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/filter")
+	public ResponseEntity<Slice<PatientDTO>> filterPatients(@ParameterObject PatientFilter filter, Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Patient> patients = patientFilterService.filter(filter, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<PatientDTO> patientDTOs = patients.map(patientMapper::toDTO);
 		return ResponseEntity.ok(patientDTOs);
 	}
 
+	@Operation(summary = "Scroll through patients", description = "Retrieves a slice of patients using keyset pagination. Pass the returned cursor to fetch the next slice, no total count is computed.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved a slice of patients",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorSlice.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor or sort property",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/scroll")
+	public ResponseEntity<CursorSlice<PatientDTO>> scrollPatients(
+		@RequestParam(required = false) String cursor,
+		@RequestParam(defaultValue = "20") int size,
+		@SortDefault("id") Sort sort) {
+		CursorRequest request = cursorCodec.decode(cursor, size, sort, Patient.class, SCROLL_SORT_PROPERTIES);
+		Window<Patient> patients = patientService.scroll(request.position(), request.limit(), request.sort());
+		return ResponseEntity.ok(cursorCodec.toSlice(patients, request, patientMapper::toDTO));
+	}
+
+	@Operation(summary = "Export all patients", description = "Streams every patient ordered by ID as NDJSON or CSV, optionally gzip encoded.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Patients streamed successfully",
+			content = { @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv") }),
+		@ApiResponse(responseCode = "400", description = "Unsupported export format",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = MessageResponse.class)))
+	})
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportPatients(
+		@RequestParam(defaultValue = "ndjson") String format,
+		@RequestParam(defaultValue = "false") boolean gzip) {
+		ExportFormat exportFormat = ExportFormat.from(format);
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+			.contentType(exportFormat.getMediaType())
+			.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("patients." + exportFormat.getExtension()).build().toString());
+		if ( gzip ) {
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return response.body(out -> exportService.exportPatients(exportFormat, gzip, out));
+	}
+
 	@Operation(summary = "Update an existing patient", description = "Updates the details of an existing patient by their ID.")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Patient updated successfully",
@@ -84,13 +257,10 @@ public class PatientController {
 			content = @Content(mediaType = "text/plain"))
 	})
 	@PutMapping("/{id}")
-	public ResponseEntity<?> updatePatient(@PathVariable Integer id, @Valid @RequestBody PatientDTO patientDTO) {
-		try {
-			Optional<Patient> updatedPatient = patientService.update(id, patientDTO);
-			return ResponseEntity.ok(mapper.convertValue(updatedPatient, PatientDTO.class));
-		} catch ( JsonMappingException e ) {
-			return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage(), false));
-		}
+	public ResponseEntity<PatientDTO> updatePatient(@PathVariable Integer id, @Valid @RequestBody PatientDTO patientDTO) {
+		return patientService.update(id, patientDTO)
+			.map(patient -> ResponseEntity.ok(patientMapper.toDTO(patient)))
+			.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
 	@Operation(summary = "Delete a patient", description = "Deletes a patient by their ID.")
@@ -1,10 +1,17 @@
 package com.vbatecan.patient_management_system.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.PrescriptionMapper;
 import com.vbatecan.patient_management_system.model.dto.PrescriptionDTO;
 import com.vbatecan.patient_management_system.model.entities.Prescription;
+import com.vbatecan.patient_management_system.model.filter.PrescriptionFilter;
+import com.vbatecan.patient_management_system.model.responses.CursorSlice;
+import com.vbatecan.patient_management_system.pagination.CursorCodec;
+import com.vbatecan.patient_management_system.pagination.CursorRequest;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
 import com.vbatecan.patient_management_system.service.interfaces.PrescriptionService;
+import com.vbatecan.patient_management_system.service.interfaces.filter.PrescriptionFilterService;
+import com.vbatecan.patient_management_system.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,13 +20,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/prescriptions")
@@ -27,8 +40,13 @@ import java.util.Optional;
 @Tag(name = "Prescription Management", description = "APIs for managing prescriptions")
 public class PrescriptionController {
 
+	private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("medication");
+
 	private final PrescriptionService prescriptionService;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final PrescriptionFilterService prescriptionFilterService;
+	private final PrescriptionMapper prescriptionMapper;
+	private final ConditionalGet conditionalGet;
+	private final CursorCodec cursorCodec;
 
 	@Operation(summary = "Create a new prescription", description = "Creates a new prescription in the system.")
 	@ApiResponses(value = {
@@ -42,7 +60,7 @@ public class PrescriptionController {
 	@PostMapping
 	public ResponseEntity<PrescriptionDTO> createPrescription(@Valid @RequestBody PrescriptionDTO prescriptionDTO) {
 		Prescription savedPrescription = prescriptionService.save(prescriptionDTO);
-		return new ResponseEntity<>(mapper.convertValue(savedPrescription, PrescriptionDTO.class), HttpStatus.CREATED);
+		return new ResponseEntity<>(prescriptionMapper.toDTO(savedPrescription), HttpStatus.CREATED);
 	}
 
 	@Operation(summary = "Get a prescription by ID", description = "Retrieves a specific prescription by its unique ID.")
@@ -50,14 +68,12 @@ public class PrescriptionController {
 		@ApiResponse(responseCode = "200", description = "Prescription found",
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = PrescriptionDTO.class))),
 		@ApiResponse(responseCode = "404", description = "Prescription not found",
-			content = @Content(mediaType = "text/plain"))
+			content = @Content(mediaType = "text/plain")),
+		@ApiResponse(responseCode = "304", description = "The copy named by If-None-Match or If-Modified-Since is current")
 	})
 	@GetMapping("/{id}")
-	public ResponseEntity<PrescriptionDTO> getPrescriptionById(@PathVariable Integer id) {
-		Optional<Prescription> prescriptionOptional = prescriptionService.findById(id);
-		return prescriptionOptional
-			.map(prescription -> ResponseEntity.ok(mapper.convertValue(prescription, PrescriptionDTO.class)))
-			.orElseGet(() -> ResponseEntity.notFound().build());
+	public ResponseEntity<PrescriptionDTO> getPrescriptionById(@PathVariable Integer id, WebRequest request) {
+		return conditionalGet.respond(request, id, prescriptionService::findVersion, () -> prescriptionService.findById(id).map(prescriptionMapper::toDTO));
 	}
 
 	@Operation(summary = "Get all prescriptions", description = "Retrieves a paginated list of all prescriptions.")
@@ -66,12 +82,43 @@ public class PrescriptionController {
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
 	})
 	@GetMapping
-	public ResponseEntity<Page<PrescriptionDTO>> getAllPrescriptions(Pageable pageable) {
-		Page<Prescription> prescriptions = prescriptionService.findAll(pageable);
-		Page<PrescriptionDTO> prescriptionDTOs = prescriptions.map(prescription -> mapper.convertValue(prescription, PrescriptionDTO.class));
+	public ResponseEntity<Slice<PrescriptionDTO>> getAllPrescriptions(Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Prescription> prescriptions = prescriptionService.findAll(pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<PrescriptionDTO> prescriptionDTOs = prescriptions.map(prescriptionMapper::toDTO);
+		return ResponseEntity.ok(prescriptionDTOs);
+	}
+
+	@Operation(summary = "Filter prescriptions", description = "Retrieves a paginated list of the prescriptions matching every given filter field. Fields left out are ignored.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved list of prescriptions",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid filter value",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/filter")
+	public ResponseEntity<Slice<PrescriptionDTO>> filterPrescriptions(@ParameterObject PrescriptionFilter filter, Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Prescription> prescriptions = prescriptionFilterService.filter(filter, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<PrescriptionDTO> prescriptionDTOs = prescriptions.map(prescriptionMapper::toDTO);
 		return ResponseEntity.ok(prescriptionDTOs);
 	}
 
+	@Operation(summary = "Scroll through prescriptions", description = "Retrieves a slice of prescriptions using keyset pagination. Pass the returned cursor to fetch the next slice, no total count is computed.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved a slice of prescriptions",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorSlice.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor or sort property",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/scroll")
+	public ResponseEntity<CursorSlice<PrescriptionDTO>> scrollPrescriptions(
+		@RequestParam(required = false) String cursor,
+		@RequestParam(defaultValue = "20") int size,
+		@SortDefault("id") Sort sort) {
+		CursorRequest request = cursorCodec.decode(cursor, size, sort, Prescription.class, SCROLL_SORT_PROPERTIES);
+		Window<Prescription> prescriptions = prescriptionService.scroll(request.position(), request.limit(), request.sort());
+		return ResponseEntity.ok(cursorCodec.toSlice(prescriptions, request, prescriptionMapper::toDTO));
+	}
+
 	@Operation(summary = "Get prescriptions by Appointment ID", description = "Retrieves a paginated list of prescriptions for a specific appointment.")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "Successfully retrieved list of prescriptions for the appointment",
@@ -80,9 +127,9 @@ public class PrescriptionController {
 			content = @Content(mediaType = "text/plain"))
 	})
 	@GetMapping("/appointment/{appointmentId}")
-	public ResponseEntity<Page<PrescriptionDTO>> getPrescriptionsByAppointmentId(@PathVariable Integer appointmentId, Pageable pageable) {
-		Page<Prescription> prescriptions = prescriptionService.findByAppointmentId(appointmentId, pageable);
-		Page<PrescriptionDTO> prescriptionDTOs = prescriptions.map(prescription -> mapper.convertValue(prescription, PrescriptionDTO.class));
+	public ResponseEntity<Slice<PrescriptionDTO>> getPrescriptionsByAppointmentId(@PathVariable Integer appointmentId, Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<Prescription> prescriptions = prescriptionService.findByAppointmentId(appointmentId, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<PrescriptionDTO> prescriptionDTOs = prescriptions.map(prescriptionMapper::toDTO);
 		return ResponseEntity.ok(prescriptionDTOs);
 	}
 
@@ -98,7 +145,7 @@ public class PrescriptionController {
 	@PutMapping("/{id}")
 	public ResponseEntity<PrescriptionDTO> updatePrescription(@PathVariable Integer id, @Valid @RequestBody PrescriptionDTO prescriptionDTO) {
 		Prescription updatedPrescription = prescriptionService.update(id, prescriptionDTO);
-		return ResponseEntity.ok(mapper.convertValue(updatedPrescription, PrescriptionDTO.class));
+		return ResponseEntity.ok(prescriptionMapper.toDTO(updatedPrescription));
 	}
 
 	@Operation(summary = "Delete a prescription", description = "Deletes a prescription by its ID.")
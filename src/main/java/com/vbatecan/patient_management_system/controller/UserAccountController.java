@@ -1,11 +1,19 @@
 package com.vbatecan.patient_management_system.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.UserAccountMapper;
 import com.vbatecan.patient_management_system.model.dto.UserAccountDTO;
 import com.vbatecan.patient_management_system.model.entities.UserAccount;
+import com.vbatecan.patient_management_system.model.filter.UserAccountFilter;
 import com.vbatecan.patient_management_system.model.input.UserAccountInput;
+import com.vbatecan.patient_management_system.model.responses.CursorSlice;
+import com.vbatecan.patient_management_system.pagination.CursorCodec;
+import com.vbatecan.patient_management_system.pagination.CursorRequest;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.security.PasswordHasher;
 import com.vbatecan.patient_management_system.service.interfaces.UserAccountService;
+import com.vbatecan.patient_management_system.service.interfaces.filter.UserAccountFilterService;
+import com.vbatecan.patient_management_system.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,13 +22,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/user-accounts")
@@ -28,8 +43,14 @@ import java.util.Optional;
 @Tag(name = "User Account Management", description = "APIs for managing user accounts")
 public class UserAccountController {
 
+	private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("username", "role");
+
 	private final UserAccountService userAccountService;
-	private final ObjectMapper objectMapper;
+	private final UserAccountFilterService userAccountFilterService;
+	private final UserAccountMapper userAccountMapper;
+	private final ConditionalGet conditionalGet;
+	private final CursorCodec cursorCodec;
+	private final PasswordHasher passwordHasher;
 
 	@Operation(summary = "Create a new user account", description = "Creates a new user account in the system. The password will be hashed.")
 	@ApiResponses(value = {
@@ -40,8 +61,15 @@ public class UserAccountController {
 	})
 	@PostMapping
 	public ResponseEntity<UserAccountDTO> createUserAccount(@Valid @RequestBody UserAccountInput input) {
-		Optional<UserAccount> savedUserAccount = userAccountService.save(input);
-		return new ResponseEntity<>(objectMapper.convertValue(savedUserAccount, UserAccountDTO.class), HttpStatus.CREATED);
+		// Refused before hashing, a taken username must not use up a slot of the hashing pool
+		if ( userAccountService.existsByUsername(input.getUsername()) ) {
+			return ResponseEntity.badRequest().build();
+		}
+		// Hashed here rather than in the service so that no transaction is open while BCrypt runs
+		String passwordHash = passwordHasher.encode(input.getPassword());
+		return userAccountService.save(input, passwordHash)
+			.map(userAccount -> new ResponseEntity<>(userAccountMapper.toDTO(userAccount), HttpStatus.CREATED))
+			.orElseGet(() -> ResponseEntity.badRequest().build());
 	}
 
 	@Operation(summary = "Get a user account by ID", description = "Retrieves a specific user account by its unique ID. Password is not included in the response.")
@@ -49,14 +77,12 @@ public class UserAccountController {
 		@ApiResponse(responseCode = "200", description = "User account found",
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserAccountDTO.class))),
 		@ApiResponse(responseCode = "404", description = "User account not found",
-			content = @Content(mediaType = "text/plain"))
+			content = @Content(mediaType = "text/plain")),
+		@ApiResponse(responseCode = "304", description = "The copy named by If-None-Match or If-Modified-Since is current")
 	})
 	@GetMapping("/{id}")
-	public ResponseEntity<UserAccountDTO> getUserAccountById(@PathVariable Integer id) {
-		Optional<UserAccount> userAccountOptional = userAccountService.findById(id);
-		return userAccountOptional
-			.map(userAccount -> ResponseEntity.ok(objectMapper.convertValue(userAccount, UserAccountDTO.class)))
-			.orElseGet(() -> ResponseEntity.notFound().build());
+	public ResponseEntity<UserAccountDTO> getUserAccountById(@PathVariable Integer id, WebRequest request) {
+		return conditionalGet.respond(request, id, userAccountService::findVersion, () -> userAccountService.findById(id).map(userAccountMapper::toDTO));
 	}
 
 	@Operation(summary = "Get a user account by username", description = "Retrieves a specific user account by its username. Password is not included in the response.")
@@ -70,7 +96,7 @@ public class UserAccountController {
 	public ResponseEntity<UserAccountDTO> getUserAccountByUsername(@PathVariable String username) {
 		Optional<UserAccount> userAccountOptional = userAccountService.findByUsername(username);
 		return userAccountOptional.map(userAccount -> ResponseEntity.ok(
-			objectMapper.convertValue(userAccount, UserAccountDTO.class)
+			userAccountMapper.toDTO(userAccount)
 		)).orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
@@ -80,12 +106,43 @@ public class UserAccountController {
 			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
 	})
 	@GetMapping
-	public ResponseEntity<Page<UserAccountDTO>> getAllUserAccounts(Pageable pageable) {
-		Page<UserAccount> userAccounts = userAccountService.findAll(pageable);
-		Page<UserAccountDTO> userAccountDTOs = userAccounts.map(userAccount -> objectMapper.convertValue(userAccount, UserAccountDTO.class));
+	public ResponseEntity<Slice<UserAccountDTO>> getAllUserAccounts(Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<UserAccount> userAccounts = userAccountService.findAll(pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<UserAccountDTO> userAccountDTOs = userAccounts.map(userAccountMapper::toDTO);
 		return ResponseEntity.ok(userAccountDTOs);
 	}
 
+	@Operation(summary = "Filter user accounts", description = "Retrieves a paginated list of the user accounts matching every given filter field. Fields left out are ignored.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved list of user accounts",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid filter value",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/filter")
+	public ResponseEntity<Slice<UserAccountDTO>> filterUserAccounts(@ParameterObject UserAccountFilter filter, Pageable pageable, @RequestParam(defaultValue = "true") boolean withTotal, @RequestParam(defaultValue = "false") boolean approximate, @RequestParam(defaultValue = "false") boolean cachedTotal) {
+		Slice<UserAccount> userAccounts = userAccountFilterService.filter(filter, pageable, TotalCount.of(withTotal, approximate, cachedTotal));
+		Slice<UserAccountDTO> userAccountDTOs = userAccounts.map(userAccountMapper::toDTO);
+		return ResponseEntity.ok(userAccountDTOs);
+	}
+
+	@Operation(summary = "Scroll through user accounts", description = "Retrieves a slice of user accounts using keyset pagination. Pass the returned cursor to fetch the next slice, no total count is computed.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Successfully retrieved a slice of user accounts",
+			content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorSlice.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor or sort property",
+			content = @Content(mediaType = "text/plain"))
+	})
+	@GetMapping("/scroll")
+	public ResponseEntity<CursorSlice<UserAccountDTO>> scrollUserAccounts(
+		@RequestParam(required = false) String cursor,
+		@RequestParam(defaultValue = "20") int size,
+		@SortDefault("id") Sort sort) {
+		CursorRequest request = cursorCodec.decode(cursor, size, sort, UserAccount.class, SCROLL_SORT_PROPERTIES);
+		Window<UserAccount> userAccounts = userAccountService.scroll(request.position(), request.limit(), request.sort());
+		return ResponseEntity.ok(cursorCodec.toSlice(userAccounts, request, userAccountMapper::toDTO));
+	}
+
 	@Operation(summary = "Update an existing user account", description = "Updates the details of an existing user account by its ID. If password is provided, it will be re-hashed.")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "User account updated successfully. Response includes hashed password if updated.",
@@ -97,10 +154,17 @@ public class UserAccountController {
 	})
 	@PutMapping("/{id}")
 	public ResponseEntity<UserAccountDTO> updateUserAccount(@PathVariable Integer id, @Valid @RequestBody UserAccountInput input) {
-		Optional<UserAccount> updatedUserAccount = userAccountService.update(id, input);
-		return ResponseEntity.ok(
-			objectMapper.convertValue(updatedUserAccount, UserAccountDTO.class)
-		);
+		// The checks of update, made before hashing so that a refused request does not use up a slot of the hashing pool
+		if ( userAccountService.existsByUsername(input.getUsername()) ) {
+			return ResponseEntity.notFound().build();
+		}
+		if ( !userAccountService.existsById(id) ) {
+			throw new ResourceNotFoundException("UserAccount not found with id: " + id);
+		}
+		String passwordHash = input.getPassword().isEmpty() ? null : passwordHasher.encode(input.getPassword());
+		return userAccountService.update(id, input, passwordHash)
+			.map(userAccount -> ResponseEntity.ok(userAccountMapper.toDTO(userAccount)))
+			.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
 	@Operation(summary = "Delete a user account", description = "Deletes a user account by its ID.")
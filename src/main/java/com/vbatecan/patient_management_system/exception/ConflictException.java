@@ -0,0 +1,7 @@
+package com.vbatecan.patient_management_system.exception;
+
+public class ConflictException extends RuntimeException {
+	public ConflictException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,7 @@
+package com.vbatecan.patient_management_system.exception;
+
+public class ServiceBusyException extends RuntimeException {
+	public ServiceBusyException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,74 @@
+package com.vbatecan.patient_management_system.mapper;
+
+import com.vbatecan.patient_management_system.model.dto.AppointmentDTO;
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
+import com.vbatecan.patient_management_system.model.input.AppointmentImportRow;
+import com.vbatecan.patient_management_system.model.input.AppointmentInput;
+import com.vbatecan.patient_management_system.model.update.AppointmentUpdate;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AppointmentMapper {
+
+	private final PatientMapper patientMapper;
+	private final DoctorMapper doctorMapper;
+
+	public AppointmentDTO toDTO(Appointment appointment) {
+		if ( appointment == null ) {
+			return null;
+		}
+
+		AppointmentDTO dto = new AppointmentDTO();
+		dto.setId(appointment.getId());
+		if ( !Hibernate.isInitialized(appointment) ) {
+			return dto;
+		}
+
+		dto.setAppointmentDate(appointment.getAppointmentDate());
+		dto.setReason(appointment.getReason());
+		dto.setStatus(appointment.getStatus() != null ? AppointmentStatus.valueOf(appointment.getStatus()) : null);
+		dto.setPatient(patientMapper.toDTO(appointment.getPatient()));
+		dto.setDoctor(doctorMapper.toDTO(appointment.getDoctor()));
+		dto.setCreatedAt(appointment.getCreatedAt());
+		dto.setUpdatedAt(appointment.getUpdatedAt());
+		return dto;
+	}
+
+	/**
+	 * Builds a new appointment from the scalar fields of the input, the patient and doctor are resolved by the caller.
+	 */
+	public Appointment toEntity(AppointmentInput input) {
+		Appointment appointment = new Appointment();
+		appointment.setAppointmentDate(input.getAppointmentDate());
+		appointment.setReason(input.getReason());
+		if ( input.getStatus() != null ) {
+			appointment.setStatus(input.getStatus().name());
+		}
+		return appointment;
+	}
+
+	/**
+	 * Builds a new appointment from an import row, the patient and doctor are resolved by the caller.
+	 */
+	public Appointment toEntity(AppointmentImportRow row) {
+		Appointment appointment = new Appointment();
+		appointment.setAppointmentDate(row.getAppointmentDate());
+		appointment.setReason(row.getReason());
+		if ( row.getStatus() != null ) {
+			appointment.setStatus(row.getStatus().name());
+		}
+		return appointment;
+	}
+
+	public void update(AppointmentUpdate update, Appointment appointment) {
+		appointment.setAppointmentDate(update.getAppointmentDate());
+		appointment.setReason(update.getReason());
+		if ( update.getStatus() != null ) {
+			appointment.setStatus(update.getStatus().name());
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.vbatecan.patient_management_system.mapper;
+
+import com.vbatecan.patient_management_system.model.dto.BillingDTO;
+import com.vbatecan.patient_management_system.model.entities.Billing;
+import com.vbatecan.patient_management_system.model.input.BillingInput;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BillingMapper {
+
+	public BillingDTO toDTO(Billing billing) {
+		BillingDTO dto = new BillingDTO();
+		dto.setId(billing.getId());
+		if ( billing.getPatient() != null ) {
+			dto.setPatientId(billing.getPatient().getId());
+		}
+		if ( billing.getAppointment() != null ) {
+			dto.setAppointmentId(billing.getAppointment().getId());
+		}
+		dto.setAmount(billing.getAmount());
+		dto.setStatus(billing.getStatus());
+		dto.setBillingDate(billing.getBillingDate());
+		dto.setCreatedAt(billing.getCreatedAt());
+		dto.setUpdatedAt(billing.getUpdatedAt());
+		return dto;
+	}
+
+	/**
+	 * Builds a new billing from the scalar fields of the input, the patient and appointment are resolved by the caller.
+	 */
+	public Billing toEntity(BillingInput input) {
+		Billing billing = new Billing();
+		billing.setAmount(input.getAmount());
+		if ( input.getStatus() != null ) {
+			billing.setStatus(input.getStatus());
+		}
+		billing.setBillingDate(input.getBillingDate());
+		return billing;
+	}
+
+	public void update(BillingDTO dto, Billing billing) {
+		billing.setAmount(dto.getAmount());
+		if ( dto.getStatus() != null ) {
+			billing.setStatus(dto.getStatus());
+		}
+		billing.setBillingDate(dto.getBillingDate());
+	}
+}
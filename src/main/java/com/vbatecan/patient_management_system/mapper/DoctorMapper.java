@@ -0,0 +1,58 @@
+package com.vbatecan.patient_management_system.mapper;
+
+import com.vbatecan.patient_management_system.model.dto.DoctorDTO;
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.update.DoctorUpdate;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DoctorMapper {
+
+	private final UserAccountMapper userAccountMapper;
+
+	public DoctorDTO toDTO(Doctor doctor) {
+		if ( doctor == null ) {
+			return null;
+		}
+
+		DoctorDTO dto = new DoctorDTO();
+		dto.setId(doctor.getId());
+		if ( !Hibernate.isInitialized(doctor) ) {
+			return dto;
+		}
+
+		dto.setUserAccount(userAccountMapper.toDTO(doctor.getUserAccount()));
+		dto.setFirstName(doctor.getFirstName());
+		dto.setLastName(doctor.getLastName());
+		dto.setSpecialty(doctor.getSpecialty());
+		dto.setContactNumber(doctor.getContactNumber());
+		dto.setEmail(doctor.getEmail());
+		dto.setCreatedAt(doctor.getCreatedAt());
+		dto.setUpdatedAt(doctor.getUpdatedAt());
+		return dto;
+	}
+
+	/**
+	 * Builds a new doctor from the scalar fields of the DTO, the user account is resolved by the caller.
+	 */
+	public Doctor toEntity(DoctorDTO dto) {
+		Doctor doctor = new Doctor();
+		doctor.setFirstName(dto.getFirstName());
+		doctor.setLastName(dto.getLastName());
+		doctor.setSpecialty(dto.getSpecialty());
+		doctor.setContactNumber(dto.getContactNumber());
+		doctor.setEmail(dto.getEmail());
+		return doctor;
+	}
+
+	public void update(DoctorUpdate update, Doctor doctor) {
+		doctor.setFirstName(update.getFirstName());
+		doctor.setLastName(update.getLastName());
+		doctor.setSpecialty(update.getSpecialty());
+		doctor.setContactNumber(update.getContactNumber());
+		doctor.setEmail(update.getEmail());
+	}
+}
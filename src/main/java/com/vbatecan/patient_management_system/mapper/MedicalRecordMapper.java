@@ -0,0 +1,38 @@
+package com.vbatecan.patient_management_system.mapper;
+
+import com.vbatecan.patient_management_system.model.dto.MedicalRecordDTO;
+import com.vbatecan.patient_management_system.model.entities.MedicalRecord;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MedicalRecordMapper {
+
+	public MedicalRecordDTO toDTO(MedicalRecord medicalRecord) {
+		MedicalRecordDTO dto = new MedicalRecordDTO();
+		dto.setId(medicalRecord.getId());
+		if ( medicalRecord.getPatient() != null ) {
+			dto.setPatientId(medicalRecord.getPatient().getId());
+		}
+		dto.setRecordDate(medicalRecord.getRecordDate());
+		dto.setDescription(medicalRecord.getDescription());
+		dto.setFilePath(medicalRecord.getFilePath());
+		dto.setCreatedAt(medicalRecord.getCreatedAt());
+		dto.setUpdatedAt(medicalRecord.getUpdatedAt());
+		return dto;
+	}
+
+	/**
+	 * Builds a new medical record from the scalar fields of the DTO, the patient is resolved by the caller.
+	 */
+	public MedicalRecord toEntity(MedicalRecordDTO dto) {
+		MedicalRecord medicalRecord = new MedicalRecord();
+		update(dto, medicalRecord);
+		return medicalRecord;
+	}
+
+	public void update(MedicalRecordDTO dto, MedicalRecord medicalRecord) {
+		medicalRecord.setRecordDate(dto.getRecordDate());
+		medicalRecord.setDescription(dto.getDescription());
+		medicalRecord.setFilePath(dto.getFilePath());
+	}
+}
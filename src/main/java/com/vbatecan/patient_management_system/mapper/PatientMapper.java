@@ -0,0 +1,80 @@
+package com.vbatecan.patient_management_system.mapper;
+
+import com.vbatecan.patient_management_system.model.dto.PatientDTO;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.enums.Gender;
+import com.vbatecan.patient_management_system.model.input.PatientImportRow;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PatientMapper {
+
+	private final UserAccountMapper userAccountMapper;
+
+	public PatientDTO toDTO(Patient patient) {
+		if ( patient == null ) {
+			return null;
+		}
+
+		PatientDTO dto = new PatientDTO();
+		dto.setId(patient.getId());
+		if ( !Hibernate.isInitialized(patient) ) {
+			return dto;
+		}
+
+		dto.setUserAccount(userAccountMapper.toDTO(patient.getUserAccount()));
+		dto.setFirstName(patient.getFirstName());
+		dto.setLastName(patient.getLastName());
+		dto.setDateOfBirth(patient.getDateOfBirth());
+		dto.setGender(patient.getGender() != null ? patient.getGender().name() : null);
+		dto.setContactNumber(patient.getContactNumber());
+		dto.setEmail(patient.getEmail());
+		dto.setAddress(patient.getAddress());
+		dto.setEmergencyContact(patient.getEmergencyContact());
+		dto.setCreatedAt(patient.getCreatedAt());
+		dto.setUpdatedAt(patient.getUpdatedAt());
+		return dto;
+	}
+
+	/**
+	 * Builds a new patient from the scalar fields of the DTO, the user account is resolved by the caller.
+	 */
+	public Patient toEntity(PatientDTO dto) {
+		Patient patient = new Patient();
+		update(dto, patient);
+		return patient;
+	}
+
+	/**
+	 * Builds a new patient from an import row, the user account is resolved by the caller.
+	 */
+	public Patient toEntity(PatientImportRow row) throws IllegalArgumentException {
+		Patient patient = new Patient();
+		patient.setFirstName(row.getFirstName());
+		patient.setLastName(row.getLastName());
+		patient.setDateOfBirth(row.getDateOfBirth());
+		patient.setGender(row.getGender() != null ? Gender.valueOf(row.getGender()) : null);
+		patient.setContactNumber(row.getContactNumber());
+		patient.setEmail(row.getEmail());
+		patient.setAddress(row.getAddress());
+		patient.setEmergencyContact(row.getEmergencyContact());
+		return patient;
+	}
+
+	/**
+	 * Copies the scalar fields of the DTO onto the patient. Ids, associations and timestamps are left alone.
+	 */
+	public void update(PatientDTO dto, Patient patient) throws IllegalArgumentException {
+		patient.setFirstName(dto.getFirstName());
+		patient.setLastName(dto.getLastName());
+		patient.setDateOfBirth(dto.getDateOfBirth());
+		patient.setGender(dto.getGender() != null ? Gender.valueOf(dto.getGender()) : null);
+		patient.setContactNumber(dto.getContactNumber());
+		patient.setEmail(dto.getEmail());
+		patient.setAddress(dto.getAddress());
+		patient.setEmergencyContact(dto.getEmergencyContact());
+	}
+}
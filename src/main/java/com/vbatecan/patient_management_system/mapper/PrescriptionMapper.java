@@ -0,0 +1,40 @@
+package com.vbatecan.patient_management_system.mapper;
+
+import com.vbatecan.patient_management_system.model.dto.PrescriptionDTO;
+import com.vbatecan.patient_management_system.model.entities.Prescription;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PrescriptionMapper {
+
+	private final AppointmentMapper appointmentMapper;
+
+	public PrescriptionDTO toDTO(Prescription prescription) {
+		PrescriptionDTO dto = new PrescriptionDTO();
+		dto.setId(prescription.getId());
+		dto.setAppointment(appointmentMapper.toDTO(prescription.getAppointment()));
+		dto.setMedication(prescription.getMedication());
+		dto.setDosage(prescription.getDosage());
+		dto.setInstructions(prescription.getInstructions());
+		dto.setCreatedAt(prescription.getCreatedAt());
+		dto.setUpdatedAt(prescription.getUpdatedAt());
+		return dto;
+	}
+
+	/**
+	 * Builds a new prescription from the scalar fields of the DTO, the appointment is resolved by the caller.
+	 */
+	public Prescription toEntity(PrescriptionDTO dto) {
+		Prescription prescription = new Prescription();
+		update(dto, prescription);
+		return prescription;
+	}
+
+	public void update(PrescriptionDTO dto, Prescription prescription) {
+		prescription.setMedication(dto.getMedication());
+		prescription.setDosage(dto.getDosage());
+		prescription.setInstructions(dto.getInstructions());
+	}
+}
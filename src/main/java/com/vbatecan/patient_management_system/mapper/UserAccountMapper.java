@@ -0,0 +1,26 @@
+package com.vbatecan.patient_management_system.mapper;
+
+import com.vbatecan.patient_management_system.model.dto.UserAccountDTO;
+import com.vbatecan.patient_management_system.model.entities.UserAccount;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mappers in this package copy fields explicitly instead of round-tripping through Jackson. An association that was
+ * not fetched is mapped to a DTO carrying only its id, reading the id of a Hibernate proxy does not initialize it.
+ */
+@Component
+public class UserAccountMapper {
+
+	public UserAccountDTO toDTO(UserAccount userAccount) {
+		if ( userAccount == null ) {
+			return null;
+		}
+		if ( !Hibernate.isInitialized(userAccount) ) {
+			UserAccountDTO dto = new UserAccountDTO();
+			dto.setId(userAccount.getId());
+			return dto;
+		}
+		return userAccount.toDTO();
+	}
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.search.engine.backend.types.Aggregable;
+import org.hibernate.search.engine.backend.types.Projectable;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
@@ -18,9 +20,26 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "appointment")
 @Indexed
+@NamedEntityGraph(
+	name = Appointment.WITH_PARTICIPANTS,
+	attributeNodes = {
+		@NamedAttributeNode(value = "patient", subgraph = "patient"),
+		@NamedAttributeNode(value = "doctor", subgraph = "doctor")
+	},
+	subgraphs = {
+		@NamedSubgraph(name = "patient", attributeNodes = @NamedAttributeNode("userAccount")),
+		@NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("userAccount"))
+	}
+)
 public class Appointment {
+	/**
+	 * Fetches the patient and doctor, with their user accounts, in the same select as the appointment.
+	 */
+	public static final String WITH_PARTICIPANTS = "Appointment.withParticipants";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+	@SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
 	private Integer id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -32,13 +51,13 @@ public class Appointment {
 	private Doctor doctor;
 
 	@Column(name = "appointment_date", nullable = false)
-	@GenericField
+	@GenericField(projectable = Projectable.YES, aggregable = Aggregable.YES)
 	private LocalDateTime appointmentDate;
 
 	@FullTextField
 	private String reason;
 
-	@GenericField
+	@GenericField(projectable = Projectable.YES, aggregable = Aggregable.YES)
 	private String status = "SCHEDULED";
 
 	@Column(name = "created_at")
@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 @Indexed
 public class Billing {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "billing_seq")
+	@SequenceGenerator(name = "billing_seq", sequenceName = "billing_seq", allocationSize = 50)
 	private Integer id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
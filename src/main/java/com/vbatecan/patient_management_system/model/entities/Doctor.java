@@ -1,13 +1,21 @@
 package com.vbatecan.patient_management_system.model.entities;
 
+import com.vbatecan.patient_management_system.config.SearchAnalysisConfigurer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.search.engine.backend.types.Aggregable;
+import org.hibernate.search.engine.backend.types.Projectable;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 import java.time.LocalDateTime;
 
@@ -18,9 +26,15 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "doctor")
 @Indexed
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Doctor.CACHE_REGION)
+@NaturalIdCache(region = Doctor.NATURAL_ID_CACHE_REGION)
 public class Doctor {
+	public static final String CACHE_REGION = "doctor";
+	public static final String NATURAL_ID_CACHE_REGION = "doctor_natural_id";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctor_seq")
+	@SequenceGenerator(name = "doctor_seq", sequenceName = "doctor_seq", allocationSize = 50)
 	private Integer id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -29,19 +43,24 @@ public class Doctor {
 	private UserAccount userAccount;
 
 	@Column(name = "first_name", nullable = false)
-	@FullTextField
+	@FullTextField(projectable = Projectable.YES)
+	@FullTextField(name = "firstName_autocomplete", analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_QUERY)
 	private String firstName;
 
 	@Column(name = "last_name", nullable = false)
-	@FullTextField
+	@FullTextField(projectable = Projectable.YES)
+	@FullTextField(name = "lastName_autocomplete", analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_QUERY)
 	private String lastName;
 
-	@FullTextField
+	@FullTextField(projectable = Projectable.YES)
+	@KeywordField(name = "specialty_facet", aggregable = Aggregable.YES)
 	private String specialty;
 
 	@FullTextField
+	@FullTextField(name = "contactNumber_autocomplete", analyzer = SearchAnalysisConfigurer.PHONE_AUTOCOMPLETE, searchAnalyzer = SearchAnalysisConfigurer.PHONE_AUTOCOMPLETE_QUERY)
 	private String contactNumber;
 
+	@NaturalId(mutable = true)
 	@FullTextField
 	private String email;
 
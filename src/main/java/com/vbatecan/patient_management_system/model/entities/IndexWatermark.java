@@ -0,0 +1,28 @@
+package com.vbatecan.patient_management_system.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far the search index of an entity type is known to be complete: every row updated before
+ * {@code indexedUntil} was indexed by a successful reindex.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "index_watermark")
+public class IndexWatermark {
+	@Id
+	@Column(name = "entity_name")
+	private String entityName;
+
+	@Column(name = "indexed_until", nullable = false)
+	private LocalDateTime indexedUntil;
+}
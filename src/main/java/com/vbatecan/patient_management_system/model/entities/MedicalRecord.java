@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 @Indexed
 public class MedicalRecord {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_record_seq")
+	@SequenceGenerator(name = "medical_record_seq", sequenceName = "medical_record_seq", allocationSize = 50)
 	private Integer id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
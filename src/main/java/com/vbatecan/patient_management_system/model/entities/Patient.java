@@ -1,14 +1,18 @@
 package com.vbatecan.patient_management_system.model.entities;
 
+import com.vbatecan.patient_management_system.config.SearchAnalysisConfigurer;
 import com.vbatecan.patient_management_system.model.enums.Gender;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.search.engine.backend.types.Aggregable;
+import org.hibernate.search.engine.backend.types.Projectable;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -22,7 +26,8 @@ import java.time.LocalDateTime;
 @Indexed
 public class Patient {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patient_seq")
+	@SequenceGenerator(name = "patient_seq", sequenceName = "patient_seq", allocationSize = 50)
 	private Integer id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -30,28 +35,35 @@ public class Patient {
 	private UserAccount userAccount;
 
 	@Column(name = "first_name", nullable = false)
-	@FullTextField
+	@FullTextField(projectable = Projectable.YES)
+	@FullTextField(name = "firstName_autocomplete", analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_QUERY)
+	@FullTextField(name = "firstName_phonetic", analyzer = SearchAnalysisConfigurer.PHONETIC)
 	private String firstName;
 
 	@Column(name = "last_name", nullable = false)
-	@FullTextField
+	@FullTextField(projectable = Projectable.YES)
+	@FullTextField(name = "lastName_autocomplete", analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_QUERY)
+	@FullTextField(name = "lastName_phonetic", analyzer = SearchAnalysisConfigurer.PHONETIC)
 	private String lastName;
 
 	@Column(name = "date_of_birth", nullable = false)
-	@GenericField
+	@GenericField(projectable = Projectable.YES)
 	private LocalDate dateOfBirth;
 
 	@Column(name = "gender")
 	@Enumerated(EnumType.STRING)
-	@GenericField
+	@GenericField(aggregable = Aggregable.YES)
 	private Gender gender;
 
 	@Column(name = "contact_number")
-	@FullTextField
+	@FullTextField(projectable = Projectable.YES)
+	@FullTextField(name = "contactNumber_autocomplete", analyzer = SearchAnalysisConfigurer.PHONE_AUTOCOMPLETE, searchAnalyzer = SearchAnalysisConfigurer.PHONE_AUTOCOMPLETE_QUERY)
+	@KeywordField(name = "contactNumber_key", normalizer = SearchAnalysisConfigurer.PHONE_DIGITS)
 	private String contactNumber;
 
 	@Column(name = "email")
 	@FullTextField
+	@KeywordField(name = "email_key", normalizer = SearchAnalysisConfigurer.EMAIL)
 	private String email;
 
 	@Column(name = "address")
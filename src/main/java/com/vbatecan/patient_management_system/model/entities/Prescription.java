@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 @Indexed
 public class Prescription {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prescription_seq")
+	@SequenceGenerator(name = "prescription_seq", sequenceName = "prescription_seq", allocationSize = 50)
 	private Integer id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,39 @@
+package com.vbatecan.patient_management_system.model.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revoked_token")
+public class RevokedToken {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "token_id", nullable = false, unique = true, updatable = false)
+	private String tokenId;
+
+	@Column(name = "expires_at", nullable = false, updatable = false)
+	private Instant expiresAt;
+
+	// Taken from the database clock so every node polls against the same timeline.
+	@CreationTimestamp(source = SourceType.DB)
+	@Column(name = "revoked_at", nullable = false, updatable = false)
+	private Instant revokedAt;
+
+	public RevokedToken(String tokenId, Instant expiresAt) {
+		this.tokenId = tokenId;
+		this.expiresAt = expiresAt;
+	}
+}
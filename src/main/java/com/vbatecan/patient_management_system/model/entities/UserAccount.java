@@ -7,6 +7,10 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
@@ -25,12 +29,19 @@ import java.util.List;
 @Entity
 @Table(name = "user_account")
 @Indexed
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserAccount.CACHE_REGION)
+@NaturalIdCache(region = UserAccount.NATURAL_ID_CACHE_REGION)
 public class UserAccount implements UserDetails {
+	public static final String CACHE_REGION = "user_account";
+	public static final String NATURAL_ID_CACHE_REGION = "user_account_natural_id";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_account_seq")
+	@SequenceGenerator(name = "user_account_seq", sequenceName = "user_account_seq", allocationSize = 50)
 	private Integer id;
 
 	@Column(nullable = false, unique = true)
+	@NaturalId(mutable = true)
 	@FullTextField
 	private String username;
 
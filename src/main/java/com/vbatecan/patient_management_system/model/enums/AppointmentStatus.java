@@ -1,8 +1,32 @@
 package com.vbatecan.patient_management_system.model.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum AppointmentStatus {
     SCHEDULED,
     COMPLETED,
     CANCELLED,
-    NOT_SCHEDULED
+    NOT_SCHEDULED;
+
+    public boolean canTransitionTo(AppointmentStatus target) {
+        return switch ( this ) {
+            case SCHEDULED -> target == COMPLETED || target == CANCELLED || target == NOT_SCHEDULED;
+            case NOT_SCHEDULED -> target == SCHEDULED || target == CANCELLED;
+            case COMPLETED, CANCELLED -> false;
+        };
+    }
+
+    /**
+     * @return the statuses that may move to {@code target}.
+     */
+    public static Set<AppointmentStatus> sourcesOf(AppointmentStatus target) {
+        Set<AppointmentStatus> sources = EnumSet.noneOf(AppointmentStatus.class);
+        for ( AppointmentStatus status : values() ) {
+            if ( status.canTransitionTo(target) ) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
 }
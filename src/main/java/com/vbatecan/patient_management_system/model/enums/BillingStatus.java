@@ -0,0 +1,32 @@
+package com.vbatecan.patient_management_system.model.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum BillingStatus {
+	PENDING,
+	PAID,
+	CANCELLED,
+	REFUNDED;
+
+	public boolean canTransitionTo(BillingStatus target) {
+		return switch ( this ) {
+			case PENDING -> target == PAID || target == CANCELLED;
+			case PAID -> target == REFUNDED;
+			case CANCELLED, REFUNDED -> false;
+		};
+	}
+
+	/**
+	 * @return the statuses that may move to {@code target}.
+	 */
+	public static Set<BillingStatus> sourcesOf(BillingStatus target) {
+		Set<BillingStatus> sources = EnumSet.noneOf(BillingStatus.class);
+		for ( BillingStatus status : values() ) {
+			if ( status.canTransitionTo(target) ) {
+				sources.add(status);
+			}
+		}
+		return sources;
+	}
+}
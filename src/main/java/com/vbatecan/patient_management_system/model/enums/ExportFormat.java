@@ -0,0 +1,25 @@
+package com.vbatecan.patient_management_system.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+	NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+	CSV(new MediaType("text", "csv"), "csv");
+
+	private final MediaType mediaType;
+	private final String extension;
+
+	public static ExportFormat from(String value) throws IllegalArgumentException {
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch ( IllegalArgumentException e ) {
+			throw new IllegalArgumentException("Unsupported export format: " + value);
+		}
+	}
+}
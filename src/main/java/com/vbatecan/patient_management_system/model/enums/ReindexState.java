@@ -0,0 +1,7 @@
+package com.vbatecan.patient_management_system.model.enums;
+
+public enum ReindexState {
+	RUNNING,
+	COMPLETED,
+	FAILED
+}
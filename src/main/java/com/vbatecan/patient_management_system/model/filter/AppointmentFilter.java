@@ -1,8 +1,10 @@
 package com.vbatecan.patient_management_system.model.filter;
 
 import jakarta.validation.constraints.Null;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
@@ -10,6 +12,8 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class AppointmentFilter {
 
 	@Null
@@ -1,8 +1,10 @@
 package com.vbatecan.patient_management_system.model.filter;
 
 import jakarta.validation.constraints.Null;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
@@ -11,6 +13,8 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class BillingFilter {
 
 	private Integer id;
@@ -2,8 +2,10 @@ package com.vbatecan.patient_management_system.model.filter;
 
 import com.vbatecan.patient_management_system.model.enums.Role;
 import jakarta.validation.constraints.Null;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
@@ -11,6 +13,8 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class UserAccountFilter {
 
 	private Integer id;
@@ -0,0 +1,36 @@
+package com.vbatecan.patient_management_system.model.input;
+
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One appointment of a bulk import. Past dates are allowed since imports carry history, the patient and doctor must
+ * already exist.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppointmentImportRow {
+	@NotNull(message = "Appointment date cannot be null.")
+	private LocalDateTime appointmentDate;
+
+	@NotBlank(message = "Reason cannot be blank.")
+	private String reason;
+
+	@NotNull(message = "Status cannot be null.")
+	private AppointmentStatus status;
+
+	@NotNull(message = "Patient ID cannot be null.")
+	private Integer patientId;
+
+	@NotNull(message = "Doctor ID cannot be null.")
+	private Integer doctorId;
+}
@@ -0,0 +1,24 @@
+package com.vbatecan.patient_management_system.model.input;
+
+import com.vbatecan.patient_management_system.model.enums.BillingStatus;
+import com.vbatecan.patient_management_system.model.filter.BillingFilter;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Moves every billing matching the filter to {@code status}, skipping those whose current status does not allow it.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillingStatusTransition {
+	@NotNull(message = "Filter cannot be null.")
+	private BillingFilter filter;
+
+	@NotNull(message = "Status cannot be null.")
+	private BillingStatus status;
+}
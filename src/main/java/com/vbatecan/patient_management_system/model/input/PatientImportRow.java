@@ -0,0 +1,54 @@
+package com.vbatecan.patient_management_system.model.input;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * One patient of a bulk import. The user account, when given, must already exist.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientImportRow {
+
+	private Integer userAccountId;
+
+	@NotBlank(message = "First name cannot be blank.")
+	@Size(min = 2, max = 50, message = "First name must be between 2 and 50 characters.")
+	private String firstName;
+
+	@NotBlank(message = "Last name cannot be blank.")
+	@Size(min = 2, max = 50, message = "Last name must be between 2 and 50 characters.")
+	private String lastName;
+
+	@NotNull(message = "Date of birth cannot be null.")
+	@Past(message = "Date of birth must be in the past.")
+	private LocalDate dateOfBirth;
+
+	@NotBlank(message = "Gender cannot be blank.")
+	@Pattern(regexp = "MALE|FEMALE", message = "Gender must be MALE or FEMALE.")
+	private String gender;
+
+	@NotBlank(message = "Contact number cannot be blank.")
+	@Size(min = 10, max = 15, message = "Contact number must be between 10 and 15 characters.")
+	private String contactNumber;
+
+	@NotBlank(message = "Email cannot be blank.")
+	@Email(message = "Email should be valid.")
+	@Size(min = 5, max = 254, message = "Email must be between 5 and 254 characters.")
+	private String email;
+
+	@NotBlank(message = "Address cannot be blank.")
+	@Size(min = 5, max = 255, message = "Address must be between 5 and 255 characters.")
+	private String address;
+
+	@NotBlank(message = "Emergency contact cannot be blank.")
+	@Size(min = 10, max = 100, message = "Emergency contact must be between 10 and 100 characters.")
+	private String emergencyContact;
+}
@@ -0,0 +1,40 @@
+package com.vbatecan.patient_management_system.model.input;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Mass indexer settings of a reindex job, any field left null falls back to the {@code indexing.mass.*} defaults.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReindexOptions {
+
+	// Indexed entity names such as "Patient", empty for every indexed entity.
+	private Set<String> entities;
+
+	// Only reindex rows updated after the recorded watermark of each entity, or after since when it is given. Documents
+	// of rows deleted in the meantime are purged afterwards, which reads every id of the index once.
+	private Boolean incremental;
+	private LocalDateTime since;
+
+	@Min(value = 1, message = "Threads to load objects must be at least 1.")
+	private Integer threadsToLoadObjects;
+
+	@Min(value = 1, message = "Batch size to load objects must be at least 1.")
+	private Integer batchSizeToLoadObjects;
+
+	@Min(value = 1, message = "Id fetch size must be at least 1.")
+	private Integer idFetchSize;
+
+	@Min(value = 1, message = "Types to index in parallel must be at least 1.")
+	private Integer typesToIndexInParallel;
+}
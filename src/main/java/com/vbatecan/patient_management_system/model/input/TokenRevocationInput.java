@@ -0,0 +1,17 @@
+package com.vbatecan.patient_management_system.model.input;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevocationInput {
+
+	@NotBlank
+	private String token;
+}
@@ -0,0 +1,17 @@
+package com.vbatecan.patient_management_system.model.projection;
+
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IdProjection;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.ProjectionConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An appointment search result, read from the stored fields of the index without loading the entity.
+ */
+@ProjectionConstructor
+public record AppointmentSearchHit(
+	@IdProjection Integer id,
+	LocalDateTime appointmentDate,
+	String status
+) {
+}
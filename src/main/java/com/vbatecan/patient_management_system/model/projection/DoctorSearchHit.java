@@ -0,0 +1,16 @@
+package com.vbatecan.patient_management_system.model.projection;
+
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IdProjection;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.ProjectionConstructor;
+
+/**
+ * A doctor search result, read from the stored fields of the index without loading the entity.
+ */
+@ProjectionConstructor
+public record DoctorSearchHit(
+	@IdProjection Integer id,
+	String firstName,
+	String lastName,
+	String specialty
+) {
+}
@@ -0,0 +1,36 @@
+package com.vbatecan.patient_management_system.model.projection;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code updatedAt} of an entity followed by those of the associations embedded in its representation. Enough to
+ * tell whether a client's copy is current without loading any of them.
+ */
+public record EntityVersion(List<LocalDateTime> updatedAt) {
+
+	/**
+	 * @return a strong ETag that changes whenever any of the timestamps does.
+	 */
+	public String eTag(Object id) {
+		StringBuilder tag = new StringBuilder("\"").append(id);
+		for ( LocalDateTime timestamp : updatedAt ) {
+			tag.append('-').append(timestamp == null ? "0" : Long.toHexString(timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000));
+		}
+		return tag.append('"').toString();
+	}
+
+	/**
+	 * @return the latest of the timestamps in epoch milliseconds, or -1 when none is set.
+	 */
+	public long lastModified() {
+		return updatedAt.stream()
+			.filter(Objects::nonNull)
+			.max(LocalDateTime::compareTo)
+			.map(timestamp -> timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+			.orElse(-1L);
+	}
+}
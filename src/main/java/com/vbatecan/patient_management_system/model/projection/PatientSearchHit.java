@@ -0,0 +1,19 @@
+package com.vbatecan.patient_management_system.model.projection;
+
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IdProjection;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.ProjectionConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A patient search result, read from the stored fields of the index without loading the entity.
+ */
+@ProjectionConstructor
+public record PatientSearchHit(
+	@IdProjection Integer id,
+	String firstName,
+	String lastName,
+	LocalDate dateOfBirth,
+	String contactNumber
+) {
+}
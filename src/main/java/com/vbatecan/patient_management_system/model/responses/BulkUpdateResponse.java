@@ -0,0 +1,15 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateResponse {
+
+	private Integer updated;
+}
@@ -0,0 +1,22 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorSlice<T> {
+
+	private List<T> content;
+	private Integer size;
+	private Boolean hasNext;
+
+	// Opaque token for the next slice, null on the last one.
+	private String nextCursor;
+}
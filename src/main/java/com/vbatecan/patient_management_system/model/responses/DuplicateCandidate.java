@@ -0,0 +1,19 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import com.vbatecan.patient_management_system.model.projection.PatientSearchHit;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DuplicateCandidate {
+
+	private PatientSearchHit patient;
+
+	// Share of the matching weight this candidate reached, from 0 to 1.
+	private Double score;
+}
@@ -0,0 +1,18 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DuplicatePair {
+
+	// Always the lower of the two ids, every pair is reported once whichever side found it.
+	private Integer patientId;
+	private Integer duplicateId;
+	private Double score;
+}
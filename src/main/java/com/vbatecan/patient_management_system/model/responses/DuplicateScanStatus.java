@@ -0,0 +1,31 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import com.vbatecan.patient_management_system.model.enums.ReindexState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DuplicateScanStatus {
+
+	private UUID id;
+	private ReindexState state;
+	private Instant startedAt;
+	private Instant finishedAt;
+
+	private Long patientsScanned;
+	private List<DuplicatePair> pairs;
+
+	// True once more pairs were found than the scan keeps, the rest are dropped.
+	private Boolean truncated;
+
+	private String error;
+}
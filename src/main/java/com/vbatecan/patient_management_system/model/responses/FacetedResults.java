@@ -0,0 +1,20 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetedResults<T> {
+
+	private SearchResults<T> results;
+
+	// Per facet, the number of matching documents in each term or range bucket, over all hits and not just this page.
+	private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,34 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResult {
+
+	private Long received;
+	private Long imported;
+	private Long failed;
+
+	// Capped so a bad file cannot blow up the response, failed still counts every row.
+	private List<RowError> errors;
+	private Boolean errorsTruncated;
+
+	@Getter
+	@Setter
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class RowError {
+
+		// 1-based position of the row in the submitted array or stream.
+		private Long row;
+		private String message;
+	}
+}
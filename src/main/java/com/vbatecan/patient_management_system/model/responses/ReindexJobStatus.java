@@ -0,0 +1,44 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import com.vbatecan.patient_management_system.model.enums.ReindexState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReindexJobStatus {
+
+	private UUID id;
+	private List<String> entities;
+	private ReindexState state;
+
+	// Per entity, the updatedAt after which rows are reindexed. Empty for a full reindex.
+	private Map<String, LocalDateTime> since;
+	private Instant startedAt;
+	private Instant finishedAt;
+
+	private Long totalCount;
+	private Long entitiesLoaded;
+	private Long documentsBuilt;
+	private Long documentsAdded;
+
+	// Documents of rows deleted since the watermark, purged after an incremental reindex.
+	private Long documentsPurged;
+
+	private Double documentsPerSecond;
+
+	// Null until there is a throughput to extrapolate from, or once the job is over.
+	private Long etaSeconds;
+
+	private String error;
+}
@@ -0,0 +1,24 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResults<T> {
+
+	private List<T> content;
+	private Integer page;
+	private Integer size;
+	private Boolean hasNext;
+
+	// Hits are only counted up to a threshold, past it the total is a lower bound and totalExact is false.
+	private Long total;
+	private Boolean totalExact;
+}
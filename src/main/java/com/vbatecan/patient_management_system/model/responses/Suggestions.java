@@ -0,0 +1,20 @@
+package com.vbatecan.patient_management_system.model.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class Suggestions<T> {
+
+	private List<T> content;
+
+	// True when the search ran out of its time budget, the content is then the best hits found so far.
+	private Boolean partial;
+}
@@ -0,0 +1,153 @@
+package com.vbatecan.patient_management_system.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vbatecan.patient_management_system.model.responses.CursorSlice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Encodes keyset scroll positions as opaque, URL safe continuation tokens. A token carries the sort it was produced
+ * with and the sort key values of the last row, so the next slice seeks past that row instead of skipping an offset.
+ * The entity id is always appended to the sort as a tiebreaker.
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorCodec {
+
+	public static final int MAX_SIZE = 100;
+
+	private static final String ID = "id";
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * @param token            the {@code nextCursor} of a previous slice, or null for the first slice. The sort of a
+	 *                         token takes precedence over {@code sort}.
+	 * @param sortable         properties of {@code entityType} that may be sorted on. They must be non-null columns,
+	 *                         since a keyset cannot seek past a null.
+	 * @throws IllegalArgumentException if the token is malformed or the sort uses a property that is not allowed.
+	 */
+	public CursorRequest decode(String token, int size, Sort sort, Class<?> entityType, Set<String> sortable) throws IllegalArgumentException {
+		Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_SIZE)));
+		if ( token == null || token.isBlank() ) {
+			return new CursorRequest(ScrollPosition.keyset(), limit, withId(validate(sort, sortable)));
+		}
+
+		try {
+			Token decoded = objectMapper.readValue(Base64.getUrlDecoder().decode(token), Token.class);
+			if ( decoded.sort() == null || decoded.keys() == null ) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			Sort tokenSort = withId(validate(Sort.by(decoded.sort().stream().map(CursorCodec::toOrder).toList()), sortable));
+
+			Map<String, Object> keys = new LinkedHashMap<>();
+			for ( Sort.Order order : tokenSort ) {
+				String value = decoded.keys().get(order.getProperty());
+				if ( value == null ) {
+					throw new IllegalArgumentException("Cursor is missing the value of " + order.getProperty());
+				}
+				keys.put(order.getProperty(), convert(value, propertyType(entityType, order.getProperty())));
+			}
+			return new CursorRequest(ScrollPosition.forward(keys), limit, tokenSort);
+		} catch ( IOException | DateTimeParseException e ) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+
+	public <E, T> CursorSlice<T> toSlice(Window<E> window, CursorRequest request, Function<E, T> mapper) {
+		String nextCursor = null;
+		if ( window.hasNext() && !window.isEmpty() ) {
+			KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+			nextCursor = encode(position, request.sort());
+		}
+
+		List<T> content = window.getContent().stream().map(mapper).toList();
+		return new CursorSlice<>(content, content.size(), window.hasNext(), nextCursor);
+	}
+
+	private String encode(KeysetScrollPosition position, Sort sort) {
+		List<String> orders = new ArrayList<>();
+		sort.forEach(order -> orders.add(order.getProperty() + "," + order.getDirection().name()));
+
+		Map<String, String> keys = new LinkedHashMap<>();
+		position.getKeys().forEach((property, value) -> keys.put(property, value != null ? value.toString() : null));
+
+		try {
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(new Token(orders, keys)));
+		} catch ( IOException e ) {
+			throw new IllegalStateException("Failed to encode cursor", e);
+		}
+	}
+
+	private static Sort validate(Sort sort, Set<String> sortable) {
+		for ( Sort.Order order : sort ) {
+			if ( !ID.equals(order.getProperty()) && !sortable.contains(order.getProperty()) ) {
+				throw new IllegalArgumentException("Cannot scroll sorted by " + order.getProperty());
+			}
+		}
+		return sort;
+	}
+
+	private static Sort withId(Sort sort) {
+		return sort.getOrderFor(ID) != null ? sort : sort.and(Sort.by(ID));
+	}
+
+	private static Sort.Order toOrder(String order) {
+		String[] parts = order.split(",", 2);
+		return new Sort.Order(parts.length == 2 ? Sort.Direction.fromString(parts[1]) : Sort.Direction.ASC, parts[0]);
+	}
+
+	private static Class<?> propertyType(Class<?> entityType, String property) {
+		Field field = ReflectionUtils.findField(entityType, property);
+		if ( field == null ) {
+			throw new IllegalArgumentException("Unknown property " + property);
+		}
+		return field.getType();
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object convert(String value, Class<?> type) {
+		if ( type == String.class ) {
+			return value;
+		} else if ( type == Integer.class ) {
+			return Integer.valueOf(value);
+		} else if ( type == Long.class ) {
+			return Long.valueOf(value);
+		} else if ( type == BigDecimal.class ) {
+			return new BigDecimal(value);
+		} else if ( type == LocalDate.class ) {
+			return LocalDate.parse(value);
+		} else if ( type == LocalDateTime.class ) {
+			return LocalDateTime.parse(value);
+		} else if ( type == Instant.class ) {
+			return Instant.parse(value);
+		} else if ( type.isEnum() ) {
+			return Enum.valueOf((Class<? extends Enum>) type, value);
+		}
+		throw new IllegalArgumentException("Cannot scroll over a property of type " + type.getSimpleName());
+	}
+
+	record Token(List<String> sort, Map<String, String> keys) {
+	}
+}
@@ -0,0 +1,11 @@
+package com.vbatecan.patient_management_system.pagination;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * A decoded continuation token, ready to be passed to a {@code Window} returning repository method.
+ */
+public record CursorRequest(ScrollPosition position, Limit limit, Sort sort) {
+}
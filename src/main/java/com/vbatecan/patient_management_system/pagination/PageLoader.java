@@ -0,0 +1,69 @@
+package com.vbatecan.patient_management_system.pagination;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vbatecan.patient_management_system.repository.BaseRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Loads a page of any {@link BaseRepository} and attaches a total according to a {@link TotalCount}. The rows are
+ * always fetched as a slice, and the count only runs when the slice alone cannot tell the total, that is when the page
+ * is full. {@link TotalCount#CACHED} counts are cached under the given key for a short time, so those totals may lag
+ * behind writes by up to {@code pagination.count-cache.ttl}.
+ */
+@Component
+public class PageLoader {
+
+	private final Cache<String, Long> counts;
+
+	public PageLoader(
+		@Value("${pagination.count-cache.ttl:30s}") Duration ttl,
+		@Value("${pagination.count-cache.max-size:10000}") long maxSize
+	) {
+		this.counts = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(ttl)
+			.build();
+	}
+
+	/**
+	 * @param spec     the filter, or null for every row.
+	 * @param countKey identifies the entity and the filter values, e.g. {@code "appointment:patient=4"}.
+	 * @return a {@link org.springframework.data.domain.Page} unless {@code totalCount} is {@link TotalCount#NONE}.
+	 */
+	public <T> Slice<T> load(
+		BaseRepository<T, ?> repository,
+		@Nullable Specification<T> spec,
+		String countKey,
+		Pageable pageable,
+		TotalCount totalCount
+	) {
+		Slice<T> slice = repository.findSlice(spec, pageable);
+		if ( totalCount == TotalCount.NONE ) {
+			return slice;
+		}
+
+		// A cached or estimated total can be behind, never report fewer rows than this page proves exist.
+		long seen = pageable.isPaged() ? pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0) : 0;
+		return PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> {
+			long total = switch ( totalCount ) {
+				case APPROXIMATE -> spec == null ? repository.estimateCount() : counts.get(countKey, key -> count(repository, spec));
+				case CACHED -> counts.get(countKey, key -> count(repository, spec));
+				default -> count(repository, spec);
+			};
+			return Math.max(total, seen);
+		});
+	}
+
+	private static <T> long count(BaseRepository<T, ?> repository, @Nullable Specification<T> spec) {
+		return spec == null ? repository.count() : repository.count(spec);
+	}
+}
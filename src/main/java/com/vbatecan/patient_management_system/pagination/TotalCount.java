@@ -0,0 +1,25 @@
+package com.vbatecan.patient_management_system.pagination;
+
+/**
+ * How the total of a paged list is computed.
+ */
+public enum TotalCount {
+	/** Exact count, run for every page. */
+	EXACT,
+	/** Exact count, cached per filter for a short time so it may lag behind writes. */
+	CACHED,
+	/** Planner estimate for unfiltered lists, filtered lists fall back to {@link #CACHED}. */
+	APPROXIMATE,
+	/** No count at all, the response only tells whether there is a next page. */
+	NONE;
+
+	public static TotalCount of(boolean withTotal, boolean approximate, boolean cached) {
+		if ( !withTotal ) {
+			return NONE;
+		}
+		if ( approximate ) {
+			return APPROXIMATE;
+		}
+		return cached ? CACHED : EXACT;
+	}
+}
@@ -1,14 +1,51 @@
 package com.vbatecan.patient_management_system.repository;
 
 import com.vbatecan.patient_management_system.model.entities.Appointment;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+// The entity graph only applies to the select, page counts still run as a plain count over appointment.
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Integer> {
-	Page<Appointment> findByPatientId(Integer patientId, Pageable pageable);
+public interface AppointmentRepository extends BaseRepository<Appointment, Integer>, AppointmentRepositoryCustom {
+	@Override
+	@EntityGraph(Appointment.WITH_PARTICIPANTS)
+	Slice<Appointment> findSlice(Specification<Appointment> spec, Pageable pageable);
+
+	@Override
+	@EntityGraph(Appointment.WITH_PARTICIPANTS)
+	Optional<Appointment> findById(Integer id);
+
+	/**
+	 * Sets the status in one statement and returns the updated row, or empty when no row has that id or its current
+	 * status is not one of {@code sources}. The patient and doctor of the returned appointment are not fetched.
+	 */
+	@Query(
+		value = "UPDATE appointment SET status = :status, updated_at = :updatedAt WHERE id = :id AND status IN (:sources) RETURNING *",
+		nativeQuery = true
+	)
+	Optional<Appointment> updateStatus(@Param("id") Integer id, @Param("status") String status, @Param("sources") Collection<String> sources, @Param("updatedAt") LocalDateTime updatedAt);
+
+	@EntityGraph(Appointment.WITH_PARTICIPANTS)
+	Window<Appointment> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+	static Specification<Appointment> byPatientId(Integer patientId) {
+		return (root, query, builder) -> builder.equal(root.get("patient").get("id"), patientId);
+	}
 
-	Page<Appointment> findByDoctorId(Integer doctorId, Pageable pageable);
+	static Specification<Appointment> byDoctorId(Integer doctorId) {
+		return (root, query, builder) -> builder.equal(root.get("doctor").get("id"), doctorId);
+	}
 }
@@ -0,0 +1,20 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
+import com.vbatecan.patient_management_system.model.filter.AppointmentFilter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AppointmentRepositoryCustom {
+
+	/**
+	 * Sets the status of every appointment matching the filter whose current status is one of {@code from}, in a
+	 * single {@code UPDATE}. The status of the filter is ignored, pass it through {@code from} instead.
+	 *
+	 * @return the ids of the updated rows.
+	 * @throws IllegalArgumentException if the filter has no criterion besides the status.
+	 */
+	List<Integer> updateStatuses(AppointmentFilter filter, Collection<AppointmentStatus> from, AppointmentStatus to, LocalDateTime updatedAt) throws IllegalArgumentException;
+}
@@ -0,0 +1,65 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
+import com.vbatecan.patient_management_system.model.filter.AppointmentFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AppointmentRepositoryCustomImpl implements AppointmentRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Integer> updateStatuses(AppointmentFilter filter, Collection<AppointmentStatus> from, AppointmentStatus to, LocalDateTime updatedAt) throws IllegalArgumentException {
+		if ( from.isEmpty() ) {
+			return List.of();
+		}
+
+		StringBuilder sql = new StringBuilder("UPDATE appointment SET status = :to, updated_at = :updatedAt WHERE status IN (:from)");
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("to", to.name());
+		parameters.put("updatedAt", updatedAt);
+		parameters.put("from", from.stream().map(Enum::name).toList());
+
+		if ( filter.getPatientId() != null ) {
+			sql.append(" AND patient_id = :patientId");
+			parameters.put("patientId", filter.getPatientId());
+		}
+		if ( filter.getDoctorId() != null ) {
+			sql.append(" AND doctor_id = :doctorId");
+			parameters.put("doctorId", filter.getDoctorId());
+		}
+		if ( filter.getAppointmentStartDate() != null ) {
+			sql.append(" AND appointment_date >= :start");
+			parameters.put("start", filter.getAppointmentStartDate().atStartOfDay());
+		}
+		if ( filter.getAppointmentEndDate() != null ) {
+			// The end date is inclusive.
+			sql.append(" AND appointment_date < :end");
+			parameters.put("end", filter.getAppointmentEndDate().plusDays(1).atStartOfDay());
+		}
+		if ( filter.getReason() != null && !filter.getReason().isBlank() ) {
+			sql.append(" AND position(lower(:reason) in lower(reason)) > 0");
+			parameters.put("reason", filter.getReason());
+		}
+
+		// With nothing but the status to go on the update would run over the whole table.
+		if ( parameters.size() == 3 ) {
+			throw new IllegalArgumentException("The filter needs at least one criterion besides the status");
+		}
+		sql.append(" RETURNING id");
+
+		Query query = entityManager.createNativeQuery(sql.toString(), Integer.class);
+		parameters.forEach(query::setParameter);
+		return query.getResultList();
+	}
+}
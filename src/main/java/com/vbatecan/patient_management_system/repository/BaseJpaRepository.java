@@ -0,0 +1,136 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Not named BaseRepositoryImpl on purpose, Spring Data would pick that up as a fragment of BaseRepository.
+@Transactional(readOnly = true)
+public class BaseJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements BaseRepository<T, ID> {
+
+	private static final String UPDATED_AT = "updatedAt";
+
+	private final JpaEntityInformation<T, ?> entityInformation;
+	private final EntityManager entityManager;
+	private final String tableName;
+
+	public BaseJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+		super(entityInformation, entityManager);
+		this.entityInformation = entityInformation;
+		this.entityManager = entityManager;
+		Table table = entityInformation.getJavaType().getAnnotation(Table.class);
+		this.tableName = table != null && !table.name().isEmpty() ? table.name() : entityInformation.getEntityName();
+	}
+
+	@Override
+	public Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable) {
+		TypedQuery<T> query = getQuery(spec, pageable.getSort());
+		if ( pageable.isUnpaged() ) {
+			return new SliceImpl<>(query.getResultList(), pageable, false);
+		}
+
+		query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+		query.setMaxResults(pageable.getPageSize() + 1);
+		List<T> content = query.getResultList();
+		boolean hasNext = content.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+	}
+
+	@Override
+	public long estimateCount() {
+		List<?> estimate = entityManager
+			.createNativeQuery("SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass(:table)", Long.class)
+			.setParameter("table", tableName)
+			.getResultList();
+
+		// reltuples is -1 until the table has been vacuumed or analyzed once.
+		long rows = estimate.isEmpty() || estimate.getFirst() == null ? -1 : ((Number) estimate.getFirst()).longValue();
+		return rows >= 0 ? rows : count();
+	}
+
+	@Override
+	public Set<ID> findExistingIds(Collection<ID> ids) {
+		if ( ids.isEmpty() ) {
+			return Set.of();
+		}
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object> query = builder.createQuery();
+		Root<T> root = query.from(getDomainClass());
+		Path<?> id = root.get(entityInformation.getIdAttribute());
+		query.select(id).where(id.in(ids));
+
+		Set<ID> existing = new HashSet<>();
+		for ( Object value : entityManager.createQuery(query).getResultList() ) {
+			@SuppressWarnings("unchecked")
+			ID existingId = (ID) value;
+			existing.add(existingId);
+		}
+		return existing;
+	}
+
+	@Override
+	@Transactional
+	public int deleteDirectlyById(ID id) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaDelete<T> delete = builder.createCriteriaDelete(getDomainClass());
+		Root<T> root = delete.from(getDomainClass());
+		delete.where(builder.equal(root.get(entityInformation.getIdAttribute()), id));
+		return entityManager.createQuery(delete).executeUpdate();
+	}
+
+	@Override
+	public Optional<EntityVersion> findVersion(ID id, String... embedded) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+		Root<T> root = query.from(getDomainClass());
+
+		List<Selection<?>> selections = new ArrayList<>();
+		selections.add(root.get(UPDATED_AT));
+		Map<String, From<?, ?>> joins = new HashMap<>();
+		for ( String path : embedded ) {
+			From<?, ?> from = root;
+			String joined = "";
+			for ( String attribute : path.split("\\.") ) {
+				joined = joined.isEmpty() ? attribute : joined + "." + attribute;
+				From<?, ?> parent = from;
+				from = joins.computeIfAbsent(joined, ignored -> parent.join(attribute, JoinType.LEFT));
+			}
+			selections.add(from.get(UPDATED_AT));
+		}
+		query.multiselect(selections).where(builder.equal(root.get(entityInformation.getIdAttribute()), id));
+
+		return entityManager.createQuery(query)
+			.getResultStream()
+			.findFirst()
+			.map(row -> new EntityVersion(Arrays.stream(row).map(LocalDateTime.class::cast).toList()));
+	}
+}
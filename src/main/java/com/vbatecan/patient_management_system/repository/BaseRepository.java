@@ -0,0 +1,56 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository operations shared by every entity repository, implemented once in {@link BaseJpaRepository}.
+ */
+@NoRepositoryBean
+public interface BaseRepository<T, ID> extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+
+	/**
+	 * Fetches one page without counting. One extra row is read to tell whether a next page exists.
+	 *
+	 * @param spec the filter, or null for every row.
+	 */
+	Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable);
+
+	/**
+	 * Row count of the whole table taken from the Postgres planner statistics. It is as fresh as the last
+	 * {@code ANALYZE} or autovacuum, and falls back to an exact count for a table that was never analyzed.
+	 */
+	long estimateCount();
+
+	/**
+	 * @return the subset of {@code ids} that exist, read in one query without loading the entities.
+	 */
+	Set<ID> findExistingIds(Collection<ID> ids);
+
+	/**
+	 * Deletes the row in a single {@code DELETE} without loading it first, unlike {@link #deleteById(Object)}. The
+	 * persistence context and the search index are bypassed, callers purge the index themselves.
+	 *
+	 * @return the number of deleted rows, 0 when no row has that id.
+	 */
+	int deleteDirectlyById(ID id);
+
+	/**
+	 * Reads the {@code updatedAt} of the row, and of the associations reached through {@code embedded}, in one query
+	 * without loading any entity.
+	 *
+	 * @param embedded association paths such as {@code "patient.userAccount"}, left joined.
+	 * @return the timestamps in the order of the paths, the row's own first. Empty when no row has that id.
+	 */
+	Optional<EntityVersion> findVersion(ID id, String... embedded);
+}
@@ -1,14 +1,49 @@
 package com.vbatecan.patient_management_system.repository;
 
 import com.vbatecan.patient_management_system.model.entities.Billing;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface BillingRepository extends JpaRepository<Billing, Integer> {
-	Page<Billing> findByPatientId(Integer patientId, Pageable pageable);
+public interface BillingRepository extends BaseRepository<Billing, Integer>, BillingRepositoryCustom {
+	Window<Billing> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+	/**
+	 * Sets the status in one statement and returns the updated row, or empty when no row has that id or its current
+	 * status is not one of {@code sources}. The patient and appointment of the returned billing are not fetched.
+	 */
+	@Query(
+		value = "UPDATE billing SET status = :status, updated_at = :updatedAt WHERE id = :id AND status IN (:sources) RETURNING *",
+		nativeQuery = true
+	)
+	Optional<Billing> updateStatus(@Param("id") Integer id, @Param("status") String status, @Param("sources") Collection<String> sources, @Param("updatedAt") LocalDateTime updatedAt);
+
+	// Read through a server side cursor, the caller must hold a transaction and close the stream.
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<Billing> streamAllByOrderByIdAsc();
+
+	static Specification<Billing> byPatientId(Integer patientId) {
+		return (root, query, builder) -> builder.equal(root.get("patient").get("id"), patientId);
+	}
 
-	Page<Billing> findByAppointmentId(Integer appointmentId, Pageable pageable);
+	static Specification<Billing> byAppointmentId(Integer appointmentId) {
+		return (root, query, builder) -> builder.equal(root.get("appointment").get("id"), appointmentId);
+	}
 }
@@ -0,0 +1,19 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.enums.BillingStatus;
+import com.vbatecan.patient_management_system.model.filter.BillingFilter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface BillingRepositoryCustom {
+
+	/**
+	 * Sets the status of every billing matching the filter whose current status is one of {@code from}, in a single
+	 * {@code UPDATE}. The status of the filter is ignored, pass it through {@code from} instead.
+	 *
+	 * @return the number of updated rows.
+	 * @throws IllegalArgumentException if the filter has no criterion besides the status.
+	 */
+	int updateStatuses(BillingFilter filter, Collection<BillingStatus> from, BillingStatus to, LocalDateTime updatedAt) throws IllegalArgumentException;
+}
@@ -0,0 +1,79 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Billing;
+import com.vbatecan.patient_management_system.model.enums.BillingStatus;
+import com.vbatecan.patient_management_system.model.filter.BillingFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BillingRepositoryCustomImpl implements BillingRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public int updateStatuses(BillingFilter filter, Collection<BillingStatus> from, BillingStatus to, LocalDateTime updatedAt) throws IllegalArgumentException {
+		if ( from.isEmpty() ) {
+			return 0;
+		}
+
+		StringBuilder sql = new StringBuilder("UPDATE billing SET status = :to, updated_at = :updatedAt WHERE status IN (:from)");
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("to", to.name());
+		parameters.put("updatedAt", updatedAt);
+		parameters.put("from", from.stream().map(Enum::name).toList());
+
+		if ( filter.getId() != null ) {
+			sql.append(" AND id = :id");
+			parameters.put("id", filter.getId());
+		}
+		if ( filter.getPatientId() != null ) {
+			sql.append(" AND patient_id = :patientId");
+			parameters.put("patientId", filter.getPatientId());
+		}
+		if ( filter.getAppointmentId() != null ) {
+			sql.append(" AND appointment_id = :appointmentId");
+			parameters.put("appointmentId", filter.getAppointmentId());
+		}
+		if ( filter.getMinAmount() != null ) {
+			sql.append(" AND amount >= :minAmount");
+			parameters.put("minAmount", filter.getMinAmount());
+		}
+		if ( filter.getMaxAmount() != null ) {
+			sql.append(" AND amount <= :maxAmount");
+			parameters.put("maxAmount", filter.getMaxAmount());
+		}
+		appendRange(sql, parameters, "billing_date", filter.getBillingDateStart(), filter.getBillingDateEnd());
+		appendRange(sql, parameters, "created_at", filter.getCreatedAtStartDate(), filter.getCreatedAtEndDate());
+		appendRange(sql, parameters, "updated_at", filter.getUpdatedAtStartDate(), filter.getUpdatedAtEndDate());
+
+		// With nothing but the status to go on the update would run over the whole table.
+		if ( parameters.size() == 3 ) {
+			throw new IllegalArgumentException("The filter needs at least one criterion besides the status");
+		}
+
+		Query query = entityManager.createNativeQuery(sql.toString());
+		parameters.forEach(query::setParameter);
+		// Without it Hibernate cannot tell which tables the statement touches and evicts every second-level cache region.
+		query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Billing.class);
+		return query.executeUpdate();
+	}
+
+	private static void appendRange(StringBuilder sql, Map<String, Object> parameters, String column, LocalDateTime start, LocalDateTime end) {
+		if ( start != null ) {
+			sql.append(" AND ").append(column).append(" >= :").append(column).append("_start");
+			parameters.put(column + "_start", start);
+		}
+		if ( end != null ) {
+			sql.append(" AND ").append(column).append(" <= :").append(column).append("_end");
+			parameters.put(column + "_end", end);
+		}
+	}
+}
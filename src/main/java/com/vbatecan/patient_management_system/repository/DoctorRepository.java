@@ -1,14 +1,31 @@
 package com.vbatecan.patient_management_system.repository;
 
 import com.vbatecan.patient_management_system.model.entities.Doctor;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, Integer> {
+public interface DoctorRepository extends BaseRepository<Doctor, Integer>, DoctorRepositoryCustom {
+	@Override
+	@EntityGraph(attributePaths = "userAccount")
+	Slice<Doctor> findSlice(Specification<Doctor> spec, Pageable pageable);
+
+	@Override
+	@EntityGraph(attributePaths = "userAccount")
+	Optional<Doctor> findById(Integer id);
+
+	@EntityGraph(attributePaths = "userAccount")
 	Optional<Doctor> findByUserAccountId(Integer userAccountId);
 
-	Optional<Doctor> findByEmail(String email);
+	@EntityGraph(attributePaths = "userAccount")
+	Window<Doctor> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 }
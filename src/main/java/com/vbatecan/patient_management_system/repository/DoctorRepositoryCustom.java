@@ -0,0 +1,14 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+
+import java.util.Optional;
+
+public interface DoctorRepositoryCustom {
+
+	/**
+	 * Looks the doctor up by natural id, so a repeated lookup is served from the second-level cache. The user account
+	 * is initialized as well, from the cache when it is there.
+	 */
+	Optional<Doctor> findByEmail(String email);
+}
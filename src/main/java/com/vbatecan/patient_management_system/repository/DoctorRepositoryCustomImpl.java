@@ -0,0 +1,26 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class DoctorRepositoryCustomImpl implements DoctorRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Doctor> findByEmail(String email) {
+		Optional<Doctor> doctor = entityManager.unwrap(Session.class)
+			.bySimpleNaturalId(Doctor.class)
+			.loadOptional(email);
+		doctor.ifPresent(found -> Hibernate.initialize(found.getUserAccount()));
+		return doctor;
+	}
+}
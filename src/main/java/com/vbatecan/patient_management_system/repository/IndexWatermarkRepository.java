@@ -0,0 +1,9 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.IndexWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IndexWatermarkRepository extends JpaRepository<IndexWatermark, String> {
+}
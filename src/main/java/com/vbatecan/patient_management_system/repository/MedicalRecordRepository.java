@@ -1,12 +1,18 @@
 package com.vbatecan.patient_management_system.repository;
 
 import com.vbatecan.patient_management_system.model.entities.MedicalRecord;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Integer> {
-	Page<MedicalRecord> findByPatientId(Integer patientId, Pageable pageable);
+public interface MedicalRecordRepository extends BaseRepository<MedicalRecord, Integer> {
+	Window<MedicalRecord> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+	static Specification<MedicalRecord> byPatientId(Integer patientId) {
+		return (root, query, builder) -> builder.equal(root.get("patient").get("id"), patientId);
+	}
 }
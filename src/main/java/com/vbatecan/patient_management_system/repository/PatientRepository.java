@@ -1,9 +1,39 @@
 package com.vbatecan.patient_management_system.repository;
 
 import com.vbatecan.patient_management_system.model.entities.Patient;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, Integer> {
-}
\ No newline at end of file
+public interface PatientRepository extends BaseRepository<Patient, Integer> {
+	@Override
+	@EntityGraph(attributePaths = "userAccount")
+	Slice<Patient> findSlice(Specification<Patient> spec, Pageable pageable);
+
+	@Override
+	@EntityGraph(attributePaths = "userAccount")
+	Optional<Patient> findById(Integer id);
+
+	@EntityGraph(attributePaths = "userAccount")
+	Window<Patient> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+	// Read through a server side cursor, the caller must hold a transaction and close the stream.
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<Patient> streamAllByOrderByIdAsc();
+}
@@ -1,12 +1,32 @@
 package com.vbatecan.patient_management_system.repository;
 
 import com.vbatecan.patient_management_system.model.entities.Prescription;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface PrescriptionRepository extends JpaRepository<Prescription, Integer> {
-	Page<Prescription> findByAppointmentId(Integer appointmentId, Pageable pageable);
+public interface PrescriptionRepository extends BaseRepository<Prescription, Integer> {
+	@Override
+	@EntityGraph(attributePaths = {"appointment.patient.userAccount", "appointment.doctor.userAccount"})
+	Slice<Prescription> findSlice(Specification<Prescription> spec, Pageable pageable);
+
+	@Override
+	@EntityGraph(attributePaths = {"appointment.patient.userAccount", "appointment.doctor.userAccount"})
+	Optional<Prescription> findById(Integer id);
+
+	@EntityGraph(attributePaths = {"appointment.patient.userAccount", "appointment.doctor.userAccount"})
+	Window<Prescription> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+	static Specification<Prescription> byAppointmentId(Integer appointmentId) {
+		return (root, query, builder) -> builder.equal(root.get("appointment").get("id"), appointmentId);
+	}
 }
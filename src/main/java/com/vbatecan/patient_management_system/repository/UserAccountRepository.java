@@ -1,14 +1,15 @@
 package com.vbatecan.patient_management_system.repository;
 
 import com.vbatecan.patient_management_system.model.entities.UserAccount;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface UserAccountRepository extends JpaRepository<UserAccount, Integer> {
-	Optional<UserAccount> findByUsername(String username);
-
+public interface UserAccountRepository extends BaseRepository<UserAccount, Integer>, UserAccountRepositoryCustom {
 	boolean existsByUsername(String username);
+
+	Window<UserAccount> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 }
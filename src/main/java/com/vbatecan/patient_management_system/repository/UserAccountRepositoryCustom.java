@@ -0,0 +1,13 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.UserAccount;
+
+import java.util.Optional;
+
+public interface UserAccountRepositoryCustom {
+
+	/**
+	 * Looks the account up by natural id, so a repeated lookup is served from the second-level cache.
+	 */
+	Optional<UserAccount> findByUsername(String username);
+}
@@ -0,0 +1,23 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.UserAccount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserAccountRepositoryCustomImpl implements UserAccountRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<UserAccount> findByUsername(String username) {
+		return entityManager.unwrap(Session.class)
+			.bySimpleNaturalId(UserAccount.class)
+			.loadOptional(username);
+	}
+}
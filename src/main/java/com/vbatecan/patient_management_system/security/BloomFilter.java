@@ -0,0 +1,70 @@
+package com.vbatecan.patient_management_system.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings. {@link #mightContain(String)} never returns {@code false} for a value that was
+ * {@link #put(String) put}, so a negative answer can be trusted without any further lookup.
+ */
+final class BloomFilter {
+
+	private final AtomicLongArray bits;
+	private final int bitCount;
+	private final int hashCount;
+	private final int capacity;
+
+	BloomFilter(int expectedInsertions, double falsePositiveRate) {
+		this.capacity = Math.max(1, expectedInsertions);
+		long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bitCount = (int) Math.min(Math.max(optimalBits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+		this.bits = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+	}
+
+	int capacity() {
+		return capacity;
+	}
+
+	void put(String value) {
+		long hash = hash(value);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		for ( int i = 1; i <= hashCount; i++ ) {
+			int index = index(hash1 + i * hash2);
+			long mask = 1L << index;
+			bits.getAndAccumulate(index >>> 6, mask, (word, bit) -> word | bit);
+		}
+	}
+
+	boolean mightContain(String value) {
+		long hash = hash(value);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		for ( int i = 1; i <= hashCount; i++ ) {
+			int index = index(hash1 + i * hash2);
+			if ( (bits.get(index >>> 6) & (1L << index)) == 0 ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int index(int combinedHash) {
+		return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitCount;
+	}
+
+	// 64-bit FNV-1a followed by the murmur3 finalizer to spread the bits.
+	private static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for ( int i = 0; i < value.length(); i++ ) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -1,17 +1,31 @@
 package com.vbatecan.patient_management_system.security;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.vbatecan.patient_management_system.model.entities.UserAccount;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class JwtService {
@@ -22,6 +36,28 @@ public class JwtService {
 	@Value("${jwt.exp-time}")
 	private Long jwtExpireTime;
 
+	@Value("${jwt.cache.max-size:10000}")
+	private long cacheMaxSize;
+
+	private SecretKey key;
+	private JwtParser parser;
+
+	// Keyed by a SHA-256 digest of the token so we never keep raw bearer tokens around as map keys.
+	private Cache<String, VerifiedToken> verifiedTokens;
+
+	@PostConstruct
+	void init() {
+		key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+		parser = Jwts.parser()
+			.verifyWith(key)
+			.decryptWith(key)
+			.build();
+		verifiedTokens = Caffeine.newBuilder()
+			.maximumSize(cacheMaxSize)
+			.expireAfter(new TokenExpiry())
+			.build();
+	}
+
 	public String generateToken(UserDetails userDetails) throws ClassCastException{
 		UserAccount userAccount = (UserAccount) userDetails;
 		Map<String, Object> claims = Map.of("role", userAccount.getRole().name());
@@ -34,40 +70,76 @@ public class JwtService {
 	) {
 		return Jwts.builder()
 			.claims(claims)
+			.id(UUID.randomUUID().toString())
 			.subject(userDetails.getUsername())
 			.issuedAt(new Date())
 			.expiration(new Date(System.currentTimeMillis() + jwtExpireTime))
-			.signWith(getKey(), Jwts.SIG.HS256)
+			.signWith(key, Jwts.SIG.HS256)
 			.compact();
 	}
 
-	public String getUsername(String token) {
-		Claims claims = claims(token);
-		return claims.getSubject();
-	}
+	/**
+	 * Verifies the token signature and expiration once and caches the result until the token expires, so repeated
+	 * requests carrying the same token skip the HMAC verification entirely.
+	 *
+	 * @return the verified claims, or empty if the token is malformed, tampered with or expired.
+	 */
+	public Optional<VerifiedToken> verify(String token) {
+		String digest = digest(token);
+		VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+		if ( cached != null ) {
+			return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+		}
 
-	private Claims claims(String token) {
-		return Jwts
-			.parser()
-			.verifyWith(getKey())
-			.decryptWith(getKey())
-			.build()
-			.parseSignedClaims(token)
-			.getPayload();
-	}
+		try {
+			Claims claims = parser.parseSignedClaims(token).getPayload();
+			if ( claims.getExpiration() == null ) {
+				return Optional.empty();
+			}
 
-	public boolean isTokenExpired(String token) {
-		Claims claims = claims(token);
-		return claims.getExpiration().before(new Date());
+			VerifiedToken verified = new VerifiedToken(
+				claims.getId(),
+				claims.getSubject(),
+				claims.get("role", String.class),
+				claims.getExpiration().toInstant()
+			);
+			verifiedTokens.put(digest, verified);
+			return Optional.of(verified);
+		} catch ( JwtException | IllegalArgumentException e ) {
+			return Optional.empty();
+		}
 	}
 
 	public boolean validateToken(String token, UserDetails userDetails) {
-		final String username = getUsername(token);
-		return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+		return verify(token)
+			.map(verified -> verified.username().equals(userDetails.getUsername()))
+			.orElse(false);
+	}
+
+	private static String digest(String token) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch ( NoSuchAlgorithmException e ) {
+			throw new IllegalStateException("SHA-256 is not available on this JVM.", e);
+		}
 	}
 
-	private SecretKey getKey() {
-		byte[] keyBytes = jwtSecret.getBytes();
-		return Keys.hmacShaKeyFor(keyBytes);
+	private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+		@Override
+		public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+			return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+		}
+
+		@Override
+		public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+			return expireAfterCreate(digest, token, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
 	}
 }
@@ -1,5 +1,6 @@
 package com.vbatecan.patient_management_system.security;
 
+import com.vbatecan.patient_management_system.model.dto.UserAccountDTO;
 import com.vbatecan.patient_management_system.model.entities.UserAccount;
 import com.vbatecan.patient_management_system.service.interfaces.UserAccountService;
 import jakarta.servlet.FilterChain;
@@ -11,11 +12,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 @Configuration
@@ -24,24 +27,32 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 
 	private final UserAccountService userAccountService;
 	private final JwtService jwtService;
+	private final PrincipalCache principalCache;
+	private final TokenRevocationList tokenRevocationList;
 
 	@Override
 	protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
-		getToken(request).ifPresent(token -> {
-			if (  !jwtService.isTokenExpired(token) && SecurityContextHolder.getContext().getAuthentication() == null ) {
-				String username = jwtService.getUsername(token);
-				Optional<UserAccount> userAccount = userAccountService.findByUsername(username);
+		if ( SecurityContextHolder.getContext().getAuthentication() == null ) {
+			getToken(request)
+				.flatMap(jwtService::verify)
+				.filter(verifiedToken -> !tokenRevocationList.isRevoked(verifiedToken.tokenId()))
+				.ifPresent(verifiedToken -> {
+					Optional<UserAccountDTO> principal = principalCache.get(
+						verifiedToken.username(),
+						username -> userAccountService.findByUsername(username).map(UserAccount::toDTO)
+					);
 
-				// User account is not found in the database so we clear the security context.
-				if ( userAccount.isEmpty() ) {
-					SecurityContextHolder.clearContext();
-					return;
-				}
-				UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userAccount.get().toDTO(), null, userAccount.get().getAuthorities());
-				authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-			}
-		});
+					// User account is not found in the database so we clear the security context.
+					if ( principal.isEmpty() ) {
+						SecurityContextHolder.clearContext();
+						return;
+					}
+					List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(principal.get().getRole().name()));
+					UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(principal.get(), verifiedToken, authorities);
+					authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+					SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+				});
+		}
 		filterChain.doFilter(request, response);
 	}
 
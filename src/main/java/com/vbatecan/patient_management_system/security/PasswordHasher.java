@@ -0,0 +1,89 @@
+package com.vbatecan.patient_management_system.security;
+
+import com.vbatecan.patient_management_system.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small dedicated pool so a burst of logins cannot take every servlet thread. When the pool and its
+ * queue are full, callers get a {@link ServiceBusyException} right away instead of waiting in line.
+ */
+@Component
+public class PasswordHasher {
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+
+	public PasswordHasher(
+		PasswordEncoder passwordEncoder,
+		@Value("${security.password.hashing.threads:0}") int threads,
+		@Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+		MeterRegistry meterRegistry
+	) {
+		int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		this.passwordEncoder = passwordEncoder;
+		this.executor = new ThreadPoolExecutor(
+			poolSize,
+			poolSize,
+			0L,
+			TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(queueCapacity),
+			new CustomizableThreadFactory("password-hashing-"),
+			new ThreadPoolExecutor.AbortPolicy()
+		);
+		new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+	}
+
+	public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) throws ServiceBusyException {
+		return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+	}
+
+	public CompletableFuture<String> encodeAsync(CharSequence rawPassword) throws ServiceBusyException {
+		return submit(() -> passwordEncoder.encode(rawPassword));
+	}
+
+	public String encode(CharSequence rawPassword) throws ServiceBusyException {
+		try {
+			return encodeAsync(rawPassword).join();
+		} catch ( CompletionException e ) {
+			if ( e.getCause() instanceof RuntimeException cause ) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Whether the hash was produced with a lower BCrypt cost than the configured one and should be rehashed.
+	 */
+	public boolean upgradeEncoding(String encodedPassword) {
+		return passwordEncoder.upgradeEncoding(encodedPassword);
+	}
+
+	private <T> CompletableFuture<T> submit(Supplier<T> task) throws ServiceBusyException {
+		try {
+			return CompletableFuture.supplyAsync(task, executor);
+		} catch ( RejectedExecutionException e ) {
+			throw new ServiceBusyException("Too many authentication requests, please try again shortly.");
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+}
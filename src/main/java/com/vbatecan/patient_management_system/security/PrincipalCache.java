@@ -0,0 +1,66 @@
+package com.vbatecan.patient_management_system.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vbatecan.patient_management_system.model.dto.UserAccountDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caches the principal rebuilt by {@link JwtTokenFilter} so authenticated requests do not hit the
+ * {@code user_account} table every time. Hit, miss and eviction counters are published under the
+ * {@code cache.*} metrics with {@code cache=principals}.
+ */
+@Component
+public class PrincipalCache {
+
+	private final Cache<String, UserAccountDTO> principals;
+
+	public PrincipalCache(
+		@Value("${security.principal-cache.max-size:10000}") long maxSize,
+		@Value("${security.principal-cache.ttl:5m}") Duration ttl,
+		MeterRegistry meterRegistry
+	) {
+		this.principals = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(ttl)
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+	}
+
+	public Optional<UserAccountDTO> get(String username, Function<String, Optional<UserAccountDTO>> loader) {
+		// Unknown usernames are not cached, the loader returning null leaves no entry behind.
+		return Optional.ofNullable(principals.get(username, key -> loader.apply(key).orElse(null)));
+	}
+
+	public void invalidate(String username) {
+		evict(() -> principals.invalidate(username));
+	}
+
+	public void invalidateById(Integer id) {
+		evict(() -> principals.asMap().values().removeIf(principal -> id.equals(principal.getId())));
+	}
+
+	private void evict(Runnable eviction) {
+		eviction.run();
+
+		// A concurrent request may reload the old row before our transaction commits, so evict once more afterwards.
+		if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					eviction.run();
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package com.vbatecan.patient_management_system.security;
+
+import com.vbatecan.patient_management_system.model.entities.RevokedToken;
+import com.vbatecan.patient_management_system.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked JWT ids, persisted in {@code revoked_token} and mirrored in memory. {@link #isRevoked(String)} asks a Bloom
+ * filter first, so the common case of a token that was never revoked costs a few hash probes and no I/O, and only a
+ * filter hit is confirmed against the exact set.
+ * <p>
+ * Other nodes pick up revocations by polling the table for rows newer than the last seen {@code revoked_at}. The poll
+ * re-reads a small overlap window so rows committed slightly out of order are not missed.
+ */
+@Component
+@Log4j2
+public class TokenRevocationList {
+
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	private final RevokedTokenRepository revokedTokenRepository;
+	private final int expectedTokens;
+	private final double falsePositiveRate;
+	private final Duration pollOverlap;
+
+	private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+	private volatile BloomFilter bloomFilter;
+	private volatile Instant watermark = Instant.EPOCH;
+
+	public TokenRevocationList(
+		RevokedTokenRepository revokedTokenRepository,
+		@Value("${security.revocation.expected-tokens:100000}") int expectedTokens,
+		@Value("${security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+		@Value("${security.revocation.poll-overlap:30s}") Duration pollOverlap,
+		MeterRegistry meterRegistry
+	) {
+		this.revokedTokenRepository = revokedTokenRepository;
+		this.expectedTokens = expectedTokens;
+		this.falsePositiveRate = falsePositiveRate;
+		this.pollOverlap = pollOverlap;
+		this.bloomFilter = new BloomFilter(expectedTokens, falsePositiveRate);
+		Gauge.builder("security.revoked.tokens", revoked, Map::size)
+			.description("Unexpired revoked tokens held in memory")
+			.register(meterRegistry);
+	}
+
+	public boolean isRevoked(String tokenId) {
+		return tokenId != null && bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+	}
+
+	public void revoke(VerifiedToken token) {
+		if ( token.tokenId() == null || token.isExpired() || revoked.containsKey(token.tokenId()) ) {
+			return;
+		}
+
+		try {
+			revokedTokenRepository.save(new RevokedToken(token.tokenId(), token.expiresAt()));
+		} catch ( DataIntegrityViolationException e ) {
+			// Already revoked through another node, we just have not polled it yet.
+			log.debug("Token {} is already revoked", token.tokenId());
+		}
+		remember(token.tokenId(), token.expiresAt());
+	}
+
+	@PostConstruct
+	void load() {
+		Instant now = Instant.now();
+		Instant latest = Instant.EPOCH;
+		long lastId = 0;
+		List<RevokedToken> batch;
+		do {
+			batch = revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(lastId, now, Limit.of(LOAD_BATCH_SIZE));
+			for ( RevokedToken revokedToken : batch ) {
+				remember(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+				latest = latest.isAfter(revokedToken.getRevokedAt()) ? latest : revokedToken.getRevokedAt();
+				lastId = revokedToken.getId();
+			}
+		} while ( batch.size() == LOAD_BATCH_SIZE );
+
+		watermark = latest;
+		log.info("Loaded {} revoked tokens", revoked.size());
+	}
+
+	@Scheduled(
+		initialDelayString = "${security.revocation.poll-interval-ms:5000}",
+		fixedDelayString = "${security.revocation.poll-interval-ms:5000}"
+	)
+	void poll() {
+		try {
+			Instant since = watermark.minus(pollOverlap);
+			for ( RevokedToken revokedToken : revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since, Instant.now()) ) {
+				remember(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+				if ( revokedToken.getRevokedAt().isAfter(watermark) ) {
+					watermark = revokedToken.getRevokedAt();
+				}
+			}
+		} catch ( DataAccessException e ) {
+			log.warn("Failed to poll revoked tokens, retrying on the next run", e);
+		}
+	}
+
+	@Scheduled(cron = "${security.revocation.purge-cron:0 0 * * * *}")
+	void purgeExpired() {
+		Instant now = Instant.now();
+		try {
+			int deleted = revokedTokenRepository.deleteExpired(now);
+			log.debug("Deleted {} expired revoked tokens", deleted);
+		} catch ( DataAccessException e ) {
+			log.warn("Failed to delete expired revoked tokens", e);
+		}
+
+		// Expired tokens are rejected by the signature check anyway, drop them so the filter stays sparse.
+		if ( revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now)) ) {
+			rebuild(revoked.size());
+		}
+	}
+
+	private synchronized void remember(String tokenId, Instant expiresAt) {
+		if ( revoked.putIfAbsent(tokenId, expiresAt) != null ) {
+			return;
+		}
+
+		if ( revoked.size() > bloomFilter.capacity() ) {
+			// Past its capacity the false positive rate climbs quickly, so grow the filter instead.
+			rebuild(revoked.size() * 2);
+		} else {
+			bloomFilter.put(tokenId);
+		}
+	}
+
+	private synchronized void rebuild(int capacity) {
+		BloomFilter filter = new BloomFilter(Math.max(capacity, expectedTokens), falsePositiveRate);
+		revoked.keySet().forEach(filter::put);
+		bloomFilter = filter;
+	}
+}
@@ -0,0 +1,14 @@
+package com.vbatecan.patient_management_system.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature has already been verified by {@link JwtService}. {@code tokenId} is the
+ * {@code jti} claim, it is null for tokens issued before ids were added.
+ */
+public record VerifiedToken(String tokenId, String username, String role, Instant expiresAt) {
+
+	public boolean isExpired() {
+		return !expiresAt.isAfter(Instant.now());
+	}
+}
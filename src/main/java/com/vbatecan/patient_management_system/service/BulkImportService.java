@@ -0,0 +1,267 @@
+package com.vbatecan.patient_management_system.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vbatecan.patient_management_system.mapper.AppointmentMapper;
+import com.vbatecan.patient_management_system.mapper.PatientMapper;
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.input.AppointmentImportRow;
+import com.vbatecan.patient_management_system.model.input.PatientImportRow;
+import com.vbatecan.patient_management_system.model.responses.ImportResult;
+import com.vbatecan.patient_management_system.repository.DoctorRepository;
+import com.vbatecan.patient_management_system.repository.PatientRepository;
+import com.vbatecan.patient_management_system.repository.UserAccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports patients and appointments from a JSON array or an NDJSON stream. Rows are parsed one at a time, validated,
+ * and persisted in chunks of {@code import.chunk-size}, each chunk in its own transaction that is flushed as JDBC
+ * batches and then cleared, so neither the input nor the persisted entities are held in memory as a whole.
+ * <p>
+ * A chunk that fails in the database is rolled back and retried row by row, so one bad row only costs its own
+ * insert. Rows that fail are reported with their position instead of failing the whole import.
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+	private final TransactionTemplate transactionTemplate;
+	private final PatientRepository patientRepository;
+	private final DoctorRepository doctorRepository;
+	private final UserAccountRepository userAccountRepository;
+	private final PatientMapper patientMapper;
+	private final AppointmentMapper appointmentMapper;
+	private final int chunkSize;
+	private final int maxReportedErrors;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public BulkImportService(
+		ObjectMapper objectMapper,
+		Validator validator,
+		TransactionTemplate transactionTemplate,
+		PatientRepository patientRepository,
+		DoctorRepository doctorRepository,
+		UserAccountRepository userAccountRepository,
+		PatientMapper patientMapper,
+		AppointmentMapper appointmentMapper,
+		@Value("${import.chunk-size:1000}") int chunkSize,
+		@Value("${import.max-reported-errors:1000}") int maxReportedErrors
+	) {
+		this.objectMapper = objectMapper;
+		this.validator = validator;
+		this.transactionTemplate = transactionTemplate;
+		this.patientRepository = patientRepository;
+		this.doctorRepository = doctorRepository;
+		this.userAccountRepository = userAccountRepository;
+		this.patientMapper = patientMapper;
+		this.appointmentMapper = appointmentMapper;
+		this.chunkSize = Math.max(1, chunkSize);
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	public ImportResult importPatients(InputStream in) throws IOException {
+		return importRows(in, PatientImportRow.class, this::checkPatientReferences, row -> {
+			Patient patient = patientMapper.toEntity(row);
+			if ( row.getUserAccountId() != null ) {
+				patient.setUserAccount(userAccountRepository.getReferenceById(row.getUserAccountId()));
+			}
+			patient.setCreatedAt(LocalDateTime.now());
+			patient.setUpdatedAt(LocalDateTime.now());
+			return patient;
+		});
+	}
+
+	public ImportResult importAppointments(InputStream in) throws IOException {
+		return importRows(in, AppointmentImportRow.class, this::checkAppointmentReferences, row -> {
+			Appointment appointment = appointmentMapper.toEntity(row);
+			appointment.setPatient(patientRepository.getReferenceById(row.getPatientId()));
+			appointment.setDoctor(doctorRepository.getReferenceById(row.getDoctorId()));
+			appointment.setCreatedAt(LocalDateTime.now());
+			appointment.setUpdatedAt(LocalDateTime.now());
+			return appointment;
+		});
+	}
+
+	private <R> ImportResult importRows(
+		InputStream in,
+		Class<R> type,
+		BiFunction<List<Row<R>>, Report, List<Row<R>>> checkReferences,
+		Function<R, Object> toEntity
+	) throws IOException {
+		Report report = new Report(maxReportedErrors);
+		List<Row<R>> chunk = new ArrayList<>(chunkSize);
+
+		// readValues unwraps a top level array and otherwise reads whitespace separated values, which covers NDJSON.
+		try ( MappingIterator<R> rows = objectMapper.readerFor(type).readValues(in) ) {
+			long number = 0;
+			while ( true ) {
+				R value;
+				try {
+					if ( !rows.hasNextValue() ) {
+						break;
+					}
+					number++;
+					value = rows.nextValue();
+				} catch ( JsonMappingException e ) {
+					// The iterator skips past the offending value on the next call.
+					report.fail(number, "Invalid row: " + e.getOriginalMessage());
+					continue;
+				} catch ( JsonProcessingException e ) {
+					report.fail(number, "Malformed input, import stopped: " + e.getOriginalMessage());
+					break;
+				}
+
+				String violations = validate(value);
+				if ( violations != null ) {
+					report.fail(number, violations);
+					continue;
+				}
+
+				chunk.add(new Row<>(number, value));
+				if ( chunk.size() == chunkSize ) {
+					persistChunk(checkReferences.apply(chunk, report), toEntity, report);
+					chunk.clear();
+				}
+			}
+			report.received = number;
+		}
+
+		if ( !chunk.isEmpty() ) {
+			persistChunk(checkReferences.apply(chunk, report), toEntity, report);
+		}
+		log.debug("Imported {} of {} {} rows", report.imported, report.received, type.getSimpleName());
+		return report.toResult();
+	}
+
+	private <R> void persistChunk(List<Row<R>> rows, Function<R, Object> toEntity, Report report) {
+		if ( rows.isEmpty() ) {
+			return;
+		}
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> persist(rows, toEntity));
+			report.imported += rows.size();
+		} catch ( DataAccessException | PersistenceException | IllegalArgumentException e ) {
+			log.debug("Chunk of {} rows failed, retrying row by row", rows.size(), e);
+			for ( Row<R> row : rows ) {
+				try {
+					transactionTemplate.executeWithoutResult(status -> persist(List.of(row), toEntity));
+					report.imported++;
+				} catch ( DataAccessException | PersistenceException | IllegalArgumentException rowException ) {
+					report.fail(row.number(), NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+				}
+			}
+		}
+	}
+
+	private <R> void persist(List<Row<R>> rows, Function<R, Object> toEntity) {
+		for ( Row<R> row : rows ) {
+			entityManager.persist(toEntity.apply(row.value()));
+		}
+		entityManager.flush();
+		// Turn the flushed entities into index work (or outbox events) now, clear() would otherwise drop them
+		Search.session(entityManager).indexingPlan().process();
+		entityManager.clear();
+	}
+
+	private List<Row<PatientImportRow>> checkPatientReferences(List<Row<PatientImportRow>> rows, Report report) {
+		Set<Integer> userAccounts = userAccountRepository.findExistingIds(
+			rows.stream().map(row -> row.value().getUserAccountId()).filter(Objects::nonNull).collect(Collectors.toSet())
+		);
+		return rows.stream().filter(row -> {
+			Integer userAccountId = row.value().getUserAccountId();
+			if ( userAccountId != null && !userAccounts.contains(userAccountId) ) {
+				report.fail(row.number(), "User account not found with id: " + userAccountId);
+				return false;
+			}
+			return true;
+		}).toList();
+	}
+
+	private List<Row<AppointmentImportRow>> checkAppointmentReferences(List<Row<AppointmentImportRow>> rows, Report report) {
+		Set<Integer> patients = patientRepository.findExistingIds(
+			rows.stream().map(row -> row.value().getPatientId()).collect(Collectors.toSet())
+		);
+		Set<Integer> doctors = doctorRepository.findExistingIds(
+			rows.stream().map(row -> row.value().getDoctorId()).collect(Collectors.toSet())
+		);
+		return rows.stream().filter(row -> {
+			if ( !patients.contains(row.value().getPatientId()) ) {
+				report.fail(row.number(), "Patient not found with id: " + row.value().getPatientId());
+				return false;
+			}
+			if ( !doctors.contains(row.value().getDoctorId()) ) {
+				report.fail(row.number(), "Doctor not found with id: " + row.value().getDoctorId());
+				return false;
+			}
+			return true;
+		}).toList();
+	}
+
+	private <R> String validate(R value) {
+		Set<ConstraintViolation<R>> violations = validator.validate(value);
+		if ( violations.isEmpty() ) {
+			return null;
+		}
+		return violations.stream()
+			.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+			.sorted()
+			.collect(Collectors.joining("; "));
+	}
+
+	private record Row<R>(long number, R value) {
+	}
+
+	private static final class Report {
+
+		private final int maxErrors;
+		private final List<ImportResult.RowError> errors = new ArrayList<>();
+		private long received;
+		private long imported;
+		private long failed;
+
+		private Report(int maxErrors) {
+			this.maxErrors = maxErrors;
+		}
+
+		private void fail(long row, String message) {
+			failed++;
+			if ( errors.size() < maxErrors ) {
+				errors.add(new ImportResult.RowError(row, message));
+			}
+		}
+
+		private ImportResult toResult() {
+			return new ImportResult(received, imported, failed, errors, failed > errors.size());
+		}
+	}
+}
@@ -0,0 +1,259 @@
+package com.vbatecan.patient_management_system.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vbatecan.patient_management_system.exception.ConflictException;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.projection.PatientSearchHit;
+import com.vbatecan.patient_management_system.model.responses.DuplicateCandidate;
+import com.vbatecan.patient_management_system.model.responses.DuplicateScanStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.search.engine.search.predicate.SearchPredicate;
+import org.hibernate.search.engine.search.predicate.dsl.BooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Finds patients that are likely the same person, using the Patient index instead of comparing rows in SQL. A
+ * candidate must agree with the patient on at least two blocking keys: the phonetic first name, the phonetic last name,
+ * the date of birth, the phone digits or the email. Each agreeing key adds its weight, and the score is the share of
+ * the total weight reached.
+ * <p>
+ * Registration checks against the index, so with outbox polling a patient committed a moment earlier may not be seen
+ * yet. The scan checks every patient of the table the same way, a chunk of ids per task on a pool of its own.
+ */
+@Service
+@Log4j2
+public class DuplicatePatientService {
+
+	private static final float FIRST_NAME_WEIGHT = 1;
+	private static final float LAST_NAME_WEIGHT = 2;
+	private static final float DATE_OF_BIRTH_WEIGHT = 3;
+	private static final float CONTACT_NUMBER_WEIGHT = 2;
+	private static final float EMAIL_WEIGHT = 2;
+	private static final double TOTAL_WEIGHT = FIRST_NAME_WEIGHT + LAST_NAME_WEIGHT + DATE_OF_BIRTH_WEIGHT + CONTACT_NUMBER_WEIGHT + EMAIL_WEIGHT;
+
+	@PersistenceUnit
+	private EntityManagerFactory entityManagerFactory;
+
+	@Value("${patient.duplicates.warn-threshold:0.5}")
+	private double warnThreshold;
+
+	@Value("${patient.duplicates.reject-threshold:0.8}")
+	private double rejectThreshold;
+
+	@Value("${patient.duplicates.max-candidates:5}")
+	private int maxCandidates;
+
+	@Value("${patient.duplicates.timeout-ms:20}")
+	private long timeoutMs;
+
+	@Value("${patient.duplicates.scan.threads:4}")
+	private int scanThreads;
+
+	@Value("${patient.duplicates.scan.chunk-size:500}")
+	private int scanChunkSize;
+
+	@Value("${patient.duplicates.scan.max-pairs:10000}")
+	private int scanMaxPairs;
+
+	// Finished scans stay visible for a while so their findings can still be fetched.
+	private final Cache<UUID, DuplicateScan> scans;
+	private final AtomicReference<DuplicateScan> running = new AtomicReference<>();
+
+	public DuplicatePatientService(@Value("${patient.duplicates.scan.retention:1h}") Duration retention) {
+		this.scans = Caffeine.newBuilder()
+			.expireAfterWrite(retention)
+			.build();
+	}
+
+	/**
+	 * @return the patients scoring at least the warn threshold against the given one, best first. Gives up after a
+	 * few milliseconds with the candidates found so far.
+	 */
+	public List<DuplicateCandidate> findCandidates(Patient patient) {
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			return candidates(Search.session(entityManager), patient);
+		}
+	}
+
+	/**
+	 * Checks a patient about to be registered. Candidates between the warn and the reject threshold are only logged.
+	 *
+	 * @throws ConflictException if a candidate reaches the reject threshold.
+	 */
+	public void check(Patient patient) throws ConflictException {
+		List<DuplicateCandidate> candidates = findCandidates(patient);
+		List<Integer> rejected = ids(candidates, candidate -> candidate.getScore() >= rejectThreshold);
+		if ( !rejected.isEmpty() ) {
+			throw new ConflictException("Patient is likely a duplicate of patients " + rejected + ", pass allowDuplicates to register anyway.");
+		}
+		if ( !candidates.isEmpty() ) {
+			log.warn("Registering a patient that may duplicate patients {}", ids(candidates, candidate -> true));
+		}
+	}
+
+	/**
+	 * Starts a scan of the whole patient table in the background and returns at once.
+	 *
+	 * @throws ConflictException if a scan is already running.
+	 */
+	public DuplicateScanStatus startScan() throws ConflictException {
+		DuplicateScan scan = new DuplicateScan(scanMaxPairs);
+		DuplicateScan other = running.compareAndExchange(null, scan);
+		if ( other != null ) {
+			throw new ConflictException("Duplicate scan " + other.id() + " is still running");
+		}
+		scans.put(scan.id(), scan);
+
+		try {
+			Thread.ofPlatform().name("duplicate-scan").daemon().start(() -> run(scan));
+		} catch ( RuntimeException e ) {
+			scan.finish(e);
+			running.set(null);
+			throw e;
+		}
+		log.info("Started duplicate scan {}", scan.id());
+		return scan.status();
+	}
+
+	public Optional<DuplicateScanStatus> findScan(UUID id) {
+		return Optional.ofNullable(scans.getIfPresent(id)).map(DuplicateScan::status);
+	}
+
+	private void run(DuplicateScan scan) {
+		ExecutorService executor = Executors.newFixedThreadPool(scanThreads);
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			Deque<Future<?>> pending = new ArrayDeque<>();
+			int lastId = 0;
+			List<Integer> ids;
+			do {
+				ids = entityManager.createQuery("select p.id from Patient p where p.id > :lastId order by p.id", Integer.class)
+					.setParameter("lastId", lastId)
+					.setMaxResults(scanChunkSize)
+					.getResultList();
+				if ( !ids.isEmpty() ) {
+					List<Integer> chunk = ids;
+					pending.add(executor.submit(() -> scanChunk(scan, chunk)));
+					lastId = ids.getLast();
+				}
+				// Only a few chunks are in flight at a time, the table may not fit in memory.
+				while ( pending.size() > scanThreads * 2 ) {
+					pending.poll().get();
+				}
+			} while ( ids.size() == scanChunkSize );
+
+			for ( Future<?> future : pending ) {
+				future.get();
+			}
+			scan.finish(null);
+			log.info("Duplicate scan {} completed", scan.id());
+		} catch ( ExecutionException e ) {
+			scan.finish(e.getCause());
+			log.error("Duplicate scan {} failed", scan.id(), e.getCause());
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			scan.finish(e);
+		} catch ( RuntimeException e ) {
+			scan.finish(e);
+			log.error("Duplicate scan {} failed", scan.id(), e);
+		} finally {
+			executor.shutdownNow();
+			running.compareAndSet(scan, null);
+		}
+	}
+
+	private void scanChunk(DuplicateScan scan, List<Integer> ids) {
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			SearchSession searchSession = Search.session(entityManager);
+			List<Patient> patients = entityManager.createQuery("select p from Patient p where p.id in :ids", Patient.class)
+				.setParameter("ids", ids)
+				.getResultList();
+			for ( Patient patient : patients ) {
+				for ( DuplicateCandidate candidate : candidates(searchSession, patient) ) {
+					scan.add(patient.getId(), candidate.getPatient().id(), candidate.getScore());
+				}
+				scan.scanned();
+			}
+		}
+	}
+
+	private List<DuplicateCandidate> candidates(SearchSession searchSession, Patient patient) {
+		List<Function<SearchPredicateFactory, SearchPredicate>> keys = blockingKeys(patient);
+		if ( keys.size() < 2 ) {
+			return List.of();
+		}
+
+		return searchSession.search(Patient.class)
+			.select(f -> f.composite()
+				.from(f.composite().as(PatientSearchHit.class), f.score())
+				.as((hit, score) -> new DuplicateCandidate(hit, score / TOTAL_WEIGHT)))
+			.where(f -> {
+				BooleanPredicateClausesStep<?> bool = f.bool().minimumShouldMatchNumber(2);
+				keys.forEach(key -> bool.should(key.apply(f)));
+				if ( patient.getId() != null ) {
+					bool.mustNot(f.id().matching(patient.getId()));
+				}
+				return bool;
+			})
+			.truncateAfter(timeoutMs, TimeUnit.MILLISECONDS)
+			.totalHitCountThreshold(maxCandidates)
+			.fetch(maxCandidates)
+			.hits()
+			.stream()
+			.filter(candidate -> candidate.getScore() >= warnThreshold)
+			.toList();
+	}
+
+	// Constant scores, so a candidate scores the sum of the weights of the keys it agrees on.
+	private static List<Function<SearchPredicateFactory, SearchPredicate>> blockingKeys(Patient patient) {
+		List<Function<SearchPredicateFactory, SearchPredicate>> keys = new ArrayList<>();
+		if ( hasText(patient.getFirstName()) ) {
+			keys.add(f -> f.match().field("firstName_phonetic").matching(patient.getFirstName()).constantScore().boost(FIRST_NAME_WEIGHT).toPredicate());
+		}
+		if ( hasText(patient.getLastName()) ) {
+			keys.add(f -> f.match().field("lastName_phonetic").matching(patient.getLastName()).constantScore().boost(LAST_NAME_WEIGHT).toPredicate());
+		}
+		if ( patient.getDateOfBirth() != null ) {
+			keys.add(f -> f.match().field("dateOfBirth").matching(patient.getDateOfBirth()).constantScore().boost(DATE_OF_BIRTH_WEIGHT).toPredicate());
+		}
+		String digits = patient.getContactNumber() == null ? "" : patient.getContactNumber().replaceAll("[^0-9]", "");
+		if ( !digits.isEmpty() ) {
+			keys.add(f -> f.match().field("contactNumber_key").matching(digits).constantScore().boost(CONTACT_NUMBER_WEIGHT).toPredicate());
+		}
+		if ( hasText(patient.getEmail()) ) {
+			keys.add(f -> f.match().field("email_key").matching(patient.getEmail()).constantScore().boost(EMAIL_WEIGHT).toPredicate());
+		}
+		return keys;
+	}
+
+	private static List<Integer> ids(List<DuplicateCandidate> candidates, Predicate<DuplicateCandidate> filter) {
+		return candidates.stream().filter(filter).map(candidate -> candidate.getPatient().id()).toList();
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.isBlank();
+	}
+}
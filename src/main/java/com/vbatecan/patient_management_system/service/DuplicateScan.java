@@ -0,0 +1,83 @@
+package com.vbatecan.patient_management_system.service;
+
+import com.vbatecan.patient_management_system.model.enums.ReindexState;
+import com.vbatecan.patient_management_system.model.responses.DuplicatePair;
+import com.vbatecan.patient_management_system.model.responses.DuplicateScanStatus;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress and findings of one scan of the patient table. The scan workers report to it from their own threads.
+ */
+final class DuplicateScan {
+
+	private final UUID id = UUID.randomUUID();
+	private final Instant startedAt = Instant.now();
+	private final int maxPairs;
+
+	private final LongAdder patientsScanned = new LongAdder();
+
+	// Guarded by this. A pair may be found from either side, so it is keyed by its lower id followed by its higher id.
+	private final Map<Long, DuplicatePair> pairs = new HashMap<>();
+	private boolean truncated;
+
+	private volatile ReindexState state = ReindexState.RUNNING;
+	private volatile Instant finishedAt;
+	private volatile String error;
+
+	DuplicateScan(int maxPairs) {
+		this.maxPairs = maxPairs;
+	}
+
+	UUID id() {
+		return id;
+	}
+
+	void scanned() {
+		patientsScanned.increment();
+	}
+
+	/**
+	 * Records a pair found while scanning {@code patientId}. Each side searches for its own candidates, and those are
+	 * capped, so a pair found from one side may be missed from the other. The higher score is kept.
+	 */
+	synchronized void add(int patientId, int duplicateId, double score) {
+		int low = Math.min(patientId, duplicateId);
+		int high = Math.max(patientId, duplicateId);
+		long key = (long) low << Integer.SIZE | high;
+		DuplicatePair found = pairs.get(key);
+		if ( found == null && pairs.size() >= maxPairs ) {
+			truncated = true;
+		} else if ( found == null || found.getScore() < score ) {
+			pairs.put(key, new DuplicatePair(low, high, score));
+		}
+	}
+
+	void finish(Throwable failure) {
+		if ( failure != null ) {
+			error = failure.getMessage();
+			state = ReindexState.FAILED;
+		} else {
+			state = ReindexState.COMPLETED;
+		}
+		finishedAt = Instant.now();
+	}
+
+	synchronized DuplicateScanStatus status() {
+		return new DuplicateScanStatus(
+			id,
+			state,
+			startedAt,
+			finishedAt,
+			patientsScanned.sum(),
+			pairs.values().stream().sorted(Comparator.comparing(DuplicatePair::getScore).reversed()).toList(),
+			truncated,
+			error
+		);
+	}
+}
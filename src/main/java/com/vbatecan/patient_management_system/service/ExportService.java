@@ -0,0 +1,192 @@
+package com.vbatecan.patient_management_system.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vbatecan.patient_management_system.model.entities.Billing;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.enums.ExportFormat;
+import com.vbatecan.patient_management_system.repository.BillingRepository;
+import com.vbatecan.patient_management_system.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams whole tables to an output stream in constant memory. Rows are read through a forward only cursor and the
+ * persistence context is cleared every {@code export.clear-interval} rows, so neither the result set nor the managed
+ * entities accumulate on the heap.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final List<Column<Patient>> PATIENT_COLUMNS = List.of(
+		new Column<>("id", Patient::getId),
+		new Column<>("userAccountId", patient -> patient.getUserAccount() != null ? patient.getUserAccount().getId() : null),
+		new Column<>("firstName", Patient::getFirstName),
+		new Column<>("lastName", Patient::getLastName),
+		new Column<>("dateOfBirth", Patient::getDateOfBirth),
+		new Column<>("gender", patient -> patient.getGender() != null ? patient.getGender().name() : null),
+		new Column<>("contactNumber", Patient::getContactNumber),
+		new Column<>("email", Patient::getEmail),
+		new Column<>("address", Patient::getAddress),
+		new Column<>("emergencyContact", Patient::getEmergencyContact),
+		new Column<>("createdAt", Patient::getCreatedAt),
+		new Column<>("updatedAt", Patient::getUpdatedAt)
+	);
+
+	private static final List<Column<Billing>> BILLING_COLUMNS = List.of(
+		new Column<>("id", Billing::getId),
+		new Column<>("patientId", billing -> billing.getPatient() != null ? billing.getPatient().getId() : null),
+		new Column<>("appointmentId", billing -> billing.getAppointment() != null ? billing.getAppointment().getId() : null),
+		new Column<>("amount", Billing::getAmount),
+		new Column<>("status", Billing::getStatus),
+		new Column<>("billingDate", Billing::getBillingDate),
+		new Column<>("createdAt", Billing::getCreatedAt),
+		new Column<>("updatedAt", Billing::getUpdatedAt)
+	);
+
+	private final PatientRepository patientRepository;
+	private final BillingRepository billingRepository;
+	private final ObjectMapper objectMapper;
+	private final int clearInterval;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public ExportService(
+		PatientRepository patientRepository,
+		BillingRepository billingRepository,
+		ObjectMapper objectMapper,
+		@Value("${export.clear-interval:1000}") int clearInterval
+	) {
+		this.patientRepository = patientRepository;
+		this.billingRepository = billingRepository;
+		this.objectMapper = objectMapper;
+		this.clearInterval = Math.max(1, clearInterval);
+	}
+
+	/**
+	 * @return the number of rows written.
+	 */
+	@Transactional(readOnly = true)
+	public long exportPatients(ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+		try ( Stream<Patient> patients = patientRepository.streamAllByOrderByIdAsc() ) {
+			long rows = write(patients, PATIENT_COLUMNS, format, gzip, out);
+			log.debug("Exported {} patients as {}", rows, format);
+			return rows;
+		}
+	}
+
+	/**
+	 * @return the number of rows written.
+	 */
+	@Transactional(readOnly = true)
+	public long exportBillings(ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+		try ( Stream<Billing> billings = billingRepository.streamAllByOrderByIdAsc() ) {
+			long rows = write(billings, BILLING_COLUMNS, format, gzip, out);
+			log.debug("Exported {} billings as {}", rows, format);
+			return rows;
+		}
+	}
+
+	// The output stream belongs to the caller, it is flushed but never closed.
+	private <T> long write(Stream<T> rows, List<Column<T>> columns, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+		GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+		Writer writer = new BufferedWriter(new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+		long count = switch ( format ) {
+			case NDJSON -> writeNdjson(rows.iterator(), columns, writer);
+			case CSV -> writeCsv(rows.iterator(), columns, writer);
+		};
+
+		writer.flush();
+		if ( compressed != null ) {
+			compressed.finish();
+		}
+		return count;
+	}
+
+	private <T> long writeNdjson(Iterator<T> rows, List<Column<T>> columns, Writer writer) throws IOException {
+		long count = 0;
+		try ( JsonGenerator json = objectMapper.getFactory().createGenerator(writer) ) {
+			json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			json.setRootValueSeparator(new SerializedString("\n"));
+			while ( rows.hasNext() ) {
+				T row = rows.next();
+				json.writeStartObject();
+				for ( Column<T> column : columns ) {
+					json.writeFieldName(column.name());
+					json.writeObject(column.value().apply(row));
+				}
+				json.writeEndObject();
+				count = rowWritten(count);
+			}
+			if ( count > 0 ) {
+				json.writeRaw('\n');
+			}
+		}
+		return count;
+	}
+
+	private <T> long writeCsv(Iterator<T> rows, List<Column<T>> columns, Writer writer) throws IOException {
+		for ( int i = 0; i < columns.size(); i++ ) {
+			writer.write(i == 0 ? "" : ",");
+			writer.write(columns.get(i).name());
+		}
+		writer.write("\r\n");
+
+		long count = 0;
+		while ( rows.hasNext() ) {
+			T row = rows.next();
+			for ( int i = 0; i < columns.size(); i++ ) {
+				writer.write(i == 0 ? "" : ",");
+				Object value = columns.get(i).value().apply(row);
+				if ( value != null ) {
+					writer.write(escapeCsv(value.toString()));
+				}
+			}
+			writer.write("\r\n");
+			count = rowWritten(count);
+		}
+		return count;
+	}
+
+	private long rowWritten(long count) {
+		// The row has been serialized already, the entities behind it are no longer needed.
+		if ( ++count % clearInterval == 0 ) {
+			entityManager.clear();
+		}
+		return count;
+	}
+
+	private static String escapeCsv(String value) {
+		boolean quote = false;
+		for ( int i = 0; i < value.length() && !quote; i++ ) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+	}
+
+	private record Column<T>(String name, Function<T, Object> value) {
+	}
+}
@@ -1,21 +1,270 @@
 package com.vbatecan.patient_management_system.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vbatecan.patient_management_system.exception.ConflictException;
+import com.vbatecan.patient_management_system.model.entities.IndexWatermark;
+import com.vbatecan.patient_management_system.model.input.ReindexOptions;
+import com.vbatecan.patient_management_system.model.responses.ReindexJobStatus;
+import com.vbatecan.patient_management_system.repository.IndexWatermarkRepository;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceContext;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.PersistenceUnit;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.search.engine.search.query.SearchScroll;
+import org.hibernate.search.engine.search.query.SearchScrollResult;
 import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.entity.SearchIndexedEntity;
+import org.hibernate.search.mapper.orm.mapping.SearchMapping;
+import org.hibernate.search.mapper.orm.massindexing.MassIndexer;
 import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+
 @Service
+@Log4j2
 public class IndexingService {
 
 	@PersistenceContext
 	private EntityManager entityManager;
 
-	@Transactional
-	public void reindexAll() {
-		SearchSession searchSession = Search.session(entityManager);
-		searchSession.massIndexer().start();
+	@PersistenceUnit
+	private EntityManagerFactory entityManagerFactory;
+
+	@Value("${indexing.chunk-size:500}")
+	private int chunkSize;
+
+	@Value("${indexing.mass.threads-to-load-objects:6}")
+	private int threadsToLoadObjects;
+
+	@Value("${indexing.mass.batch-size-to-load-objects:25}")
+	private int batchSizeToLoadObjects;
+
+	@Value("${indexing.mass.id-fetch-size:100}")
+	private int idFetchSize;
+
+	@Value("${indexing.mass.types-to-index-in-parallel:1}")
+	private int typesToIndexInParallel;
+
+	// Rows stamped just before a job started may commit after it read them, so incremental runs start a bit earlier.
+	@Value("${indexing.incremental.overlap:5m}")
+	private Duration incrementalOverlap;
+
+	private final IndexWatermarkRepository indexWatermarkRepository;
+
+	// Finished jobs stay visible for a while so their outcome can still be polled.
+	private final Cache<UUID, ReindexJob> jobs;
+
+	// Guarded by this, at most one running job per entity type.
+	private final Map<Class<?>, ReindexJob> running = new HashMap<>();
+
+	public IndexingService(IndexWatermarkRepository indexWatermarkRepository, @Value("${indexing.jobs.retention:1h}") Duration retention) {
+		this.indexWatermarkRepository = indexWatermarkRepository;
+		this.jobs = Caffeine.newBuilder()
+			.expireAfterWrite(retention)
+			.build();
+	}
+
+	/**
+	 * Starts a mass indexer in the background and returns at once. The mass indexer opens its own sessions and runs on
+	 * its own threads, so neither the calling thread nor a transaction is held while it runs.
+	 * <p>
+	 * An incremental job only reindexes the rows whose {@code updatedAt} is after the watermark left by the last
+	 * successful job of each type, and keeps the rest of the index. It then purges the documents of rows deleted in the
+	 * meantime, see {@link #purgeDeleted(ReindexJob)}. Every successful job, full or incremental, moves the watermark of
+	 * its types to the time it started.
+	 *
+	 * @throws IllegalArgumentException if an entity name is not an indexed entity, or an incremental job is asked for
+	 *                                  a type without a watermark and no {@code since} is given.
+	 * @throws ConflictException        if one of the entity types is already being reindexed.
+	 */
+	public ReindexJobStatus startReindex(ReindexOptions options) throws IllegalArgumentException, ConflictException {
+		SearchMapping mapping = Search.mapping(entityManagerFactory);
+		List<Class<?>> types = resolve(mapping, options);
+		LocalDateTime indexedUntil = LocalDateTime.now();
+		boolean incremental = Boolean.TRUE.equals(options.getIncremental()) || options.getSince() != null;
+		Map<Class<?>, LocalDateTime> since = incremental ? since(types, options.getSince()) : Map.of();
+
+		ReindexJob job;
+		synchronized ( this ) {
+			for ( Class<?> type : types ) {
+				ReindexJob other = running.get(type);
+				if ( other != null ) {
+					throw new ConflictException(type.getSimpleName() + " is already being reindexed by job " + other.id());
+				}
+			}
+			job = new ReindexJob(types, since, indexedUntil);
+			types.forEach(type -> running.put(type, job));
+		}
+		jobs.put(job.id(), job);
+
+		try {
+			// Ids are fetched in idFetchSize batches and loaded in batchSizeToLoadObjects chunks by parallel threads.
+			MassIndexer massIndexer = mapping.scope(types)
+				.massIndexer()
+				.threadsToLoadObjects(Optional.ofNullable(options.getThreadsToLoadObjects()).orElse(threadsToLoadObjects))
+				.batchSizeToLoadObjects(Optional.ofNullable(options.getBatchSizeToLoadObjects()).orElse(batchSizeToLoadObjects))
+				.idFetchSize(Optional.ofNullable(options.getIdFetchSize()).orElse(idFetchSize))
+				.typesToIndexInParallel(Optional.ofNullable(options.getTypesToIndexInParallel()).orElse(typesToIndexInParallel))
+				.monitor(job);
+			if ( incremental ) {
+				massIndexer.purgeAllOnStart(false);
+				since.forEach((type, from) -> massIndexer.type(type)
+					.reindexOnly("e.updatedAt > :since")
+					.param("since", from));
+			}
+			CompletionStage<?> indexed = massIndexer.start();
+			if ( incremental ) {
+				indexed = indexed.thenRun(() -> purgeDeleted(job));
+			}
+			indexed.whenComplete((ignored, failure) -> finish(job, failure));
+		} catch ( RuntimeException e ) {
+			finish(job, e);
+			throw e;
+		}
+		log.info("Started reindex job {} for {}", job.id(), types);
+		return job.status();
+	}
+
+	public Optional<ReindexJobStatus> findJob(UUID id) {
+		return Optional.ofNullable(jobs.getIfPresent(id)).map(ReindexJob::status);
+	}
+
+	/**
+	 * Purges the documents whose rows no longer exist. An incremental mass indexer only visits rows that are still in
+	 * the table, so a row deleted while its change was not indexed, e.g. during an outage, would stay searchable. The
+	 * ids of each index are scrolled a chunk at a time and checked against the table with one query per chunk.
+	 */
+	private void purgeDeleted(ReindexJob job) {
+		SearchMapping mapping = Search.mapping(entityManagerFactory);
+		for ( Class<?> type : job.types() ) {
+			String existingIds = "SELECT e.id FROM " + mapping.indexedEntity(type).jpaName() + " e WHERE e.id IN :ids";
+			EntityManager purging = entityManagerFactory.createEntityManager();
+			try {
+				SearchSession searchSession = Search.session(purging);
+				try ( SearchScroll<Object> scroll = searchSession.search(type).select(f -> f.id()).where(f -> f.matchAll()).scroll(chunkSize) ) {
+					for ( SearchScrollResult<Object> chunk = scroll.next(); chunk.hasHits(); chunk = scroll.next() ) {
+						Set<Object> existing = new HashSet<>(purging.createQuery(existingIds, Object.class)
+							.setParameter("ids", chunk.hits())
+							.getResultList());
+						List<Object> deleted = chunk.hits().stream().filter(id -> !existing.contains(id)).toList();
+						if ( deleted.isEmpty() ) {
+							continue;
+						}
+
+						// Purges are applied when the transaction commits, like those of automatic indexing.
+						purging.getTransaction().begin();
+						deleted.forEach(id -> searchSession.indexingPlan().purge(type, id, null));
+						purging.getTransaction().commit();
+						purging.clear();
+						job.documentsPurged(deleted.size());
+					}
+				}
+			} finally {
+				purging.close();
+			}
+		}
+	}
+
+	private void finish(ReindexJob job, Throwable failure) {
+		if ( failure == null ) {
+			try {
+				indexWatermarkRepository.saveAll(job.types().stream()
+					.map(type -> new IndexWatermark(type.getSimpleName(), job.indexedUntil()))
+					.toList());
+			} catch ( DataAccessException e ) {
+				// The index is fine, the next incremental run just starts from the older watermark.
+				log.warn("Failed to record the watermark of reindex job {}", job.id(), e);
+			}
+		}
+		job.finish(failure);
+		synchronized ( this ) {
+			job.types().forEach(type -> running.remove(type, job));
+		}
+		if ( failure != null ) {
+			log.error("Reindex job {} failed", job.id(), failure);
+		} else {
+			log.info("Reindex job {} completed", job.id());
+		}
+	}
+
+	private Map<Class<?>, LocalDateTime> since(List<Class<?>> types, LocalDateTime since) throws IllegalArgumentException {
+		Map<Class<?>, LocalDateTime> result = new LinkedHashMap<>();
+		for ( Class<?> type : types ) {
+			if ( since != null ) {
+				result.put(type, since);
+				continue;
+			}
+			IndexWatermark watermark = indexWatermarkRepository.findById(type.getSimpleName())
+				.orElseThrow(() -> new IllegalArgumentException("No reindex of " + type.getSimpleName() + " has completed yet, run a full reindex or pass since."));
+			result.put(type, watermark.getIndexedUntil().minus(incrementalOverlap));
+		}
+		return result;
+	}
+
+	private static List<Class<?>> resolve(SearchMapping mapping, ReindexOptions options) throws IllegalArgumentException {
+		Collection<? extends SearchIndexedEntity<?>> indexed = mapping.allIndexedEntities();
+		if ( options.getEntities() == null || options.getEntities().isEmpty() ) {
+			return indexed.stream().<Class<?>>map(SearchIndexedEntity::javaClass).toList();
+		}
+
+		return options.getEntities().stream()
+			.<Class<?>>map(name -> indexed.stream()
+				.filter(entity -> entity.jpaName().equalsIgnoreCase(name))
+				.findFirst()
+				.map(SearchIndexedEntity::javaClass)
+				.orElseThrow(() -> new IllegalArgumentException("Not an indexed entity: " + name)))
+			.distinct()
+			.toList();
+	}
+
+	/**
+	 * Schedules the entity for reindexing when the current transaction commits. Needed after changes made through
+	 * queries, which automatic indexing does not see.
+	 */
+	public void reindex(Object entity) {
+		Search.session(entityManager).indexingPlan().addOrUpdate(entity);
+	}
+
+	/**
+	 * Reindexes rows changed through a set-based query. The entities are loaded and their documents built a chunk at a
+	 * time, clearing the persistence context in between, so a large update does not hold every row in memory. With
+	 * outbox polling only the ids are recorded at commit, and the event processor loads the rows itself.
+	 */
+	public void reindex(Class<?> entityType, Collection<?> ids) {
+		SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+		int pending = 0;
+		for ( Object id : ids ) {
+			// A reference is enough, the row is only loaded when the plan is processed.
+			indexingPlan.addOrUpdate(entityManager.getReference(entityType, id));
+			if ( ++pending == chunkSize ) {
+				indexingPlan.process();
+				entityManager.clear();
+				pending = 0;
+			}
+		}
+	}
+
+	/**
+	 * Schedules the removal of the document of a row deleted through a query when the current transaction commits.
+	 */
+	public void purge(Class<?> entityType, Object id) {
+		Search.session(entityManager).indexingPlan().purge(entityType, id, null);
 	}
-}
\ No newline at end of file
+}
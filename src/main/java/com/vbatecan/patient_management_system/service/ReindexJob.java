@@ -0,0 +1,132 @@
+package com.vbatecan.patient_management_system.service;
+
+import com.vbatecan.patient_management_system.model.enums.ReindexState;
+import com.vbatecan.patient_management_system.model.responses.ReindexJobStatus;
+import org.hibernate.search.mapper.pojo.massindexing.MassIndexingMonitor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of one mass indexing run. The mass indexer reports to it from its own threads.
+ */
+final class ReindexJob implements MassIndexingMonitor {
+
+	private final UUID id = UUID.randomUUID();
+	private final List<Class<?>> types;
+	private final Map<Class<?>, LocalDateTime> since;
+	private final LocalDateTime indexedUntil;
+	private final Instant startedAt = Instant.now();
+
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder entitiesLoaded = new LongAdder();
+	private final LongAdder documentsBuilt = new LongAdder();
+	private final LongAdder documentsAdded = new LongAdder();
+	private final LongAdder documentsPurged = new LongAdder();
+
+	private volatile ReindexState state = ReindexState.RUNNING;
+	private volatile Instant finishedAt;
+	private volatile String error;
+
+	/**
+	 * @param since        per type, reindex only rows updated after it. Empty for a full reindex.
+	 * @param indexedUntil the watermark recorded for every type once the job succeeds.
+	 */
+	ReindexJob(List<Class<?>> types, Map<Class<?>, LocalDateTime> since, LocalDateTime indexedUntil) {
+		this.types = List.copyOf(types);
+		this.since = Map.copyOf(since);
+		this.indexedUntil = indexedUntil;
+	}
+
+	UUID id() {
+		return id;
+	}
+
+	List<Class<?>> types() {
+		return types;
+	}
+
+	LocalDateTime indexedUntil() {
+		return indexedUntil;
+	}
+
+	void finish(Throwable failure) {
+		if ( failure != null ) {
+			error = failure.getMessage();
+			state = ReindexState.FAILED;
+		} else {
+			state = ReindexState.COMPLETED;
+		}
+		finishedAt = Instant.now();
+	}
+
+	ReindexJobStatus status() {
+		Instant end = finishedAt != null ? finishedAt : Instant.now();
+		double seconds = Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0;
+		long added = documentsAdded.sum();
+		long total = totalCount.sum();
+		double rate = added / seconds;
+
+		Long eta = null;
+		if ( state == ReindexState.RUNNING && rate > 0 ) {
+			eta = (long) Math.ceil(Math.max(total - added, 0) / rate);
+		}
+
+		Map<String, LocalDateTime> sinceByName = new LinkedHashMap<>();
+		types.stream()
+			.filter(since::containsKey)
+			.forEach(type -> sinceByName.put(type.getSimpleName(), since.get(type)));
+
+		return new ReindexJobStatus(
+			id,
+			types.stream().map(Class::getSimpleName).toList(),
+			state,
+			sinceByName,
+			startedAt,
+			finishedAt,
+			total,
+			entitiesLoaded.sum(),
+			documentsBuilt.sum(),
+			added,
+			documentsPurged.sum(),
+			rate,
+			eta,
+			error
+		);
+	}
+
+	void documentsPurged(long increment) {
+		documentsPurged.add(increment);
+	}
+
+	@Override
+	public void documentsAdded(long increment) {
+		documentsAdded.add(increment);
+	}
+
+	@Override
+	public void documentsBuilt(long increment) {
+		documentsBuilt.add(increment);
+	}
+
+	@Override
+	public void entitiesLoaded(long increment) {
+		entitiesLoaded.add(increment);
+	}
+
+	@Override
+	public void addToTotalCount(long increment) {
+		totalCount.add(increment);
+	}
+
+	@Override
+	public void indexingCompleted() {
+		// Completion is taken from the future returned by the mass indexer, which also carries failures.
+	}
+}
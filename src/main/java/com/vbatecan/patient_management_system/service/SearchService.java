@@ -0,0 +1,255 @@
+package com.vbatecan.patient_management_system.service;
+
+import com.vbatecan.patient_management_system.config.SearchAnalysisConfigurer;
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.enums.Gender;
+import com.vbatecan.patient_management_system.model.projection.AppointmentSearchHit;
+import com.vbatecan.patient_management_system.model.projection.DoctorSearchHit;
+import com.vbatecan.patient_management_system.model.projection.PatientSearchHit;
+import com.vbatecan.patient_management_system.model.responses.FacetedResults;
+import com.vbatecan.patient_management_system.model.responses.SearchResults;
+import com.vbatecan.patient_management_system.model.responses.Suggestions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.hibernate.search.engine.search.aggregation.AggregationKey;
+import org.hibernate.search.engine.search.predicate.SearchPredicate;
+import org.hibernate.search.engine.search.predicate.dsl.BooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.predicate.dsl.PredicateFinalStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.util.common.data.Range;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-text search over the Lucene indexes. Every word of the query must match one of the searched fields, either
+ * exactly, within a few typos, or as the prefix of a word, exact matches ranking first.
+ * <p>
+ * Hits are projected from stored fields, so a result page is served from the index alone. The session used for that
+ * is never enlisted in a transaction, and Hibernate only borrows a JDBC connection when it needs one, which it never
+ * does here.
+ * <p>
+ * Suggestions for typeahead lookups only look up the prefix fields, see {@link SearchAnalysisConfigurer}, and stop
+ * after a small time budget with whatever they found so far.
+ * <p>
+ * Faceted searches return term and range counts over all hits along with a page of them, from the same index query.
+ */
+@Service
+public class SearchService {
+
+	private static final String[] PATIENT_FIELDS = { "firstName", "lastName", "contactNumber", "email" };
+	private static final String[] DOCTOR_FIELDS = { "firstName", "lastName", "specialty", "contactNumber", "email" };
+	private static final String[] APPOINTMENT_FIELDS = { "reason" };
+	private static final String[] NAME_SUGGEST_FIELDS = { "firstName_autocomplete", "lastName_autocomplete" };
+	private static final String PHONE_SUGGEST_FIELD = "contactNumber_autocomplete";
+
+	@PersistenceUnit
+	private EntityManagerFactory entityManagerFactory;
+
+	@Value("${search.max-terms:8}")
+	private int maxTerms;
+
+	@Value("${search.total-hit-count-threshold:1000}")
+	private int totalHitCountThreshold;
+
+	@Value("${search.facets.max-terms:50}")
+	private int facetMaxTerms;
+
+	@Value("${search.suggest.max-results:10}")
+	private int suggestMaxResults;
+
+	@Value("${search.suggest.timeout-ms:50}")
+	private long suggestTimeoutMs;
+
+	public SearchResults<PatientSearchHit> searchPatients(String query, Pageable pageable) throws IllegalArgumentException {
+		return search(Patient.class, PatientSearchHit.class, PATIENT_FIELDS, query, pageable);
+	}
+
+	public SearchResults<DoctorSearchHit> searchDoctors(String query, Pageable pageable) throws IllegalArgumentException {
+		return search(Doctor.class, DoctorSearchHit.class, DOCTOR_FIELDS, query, pageable);
+	}
+
+	public Suggestions<PatientSearchHit> suggestPatients(String query, Integer limit) throws IllegalArgumentException {
+		return suggest(Patient.class, PatientSearchHit.class, query, limit);
+	}
+
+	public Suggestions<DoctorSearchHit> suggestDoctors(String query, Integer limit) throws IllegalArgumentException {
+		return suggest(Doctor.class, DoctorSearchHit.class, query, limit);
+	}
+
+	public FacetedResults<PatientSearchHit> facetPatients(String query, Pageable pageable) {
+		AggregationKey<Map<Gender, Long>> gender = AggregationKey.of("gender");
+		SearchResult<PatientSearchHit> result;
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			result = Search.session(entityManager)
+				.search(Patient.class)
+				.select(PatientSearchHit.class)
+				.where(f -> matching(f, PATIENT_FIELDS, query))
+				.aggregation(gender, f -> f.terms().field("gender", Gender.class))
+				.totalHitCountThreshold(hitCountThreshold(pageable))
+				.fetch((int) pageable.getOffset(), pageable.getPageSize());
+		}
+		return new FacetedResults<>(page(result, pageable), Map.of("gender", labels(result.aggregation(gender))));
+	}
+
+	public FacetedResults<DoctorSearchHit> facetDoctors(String query, Pageable pageable) {
+		AggregationKey<Map<String, Long>> specialty = AggregationKey.of("specialty");
+		SearchResult<DoctorSearchHit> result;
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			result = Search.session(entityManager)
+				.search(Doctor.class)
+				.select(DoctorSearchHit.class)
+				.where(f -> matching(f, DOCTOR_FIELDS, query))
+				.aggregation(specialty, f -> f.terms().field("specialty_facet", String.class).maxTermCount(facetMaxTerms))
+				.totalHitCountThreshold(hitCountThreshold(pageable))
+				.fetch((int) pageable.getOffset(), pageable.getPageSize());
+		}
+		return new FacetedResults<>(page(result, pageable), Map.of("specialty", labels(result.aggregation(specialty))));
+	}
+
+	/**
+	 * Appointment dates are bucketed relative to the current day: before it, on it, within the next seven days, and
+	 * after that.
+	 */
+	public FacetedResults<AppointmentSearchHit> facetAppointments(String query, Pageable pageable) {
+		AggregationKey<Map<String, Long>> status = AggregationKey.of("status");
+		AggregationKey<Map<Range<LocalDateTime>, Long>> appointmentDate = AggregationKey.of("appointmentDate");
+		LocalDateTime today = LocalDate.now().atStartOfDay();
+		Map<String, Range<LocalDateTime>> dateRanges = new LinkedHashMap<>();
+		dateRanges.put("past", Range.canonical(null, today));
+		dateRanges.put("today", Range.canonical(today, today.plusDays(1)));
+		dateRanges.put("next7Days", Range.canonical(today.plusDays(1), today.plusDays(8)));
+		dateRanges.put("later", Range.canonical(today.plusDays(8), null));
+
+		SearchResult<AppointmentSearchHit> result;
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			result = Search.session(entityManager)
+				.search(Appointment.class)
+				.select(AppointmentSearchHit.class)
+				.where(f -> matching(f, APPOINTMENT_FIELDS, query))
+				.aggregation(status, f -> f.terms().field("status", String.class))
+				.aggregation(appointmentDate, f -> f.range().field("appointmentDate", LocalDateTime.class).ranges(dateRanges.values()))
+				.totalHitCountThreshold(hitCountThreshold(pageable))
+				.fetch((int) pageable.getOffset(), pageable.getPageSize());
+		}
+
+		Map<Range<LocalDateTime>, Long> dateCounts = result.aggregation(appointmentDate);
+		Map<String, Long> dates = new LinkedHashMap<>();
+		dateRanges.forEach((label, range) -> dates.put(label, dateCounts.getOrDefault(range, 0L)));
+		return new FacetedResults<>(page(result, pageable), Map.of("status", labels(result.aggregation(status)), "appointmentDate", dates));
+	}
+
+	private <P> SearchResults<P> search(Class<?> type, Class<P> projection, String[] fields, String query, Pageable pageable) {
+		List<String> terms = terms(query);
+
+		SearchResult<P> result;
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			result = Search.session(entityManager)
+				.search(type)
+				.select(projection)
+				.where(f -> f.bool().with(bool -> terms.forEach(term -> bool.must(term(f, fields, term)))))
+				.totalHitCountThreshold(hitCountThreshold(pageable))
+				.fetch((int) pageable.getOffset(), pageable.getPageSize());
+		}
+		return page(result, pageable);
+	}
+
+	// Counting stops at the threshold, but always one past this page so hasNext stays exact.
+	private int hitCountThreshold(Pageable pageable) {
+		return Math.max(totalHitCountThreshold, (int) pageable.getOffset() + pageable.getPageSize() + 1);
+	}
+
+	private static <P> SearchResults<P> page(SearchResult<P> result, Pageable pageable) {
+		long total = result.total().hitCountLowerBound();
+		return new SearchResults<>(
+			result.hits(),
+			pageable.getPageNumber(),
+			pageable.getPageSize(),
+			total > pageable.getOffset() + result.hits().size(),
+			total,
+			result.total().isHitCountExact()
+		);
+	}
+
+	// Terms come back ordered by descending count, which the labels keep.
+	private static Map<String, Long> labels(Map<?, Long> counts) {
+		Map<String, Long> labels = new LinkedHashMap<>();
+		counts.forEach((term, count) -> labels.put(String.valueOf(term), count));
+		return labels;
+	}
+
+	// Facets are also wanted over everything, so unlike search an empty query matches all documents.
+	private PredicateFinalStep matching(SearchPredicateFactory f, String[] fields, String query) {
+		if ( query == null || query.isBlank() ) {
+			return f.matchAll();
+		}
+		List<String> terms = terms(query);
+		return f.bool().with(bool -> terms.forEach(term -> bool.must(term(f, fields, term))));
+	}
+
+	private <P> Suggestions<P> suggest(Class<?> type, Class<P> projection, String query, Integer limit) {
+		List<String> terms = terms(query);
+		int size = limit == null ? suggestMaxResults : Math.max(1, Math.min(limit, suggestMaxResults));
+
+		SearchResult<P> result;
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			// truncateAfter returns the hits collected so far instead of failing like failAfter would.
+			result = Search.session(entityManager)
+				.search(type)
+				.select(projection)
+				.where(f -> f.bool().with(bool -> terms.forEach(term -> bool.must(prefix(f, term)))))
+				.truncateAfter(suggestTimeoutMs, TimeUnit.MILLISECONDS)
+				.totalHitCountThreshold(size)
+				.fetch(size);
+		}
+		return new Suggestions<>(result.hits(), result.timedOut());
+	}
+
+	private static SearchPredicate prefix(SearchPredicateFactory f, String term) {
+		// Names and phone digits use different analyzers, so they cannot share one match predicate.
+		BooleanPredicateClausesStep<?> bool = f.bool()
+			.should(f.match().fields(NAME_SUGGEST_FIELDS).matching(term));
+		if ( term.chars().anyMatch(Character::isDigit) ) {
+			bool.should(f.match().field(PHONE_SUGGEST_FIELD).matching(term));
+		}
+		return bool.toPredicate();
+	}
+
+	private static SearchPredicate term(SearchPredicateFactory f, String[] fields, String term) {
+		BooleanPredicateClausesStep<?> bool = f.bool()
+			.should(f.match().fields(fields).matching(term).boost(3))
+			.should(f.wildcard().fields(fields).matching(term + "*"));
+		// A typo allowance on very short words matches almost anything.
+		if ( term.length() >= 3 ) {
+			bool.should(f.match().fields(fields).matching(term).fuzzy(term.length() > 5 ? 2 : 1, 1));
+		}
+		return bool.toPredicate();
+	}
+
+	private List<String> terms(String query) {
+		List<String> terms = Arrays.stream(query == null ? new String[0] : query.trim().split("\\s+"))
+			// Wildcard syntax in the input would turn prefix matching into an arbitrary pattern.
+			.map(term -> term.replace("*", "").replace("?", "").toLowerCase(Locale.ROOT))
+			.filter(term -> !term.isEmpty())
+			.limit(maxTerms)
+			.toList();
+		if ( terms.isEmpty() ) {
+			throw new IllegalArgumentException("Search query cannot be empty.");
+		}
+		return terms;
+	}
+}
@@ -1,24 +1,37 @@
 package com.vbatecan.patient_management_system.service.impl;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vbatecan.patient_management_system.exception.ConflictException;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.AppointmentMapper;
 import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
+import com.vbatecan.patient_management_system.model.filter.AppointmentFilter;
 import com.vbatecan.patient_management_system.model.input.AppointmentInput;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
 import com.vbatecan.patient_management_system.model.update.AppointmentUpdate;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
 import com.vbatecan.patient_management_system.repository.AppointmentRepository;
 import com.vbatecan.patient_management_system.repository.DoctorRepository;
 import com.vbatecan.patient_management_system.repository.PatientRepository;
+import com.vbatecan.patient_management_system.service.IndexingService;
 import com.vbatecan.patient_management_system.service.interfaces.AppointmentService;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -28,13 +41,20 @@ public class AppointmentServiceImpl implements AppointmentService {
 	private final AppointmentRepository appointmentRepository;
 	private final PatientRepository patientRepository;
 	private final DoctorRepository doctorRepository;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final AppointmentMapper appointmentMapper;
+	private final PageLoader pageLoader;
+	private final IndexingService indexingService;
 
 	@Override
 	@Transactional
 	public Appointment save(AppointmentInput appointmentInput) throws IllegalArgumentException {
-		// TODO: Implement by creating Input class
-		Appointment appointment = mapper.convertValue(appointmentInput, Appointment.class);
+		Appointment appointment = appointmentMapper.toEntity(appointmentInput);
+		if ( appointmentInput.getPatient() != null && appointmentInput.getPatient().getId() != null ) {
+			appointment.setPatient(patientRepository.getReferenceById(appointmentInput.getPatient().getId()));
+		}
+		if ( appointmentInput.getDoctor() != null && appointmentInput.getDoctor().getId() != null ) {
+			appointment.setDoctor(doctorRepository.getReferenceById(appointmentInput.getDoctor().getId()));
+		}
 
 		// TODO: The doctor is the currently logged in user.
 //		appointment.setDoctor(securityContext.getUserPrincipal().getDoctor())
@@ -49,55 +69,103 @@ public class AppointmentServiceImpl implements AppointmentService {
 	}
 
 	@Override
-	public Page<Appointment> findAll(Pageable pageable) {
-		return appointmentRepository.findAll(pageable);
+	public Optional<EntityVersion> findVersion(Integer id) {
+		return appointmentRepository.findVersion(id, "patient", "patient.userAccount", "doctor", "doctor.userAccount");
+	}
+
+	@Override
+	public Slice<Appointment> findAll(Pageable pageable, TotalCount totalCount) {
+		return pageLoader.load(appointmentRepository, null, "appointment", pageable, totalCount);
 	}
 
 	@Override
-	public Page<Appointment> findByPatientId(Integer patientId, Pageable pageable) throws ResourceNotFoundException {
+	public Window<Appointment> scroll(ScrollPosition position, Limit limit, Sort sort) {
+		return appointmentRepository.findAllBy(position, limit, sort);
+	}
+
+	@Override
+	public Slice<Appointment> findByPatientId(Integer patientId, Pageable pageable, TotalCount totalCount) throws ResourceNotFoundException {
 		if ( !patientRepository.existsById(patientId) ) {
 			throw new ResourceNotFoundException("Patient not found with id: " + patientId);
 		}
-		return appointmentRepository.findByPatientId(patientId, pageable);
+		return pageLoader.load(appointmentRepository, AppointmentRepository.byPatientId(patientId), "appointment:patient=" + patientId, pageable, totalCount);
 	}
 
 	@Override
-	public Page<Appointment> findByDoctorId(Integer doctorId, Pageable pageable) throws ResourceNotFoundException {
+	public Slice<Appointment> findByDoctorId(Integer doctorId, Pageable pageable, TotalCount totalCount) throws ResourceNotFoundException {
 		if ( !doctorRepository.existsById(doctorId) ) {
 			throw new ResourceNotFoundException("Doctor not found with id: " + doctorId);
 		}
-		return appointmentRepository.findByDoctorId(doctorId, pageable);
+		return pageLoader.load(appointmentRepository, AppointmentRepository.byDoctorId(doctorId), "appointment:doctor=" + doctorId, pageable, totalCount);
 	}
 
 	@Override
 	@Transactional
-	public Appointment update(Integer id, AppointmentUpdate appointmentUpdate) throws ResourceNotFoundException, JsonMappingException {
+	public Appointment update(Integer id, AppointmentUpdate appointmentUpdate) throws ResourceNotFoundException {
 		// TODO: Appointment can only be updated by doctor of the patient.
 		Appointment appointment = appointmentRepository.findById(id)
 			.orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + id));
 
-		Appointment updatedAppointment = mapper.updateValue(appointment, appointmentUpdate);
-		updatedAppointment.setUpdatedAt(LocalDateTime.now());
-		return appointmentRepository.save(updatedAppointment);
+		appointmentMapper.update(appointmentUpdate, appointment);
+		if ( appointmentUpdate.getPatient() != null && appointmentUpdate.getPatient().getId() != null ) {
+			appointment.setPatient(patientRepository.getReferenceById(appointmentUpdate.getPatient().getId()));
+		}
+		if ( appointmentUpdate.getDoctor() != null && appointmentUpdate.getDoctor().getId() != null ) {
+			appointment.setDoctor(doctorRepository.getReferenceById(appointmentUpdate.getDoctor().getId()));
+		}
+		appointment.setUpdatedAt(LocalDateTime.now());
+		return appointmentRepository.save(appointment);
+	}
+
+	@Override
+	@Transactional
+	public Appointment updateAppointmentStatus(Integer id, AppointmentStatus status) throws IllegalArgumentException, ResourceNotFoundException, ConflictException {
+		Set<AppointmentStatus> sources = AppointmentStatus.sourcesOf(status);
+		if ( sources.isEmpty() ) {
+			throw new IllegalArgumentException("No appointment can be moved to " + status);
+		}
+
+		Appointment appointment = appointmentRepository.updateStatus(id, status.name(), sources.stream().map(Enum::name).toList(), LocalDateTime.now())
+			.orElseThrow(() -> {
+				// Only a refused update pays for the second query telling a missing row from a disallowed transition.
+				if ( appointmentRepository.existsById(id) ) {
+					return new ConflictException("Appointment " + id + " cannot be moved to " + status + " from its current status");
+				}
+				return new ResourceNotFoundException("Appointment not found with id: " + id);
+			});
+		// The status is an indexed field.
+		indexingService.reindex(appointment);
+		return appointment;
 	}
 
 	@Override
 	@Transactional
-	public Appointment updateAppointmentStatus(Integer id, String status) throws ResourceNotFoundException {
-		Appointment existingAppointment = appointmentRepository.findById(id)
-			.orElseThrow(() -> new ResourceNotFoundException("Appointment not found with id: " + id));
-		existingAppointment.setStatus(status);
-		existingAppointment.setUpdatedAt(LocalDateTime.now());
-		return appointmentRepository.save(existingAppointment);
+	public int updateStatuses(AppointmentFilter filter, AppointmentStatus status) throws IllegalArgumentException {
+		Set<AppointmentStatus> sources = AppointmentStatus.sourcesOf(status);
+		if ( sources.isEmpty() ) {
+			throw new IllegalArgumentException("No appointment can be moved to " + status);
+		}
+		AppointmentStatus current = FilterSpecification.enumValue(AppointmentStatus.class, filter.getStatus());
+		if ( current != null ) {
+			if ( !sources.contains(current) ) {
+				throw new IllegalArgumentException("Cannot move appointments from " + current + " to " + status);
+			}
+			sources = Set.of(current);
+		}
+
+		List<Integer> updated = appointmentRepository.updateStatuses(filter, sources, status, LocalDateTime.now());
+		// The status is an indexed field.
+		indexingService.reindex(Appointment.class, updated);
+		return updated.size();
 	}
 
 
 	@Override
 	@Transactional
 	public void delete(Integer id) throws ResourceNotFoundException {
-		if ( !appointmentRepository.existsById(id) ) {
+		if ( appointmentRepository.deleteDirectlyById(id) == 0 ) {
 			throw new ResourceNotFoundException("Appointment not found with id: " + id);
 		}
-		appointmentRepository.deleteById(id);
+		indexingService.purge(Appointment.class, id);
 	}
 }
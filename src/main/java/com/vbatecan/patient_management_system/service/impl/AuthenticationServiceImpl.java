@@ -1,20 +1,25 @@
 package com.vbatecan.patient_management_system.service.impl;
 
+import com.vbatecan.patient_management_system.exception.ServiceBusyException;
 import com.vbatecan.patient_management_system.model.dto.UserAccountDTO;
 import com.vbatecan.patient_management_system.model.entities.UserAccount;
 import com.vbatecan.patient_management_system.model.input.AuthenticationInput;
 import com.vbatecan.patient_management_system.model.responses.SuccessfulLoginResponse;
 import com.vbatecan.patient_management_system.security.JwtService;
+import com.vbatecan.patient_management_system.security.PasswordHasher;
+import com.vbatecan.patient_management_system.security.TokenRevocationList;
+import com.vbatecan.patient_management_system.security.VerifiedToken;
 import com.vbatecan.patient_management_system.service.interfaces.AuthenticationService;
 import com.vbatecan.patient_management_system.service.interfaces.UserAccountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -23,24 +28,53 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
 	private final UserAccountService userService;
 	private final JwtService jwtService;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
+	private final TokenRevocationList tokenRevocationList;
+	// Resolved by name, the scheduler is a TaskExecutor too
+	private final TaskExecutor applicationTaskExecutor;
 
 	@Override
-	public Optional<SuccessfulLoginResponse> login(AuthenticationInput input) throws UsernameNotFoundException {
+	public CompletableFuture<Optional<SuccessfulLoginResponse>> login(AuthenticationInput input) throws UsernameNotFoundException, ServiceBusyException {
 		UserAccount account = userService.findByUsername(input.getUsername())
 			.orElseThrow(
 				() -> new UsernameNotFoundException(String.format("Username %s not found", input.getUsername()))
 			);
 
-		try {
-			if ( account.getPassword() != null && passwordEncoder.matches(input.getPassword(), account.getPassword()) ) {
+		if ( account.getPassword() == null ) {
+			return CompletableFuture.completedFuture(Optional.empty());
+		}
+
+		return passwordHasher.matchesAsync(input.getPassword(), account.getPassword()).thenApply(matches -> {
+			if ( !matches ) {
+				return Optional.empty();
+			}
+
+			rehashIfNeeded(account, input.getPassword());
+			try {
 				String token = jwtService.generateToken(account);
 				return Optional.of(new SuccessfulLoginResponse(token, account.getUsername(), account.getRole()));
+			} catch ( ClassCastException e ) {
+				throw new RuntimeException("Failed to generate token, user details is invalid.");
 			}
+		});
+	}
+
+	private void rehashIfNeeded(UserAccount account, String rawPassword) {
+		if ( !passwordHasher.upgradeEncoding(account.getPassword()) ) {
+			return;
+		}
 
-			return Optional.empty();
-		} catch ( ClassCastException e ) {
-			throw new RuntimeException("Failed to generate token, user details is invalid.");
+		try {
+			passwordHasher.encodeAsync(rawPassword)
+				// The write goes to the application executor so that a hashing thread never waits on the database
+				.thenAcceptAsync(passwordHash -> userService.updatePasswordHash(account.getId(), passwordHash), applicationTaskExecutor)
+				.exceptionally(e -> {
+					log.warn("Failed to rehash the password of {}", account.getUsername(), e);
+					return null;
+				});
+		} catch ( ServiceBusyException e ) {
+			// Not worth failing the login for, the password is rehashed on a later login instead.
+			log.debug("Skipped rehashing the password of {}, hashing pool is saturated", account.getUsername());
 		}
 	}
 
@@ -53,4 +87,22 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 			return false;
 		}
 	}
+
+	@Override
+	public void logout(Authentication authentication) {
+		if ( authentication != null && authentication.getCredentials() instanceof VerifiedToken verifiedToken ) {
+			tokenRevocationList.revoke(verifiedToken);
+		}
+	}
+
+	@Override
+	public boolean revoke(String token) {
+		return jwtService.verify(token)
+			.filter(verifiedToken -> verifiedToken.tokenId() != null)
+			.map(verifiedToken -> {
+				tokenRevocationList.revoke(verifiedToken);
+				return true;
+			})
+			.orElse(false);
+	}
 }
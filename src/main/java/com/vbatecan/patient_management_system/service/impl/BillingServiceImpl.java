@@ -1,24 +1,37 @@
 package com.vbatecan.patient_management_system.service.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vbatecan.patient_management_system.exception.ConflictException;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.BillingMapper;
 import com.vbatecan.patient_management_system.model.dto.BillingDTO;
 import com.vbatecan.patient_management_system.model.entities.Appointment;
 import com.vbatecan.patient_management_system.model.entities.Billing;
+import com.vbatecan.patient_management_system.model.enums.BillingStatus;
+import com.vbatecan.patient_management_system.model.filter.BillingFilter;
 import com.vbatecan.patient_management_system.model.entities.Patient;
 import com.vbatecan.patient_management_system.model.input.BillingInput;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
 import com.vbatecan.patient_management_system.repository.AppointmentRepository;
 import com.vbatecan.patient_management_system.repository.BillingRepository;
 import com.vbatecan.patient_management_system.repository.PatientRepository;
+import com.vbatecan.patient_management_system.service.IndexingService;
 import com.vbatecan.patient_management_system.service.interfaces.BillingService;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -27,17 +40,22 @@ public class BillingServiceImpl implements BillingService {
 	private final BillingRepository billingRepository;
 	private final PatientRepository patientRepository;
 	private final AppointmentRepository appointmentRepository;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final BillingMapper billingMapper;
+	private final PageLoader pageLoader;
+	private final IndexingService indexingService;
 
 	@Override
 	@Transactional
 	public Billing save(BillingInput billingInput) {
-		Billing billing = mapper.convertValue(billingInput, Billing.class);
+		Billing billing = billingMapper.toEntity(billingInput);
+		if ( billingInput.getPatient() != null && billingInput.getPatient().getId() != null ) {
+			billing.setPatient(patientRepository.getReferenceById(billingInput.getPatient().getId()));
+		}
+		if ( billingInput.getAppointment() != null && billingInput.getAppointment().getId() != null ) {
+			billing.setAppointment(appointmentRepository.getReferenceById(billingInput.getAppointment().getId()));
+		}
 		billing.setCreatedAt(LocalDateTime.now());
 		billing.setUpdatedAt(LocalDateTime.now());
-		if ( billingInput.getStatus() != null ) {
-			billing.setStatus(billingInput.getStatus());
-		}
 		return billingRepository.save(billing);
 	}
 
@@ -47,24 +65,34 @@ public class BillingServiceImpl implements BillingService {
 	}
 
 	@Override
-	public Page<Billing> findAll(Pageable pageable) {
-		return billingRepository.findAll(pageable);
+	public Optional<EntityVersion> findVersion(Integer id) {
+		return billingRepository.findVersion(id);
+	}
+
+	@Override
+	public Slice<Billing> findAll(Pageable pageable, TotalCount totalCount) {
+		return pageLoader.load(billingRepository, null, "billing", pageable, totalCount);
 	}
 
 	@Override
-	public Page<Billing> findByPatientId(Integer patientId, Pageable pageable) {
+	public Window<Billing> scroll(ScrollPosition position, Limit limit, Sort sort) {
+		return billingRepository.findAllBy(position, limit, sort);
+	}
+
+	@Override
+	public Slice<Billing> findByPatientId(Integer patientId, Pageable pageable, TotalCount totalCount) {
 		if ( !patientRepository.existsById(patientId) ) {
 			throw new ResourceNotFoundException("Patient not found with id: " + patientId);
 		}
-		return billingRepository.findByPatientId(patientId, pageable);
+		return pageLoader.load(billingRepository, BillingRepository.byPatientId(patientId), "billing:patient=" + patientId, pageable, totalCount);
 	}
 
 	@Override
-	public Page<Billing> findByAppointmentId(Integer appointmentId, Pageable pageable) {
+	public Slice<Billing> findByAppointmentId(Integer appointmentId, Pageable pageable, TotalCount totalCount) {
 		if ( !appointmentRepository.existsById(appointmentId) ) {
 			throw new ResourceNotFoundException("Appointment not found with id: " + appointmentId);
 		}
-		return billingRepository.findByAppointmentId(appointmentId, pageable);
+		return pageLoader.load(billingRepository, BillingRepository.byAppointmentId(appointmentId), "billing:appointment=" + appointmentId, pageable, totalCount);
 	}
 
 	@Override
@@ -84,11 +112,7 @@ public class BillingServiceImpl implements BillingService {
 			existingBilling.setAppointment(appointment);
 		}
 
-		existingBilling.setAmount(billingDTO.getAmount());
-		if ( billingDTO.getStatus() != null ) {
-			existingBilling.setStatus(billingDTO.getStatus());
-		}
-		existingBilling.setBillingDate(billingDTO.getBillingDate());
+		billingMapper.update(billingDTO, existingBilling);
 		existingBilling.setUpdatedAt(LocalDateTime.now());
 
 		return billingRepository.save(existingBilling);
@@ -96,20 +120,48 @@ public class BillingServiceImpl implements BillingService {
 
 	@Override
 	@Transactional
-	public Billing updateBillingStatus(Integer id, String status) {
-		Billing existingBilling = billingRepository.findById(id)
-			.orElseThrow(() -> new ResourceNotFoundException("Billing not found with id: " + id));
-		existingBilling.setStatus(status);
-		existingBilling.setUpdatedAt(LocalDateTime.now());
-		return billingRepository.save(existingBilling);
+	public Billing updateBillingStatus(Integer id, BillingStatus status) throws IllegalArgumentException, ResourceNotFoundException, ConflictException {
+		Set<BillingStatus> sources = BillingStatus.sourcesOf(status);
+		if ( sources.isEmpty() ) {
+			throw new IllegalArgumentException("No billing can be moved to " + status);
+		}
+
+		// Neither the status nor updatedAt are indexed, so the search index needs no update.
+		return billingRepository.updateStatus(id, status.name(), sources.stream().map(Enum::name).toList(), LocalDateTime.now())
+			.orElseThrow(() -> {
+				// Only a refused update pays for the second query telling a missing row from a disallowed transition.
+				if ( billingRepository.existsById(id) ) {
+					return new ConflictException("Billing " + id + " cannot be moved to " + status + " from its current status");
+				}
+				return new ResourceNotFoundException("Billing not found with id: " + id);
+			});
+	}
+
+	@Override
+	@Transactional
+	public int updateStatuses(BillingFilter filter, BillingStatus status) throws IllegalArgumentException {
+		Set<BillingStatus> sources = BillingStatus.sourcesOf(status);
+		if ( sources.isEmpty() ) {
+			throw new IllegalArgumentException("No billing can be moved to " + status);
+		}
+		BillingStatus current = FilterSpecification.enumValue(BillingStatus.class, filter.getStatus());
+		if ( current != null ) {
+			if ( !sources.contains(current) ) {
+				throw new IllegalArgumentException("Cannot move billings from " + current + " to " + status);
+			}
+			sources = Set.of(current);
+		}
+
+		// As with a single status update, nothing that changes here is indexed.
+		return billingRepository.updateStatuses(filter, sources, status, LocalDateTime.now());
 	}
 
 	@Override
 	@Transactional
 	public void delete(Integer id) {
-		if ( !billingRepository.existsById(id) ) {
+		if ( billingRepository.deleteDirectlyById(id) == 0 ) {
 			throw new ResourceNotFoundException("Billing not found with id: " + id);
 		}
-		billingRepository.deleteById(id);
+		indexingService.purge(Billing.class, id);
 	}
 }
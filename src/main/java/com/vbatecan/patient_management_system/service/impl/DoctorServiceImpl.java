@@ -1,18 +1,26 @@
 package com.vbatecan.patient_management_system.service.impl;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.vbatecan.patient_management_system.model.enums.Role;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.DoctorMapper;
 import com.vbatecan.patient_management_system.model.dto.DoctorDTO;
 import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.entities.UserAccount;
+import com.vbatecan.patient_management_system.model.enums.Role;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
 import com.vbatecan.patient_management_system.model.update.DoctorUpdate;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
 import com.vbatecan.patient_management_system.repository.DoctorRepository;
 import com.vbatecan.patient_management_system.repository.UserAccountRepository;
+import com.vbatecan.patient_management_system.service.IndexingService;
 import com.vbatecan.patient_management_system.service.interfaces.DoctorService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,18 +34,27 @@ public class DoctorServiceImpl implements DoctorService {
 
 	private final DoctorRepository doctorRepository;
 	private final UserAccountRepository userAccountRepository;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final DoctorMapper doctorMapper;
+	private final PageLoader pageLoader;
+	private final IndexingService indexingService;
 
 	@Override
 	@Transactional
 	public Doctor save(DoctorDTO doctorDTO) throws IllegalArgumentException {
-		Doctor doctor = mapper.convertValue(doctorDTO, Doctor.class);
+		if ( doctorDTO.getUserAccount() == null || doctorDTO.getUserAccount().getId() == null ) {
+			throw new IllegalArgumentException("UserAccount is required for Doctor.");
+		}
+		UserAccount userAccount = userAccountRepository.findById(doctorDTO.getUserAccount().getId())
+			.orElseThrow(() -> new ResourceNotFoundException("User account not found with id: " + doctorDTO.getUserAccount().getId()));
 
 		// Ensure the associated UserAccount has the DOCTOR role
-		if ( doctor.getUserAccount().getRole() != Role.DOCTOR ) {
+		if ( userAccount.getRole() != Role.DOCTOR ) {
 			throw new IllegalArgumentException("UserAccount provided for Doctor must have DOCTOR role.");
 		}
 
+		Doctor doctor = doctorMapper.toEntity(doctorDTO);
+		doctor.setUserAccount(userAccount);
+
 		doctor.setCreatedAt(LocalDateTime.now());
 		doctor.setUpdatedAt(LocalDateTime.now());
 		return doctorRepository.save(doctor);
@@ -48,6 +65,11 @@ public class DoctorServiceImpl implements DoctorService {
 		return doctorRepository.findById(id);
 	}
 
+	@Override
+	public Optional<EntityVersion> findVersion(Integer id) {
+		return doctorRepository.findVersion(id, "userAccount");
+	}
+
 	@Override
 	public Optional<Doctor> findByUserAccountId(Integer userAccountId) {
 		return doctorRepository.findByUserAccountId(userAccountId);
@@ -60,29 +82,37 @@ public class DoctorServiceImpl implements DoctorService {
 
 
 	@Override
-	public Page<Doctor> findAll(Pageable pageable) {
-		return doctorRepository.findAll(pageable);
+	public Slice<Doctor> findAll(Pageable pageable, TotalCount totalCount) {
+		return pageLoader.load(doctorRepository, null, "doctor", pageable, totalCount);
+	}
+
+	@Override
+	public Window<Doctor> scroll(ScrollPosition position, Limit limit, Sort sort) {
+		return doctorRepository.findAllBy(position, limit, sort);
 	}
 
 	@Override
 	@Transactional
-	public Doctor update(Integer id, DoctorUpdate doctorUpdate) throws ResourceNotFoundException, JsonMappingException {
+	public Doctor update(Integer id, DoctorUpdate doctorUpdate) throws ResourceNotFoundException {
 		Doctor existingDoctor = doctorRepository.findById(id)
 			.orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + id));
 
 		// TODO: Doctor can only update themselves or the administrator.
-		Doctor updatedDoctor = mapper.updateValue(existingDoctor, doctorUpdate);
-		updatedDoctor.setUpdatedAt(LocalDateTime.now());
-		return doctorRepository.save(updatedDoctor);
+		doctorMapper.update(doctorUpdate, existingDoctor);
+		if ( doctorUpdate.getUserAccount() != null && doctorUpdate.getUserAccount().getId() != null ) {
+			existingDoctor.setUserAccount(userAccountRepository.getReferenceById(doctorUpdate.getUserAccount().getId()));
+		}
+		existingDoctor.setUpdatedAt(LocalDateTime.now());
+		return doctorRepository.save(existingDoctor);
 	}
 
 	@Override
 	@Transactional
 	@Async
 	public void delete(Integer id) {
-		if ( !doctorRepository.existsById(id) ) {
+		if ( doctorRepository.deleteDirectlyById(id) == 0 ) {
 			throw new ResourceNotFoundException("Doctor not found with id: " + id);
 		}
-		doctorRepository.deleteById(id);
+		indexingService.purge(Doctor.class, id);
 	}
 }
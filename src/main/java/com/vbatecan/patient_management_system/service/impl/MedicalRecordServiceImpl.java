@@ -1,16 +1,24 @@
 package com.vbatecan.patient_management_system.service.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.MedicalRecordMapper;
 import com.vbatecan.patient_management_system.model.dto.MedicalRecordDTO;
 import com.vbatecan.patient_management_system.model.entities.MedicalRecord;
 import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
 import com.vbatecan.patient_management_system.repository.MedicalRecordRepository;
 import com.vbatecan.patient_management_system.repository.PatientRepository;
+import com.vbatecan.patient_management_system.service.IndexingService;
 import com.vbatecan.patient_management_system.service.interfaces.MedicalRecordService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,12 +31,17 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
 
 	private final MedicalRecordRepository medicalRecordRepository;
 	private final PatientRepository patientRepository;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final MedicalRecordMapper medicalRecordMapper;
+	private final PageLoader pageLoader;
+	private final IndexingService indexingService;
 
 	@Override
 	@Transactional
 	public MedicalRecord save(MedicalRecordDTO medicalRecordDTO) {
-		MedicalRecord medicalRecord = mapper.convertValue(medicalRecordDTO, MedicalRecord.class);
+		MedicalRecord medicalRecord = medicalRecordMapper.toEntity(medicalRecordDTO);
+		if ( medicalRecordDTO.getPatientId() != null ) {
+			medicalRecord.setPatient(patientRepository.getReferenceById(medicalRecordDTO.getPatientId()));
+		}
 		medicalRecord.setCreatedAt(LocalDateTime.now());
 		medicalRecord.setUpdatedAt(LocalDateTime.now());
 		return medicalRecordRepository.save(medicalRecord);
@@ -40,28 +53,35 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
 	}
 
 	@Override
-	public Page<MedicalRecord> findAll(Pageable pageable) {
-		return medicalRecordRepository.findAll(pageable);
+	public Optional<EntityVersion> findVersion(Integer id) {
+		return medicalRecordRepository.findVersion(id);
+	}
+
+	@Override
+	public Slice<MedicalRecord> findAll(Pageable pageable, TotalCount totalCount) {
+		return pageLoader.load(medicalRecordRepository, null, "medical_record", pageable, totalCount);
+	}
+
+	@Override
+	public Window<MedicalRecord> scroll(ScrollPosition position, Limit limit, Sort sort) {
+		return medicalRecordRepository.findAllBy(position, limit, sort);
 	}
 
 	@Override
-	public Page<MedicalRecord> findByPatientId(Integer patientId, Pageable pageable) {
+	public Slice<MedicalRecord> findByPatientId(Integer patientId, Pageable pageable, TotalCount totalCount) {
 		if ( !patientRepository.existsById(patientId) ) {
 			throw new ResourceNotFoundException("Patient not found with id: " + patientId);
 		}
-		return medicalRecordRepository.findByPatientId(patientId, pageable);
+		return pageLoader.load(medicalRecordRepository, MedicalRecordRepository.byPatientId(patientId), "medical_record:patient=" + patientId, pageable, totalCount);
 	}
 
 	@Override
 	@Transactional
 	public MedicalRecord update(Integer id, MedicalRecordDTO medicalRecordDTO) {
-		// TODO: use mapper updateValue function.
 		MedicalRecord existingMedicalRecord = medicalRecordRepository.findById(id)
 			.orElseThrow(() -> new ResourceNotFoundException("MedicalRecord not found with id: " + id));
 
-		existingMedicalRecord.setRecordDate(medicalRecordDTO.getRecordDate());
-		existingMedicalRecord.setDescription(medicalRecordDTO.getDescription());
-		existingMedicalRecord.setFilePath(medicalRecordDTO.getFilePath());
+		medicalRecordMapper.update(medicalRecordDTO, existingMedicalRecord);
 		existingMedicalRecord.setUpdatedAt(LocalDateTime.now());
 
 		if ( medicalRecordDTO.getPatientId() != null ) {
@@ -81,9 +101,9 @@ public class MedicalRecordServiceImpl implements MedicalRecordService {
 	@Override
 	@Transactional
 	public void delete(Integer id) {
-		if ( !medicalRecordRepository.existsById(id) ) {
+		if ( medicalRecordRepository.deleteDirectlyById(id) == 0 ) {
 			throw new ResourceNotFoundException("MedicalRecord not found with id: " + id);
 		}
-		medicalRecordRepository.deleteById(id);
+		indexingService.purge(MedicalRecord.class, id);
 	}
 }
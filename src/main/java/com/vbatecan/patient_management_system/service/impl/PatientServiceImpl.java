@@ -1,15 +1,23 @@
 package com.vbatecan.patient_management_system.service.impl;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.PatientMapper;
 import com.vbatecan.patient_management_system.model.dto.PatientDTO;
 import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
 import com.vbatecan.patient_management_system.repository.PatientRepository;
+import com.vbatecan.patient_management_system.repository.UserAccountRepository;
+import com.vbatecan.patient_management_system.service.IndexingService;
 import com.vbatecan.patient_management_system.service.interfaces.PatientService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,12 +29,18 @@ import java.util.Optional;
 public class PatientServiceImpl implements PatientService {
 
 	private final PatientRepository patientRepository;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final UserAccountRepository userAccountRepository;
+	private final PatientMapper patientMapper;
+	private final PageLoader pageLoader;
+	private final IndexingService indexingService;
 
 	@Override
 	@Transactional
 	public Optional<Patient> save(PatientDTO patientDTO) {
-		Patient patient = mapper.convertValue(patientDTO, Patient.class);
+		Patient patient = patientMapper.toEntity(patientDTO);
+		if ( patientDTO.getUserAccount() != null && patientDTO.getUserAccount().getId() != null ) {
+			patient.setUserAccount(userAccountRepository.getReferenceById(patientDTO.getUserAccount().getId()));
+		}
 		patient.setCreatedAt(LocalDateTime.now());
 		patient.setUpdatedAt(LocalDateTime.now());
 		return Optional.of(patientRepository.save(patient));
@@ -38,26 +52,40 @@ public class PatientServiceImpl implements PatientService {
 	}
 
 	@Override
-	public Page<Patient> findAll(Pageable pageable) {
-		return patientRepository.findAll(pageable);
+	public Optional<EntityVersion> findVersion(Integer id) {
+		return patientRepository.findVersion(id, "userAccount");
+	}
+
+	@Override
+	public Slice<Patient> findAll(Pageable pageable, TotalCount totalCount) {
+		return pageLoader.load(patientRepository, null, "patient", pageable, totalCount);
+	}
+
+	@Override
+	public Window<Patient> scroll(ScrollPosition position, Limit limit, Sort sort) {
+		return patientRepository.findAllBy(position, limit, sort);
 	}
 
 	@Override
 	@Transactional
-	public Optional<Patient> update(Integer id, PatientDTO patientDTO) throws ResourceNotFoundException, JsonMappingException {
+	public Optional<Patient> update(Integer id, PatientDTO patientDTO) throws ResourceNotFoundException, IllegalArgumentException {
 		Patient existingPatient = patientRepository.findById(id)
 			.orElseThrow(() -> new ResourceNotFoundException("Patient not found with id: " + id));
 
-		Patient updatedPatient = mapper.updateValue(existingPatient, patientDTO);
-		return Optional.of(patientRepository.save(updatedPatient));
+		patientMapper.update(patientDTO, existingPatient);
+		if ( patientDTO.getUserAccount() != null && patientDTO.getUserAccount().getId() != null ) {
+			existingPatient.setUserAccount(userAccountRepository.getReferenceById(patientDTO.getUserAccount().getId()));
+		}
+		existingPatient.setUpdatedAt(LocalDateTime.now());
+		return Optional.of(patientRepository.save(existingPatient));
 	}
 
 	@Override
 	@Transactional
 	public void delete(Integer id) {
-		if ( !patientRepository.existsById(id) ) {
+		if ( patientRepository.deleteDirectlyById(id) == 0 ) {
 			throw new ResourceNotFoundException("Patient not found with id: " + id);
 		}
-		patientRepository.deleteById(id);
+		indexingService.purge(Patient.class, id);
 	}
 }
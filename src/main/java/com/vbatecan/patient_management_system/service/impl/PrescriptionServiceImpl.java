@@ -1,16 +1,24 @@
 package com.vbatecan.patient_management_system.service.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
+import com.vbatecan.patient_management_system.mapper.PrescriptionMapper;
 import com.vbatecan.patient_management_system.model.dto.PrescriptionDTO;
 import com.vbatecan.patient_management_system.model.entities.Appointment;
 import com.vbatecan.patient_management_system.model.entities.Prescription;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
 import com.vbatecan.patient_management_system.repository.AppointmentRepository;
 import com.vbatecan.patient_management_system.repository.PrescriptionRepository;
+import com.vbatecan.patient_management_system.service.IndexingService;
 import com.vbatecan.patient_management_system.service.interfaces.PrescriptionService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,12 +31,17 @@ public class PrescriptionServiceImpl implements PrescriptionService {
 
 	private final PrescriptionRepository prescriptionRepository;
 	private final AppointmentRepository appointmentRepository;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final PrescriptionMapper prescriptionMapper;
+	private final PageLoader pageLoader;
+	private final IndexingService indexingService;
 
 	@Override
 	@Transactional
 	public Prescription save(PrescriptionDTO prescriptionDTO) {
-		Prescription prescription = mapper.convertValue(prescriptionDTO, Prescription.class);
+		Prescription prescription = prescriptionMapper.toEntity(prescriptionDTO);
+		if ( prescriptionDTO.getAppointment() != null && prescriptionDTO.getAppointment().getId() != null ) {
+			prescription.setAppointment(appointmentRepository.getReferenceById(prescriptionDTO.getAppointment().getId()));
+		}
 		prescription.setCreatedAt(LocalDateTime.now());
 		prescription.setUpdatedAt(LocalDateTime.now());
 		return prescriptionRepository.save(prescription);
@@ -40,16 +53,26 @@ public class PrescriptionServiceImpl implements PrescriptionService {
 	}
 
 	@Override
-	public Page<Prescription> findAll(Pageable pageable) {
-		return prescriptionRepository.findAll(pageable);
+	public Optional<EntityVersion> findVersion(Integer id) {
+		return prescriptionRepository.findVersion(id, "appointment", "appointment.patient", "appointment.patient.userAccount", "appointment.doctor", "appointment.doctor.userAccount");
+	}
+
+	@Override
+	public Slice<Prescription> findAll(Pageable pageable, TotalCount totalCount) {
+		return pageLoader.load(prescriptionRepository, null, "prescription", pageable, totalCount);
+	}
+
+	@Override
+	public Window<Prescription> scroll(ScrollPosition position, Limit limit, Sort sort) {
+		return prescriptionRepository.findAllBy(position, limit, sort);
 	}
 
 	@Override
-	public Page<Prescription> findByAppointmentId(Integer appointmentId, Pageable pageable) {
+	public Slice<Prescription> findByAppointmentId(Integer appointmentId, Pageable pageable, TotalCount totalCount) {
 		if ( !appointmentRepository.existsById(appointmentId) ) {
 			throw new ResourceNotFoundException("Appointment not found with id: " + appointmentId);
 		}
-		return prescriptionRepository.findByAppointmentId(appointmentId, pageable);
+		return pageLoader.load(prescriptionRepository, PrescriptionRepository.byAppointmentId(appointmentId), "prescription:appointment=" + appointmentId, pageable, totalCount);
 	}
 
 	@Override
@@ -66,9 +89,7 @@ public class PrescriptionServiceImpl implements PrescriptionService {
 			throw new IllegalArgumentException("AppointmentId cannot be null when updating a Prescription.");
 		}
 
-		existingPrescription.setMedication(prescriptionDTO.getMedication());
-		existingPrescription.setDosage(prescriptionDTO.getDosage());
-		existingPrescription.setInstructions(prescriptionDTO.getInstructions());
+		prescriptionMapper.update(prescriptionDTO, existingPrescription);
 		existingPrescription.setUpdatedAt(LocalDateTime.now());
 
 		return prescriptionRepository.save(existingPrescription);
@@ -77,9 +98,9 @@ public class PrescriptionServiceImpl implements PrescriptionService {
 	@Override
 	@Transactional
 	public void delete(Integer id) {
-		if ( !prescriptionRepository.existsById(id) ) {
+		if ( prescriptionRepository.deleteDirectlyById(id) == 0 ) {
 			throw new ResourceNotFoundException("Prescription not found with id: " + id);
 		}
-		prescriptionRepository.deleteById(id);
+		indexingService.purge(Prescription.class, id);
 	}
 }
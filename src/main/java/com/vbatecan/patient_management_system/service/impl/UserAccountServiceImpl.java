@@ -3,13 +3,20 @@ package com.vbatecan.patient_management_system.service.impl;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
 import com.vbatecan.patient_management_system.model.entities.UserAccount;
 import com.vbatecan.patient_management_system.model.input.UserAccountInput;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
 import com.vbatecan.patient_management_system.repository.UserAccountRepository;
+import com.vbatecan.patient_management_system.security.PrincipalCache;
+import com.vbatecan.patient_management_system.service.IndexingService;
 import com.vbatecan.patient_management_system.service.interfaces.UserAccountService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,24 +28,26 @@ import java.util.Optional;
 public class UserAccountServiceImpl implements UserAccountService {
 
 	private final UserAccountRepository userAccountRepository;
-	private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+	private final PrincipalCache principalCache;
+	private final PageLoader pageLoader;
+	private final IndexingService indexingService;
 
 	@Override
 	@Transactional
-	public Optional<UserAccount> save(UserAccountInput input) throws IllegalArgumentException {
+	public Optional<UserAccount> save(UserAccountInput input, String passwordHash) throws IllegalArgumentException {
+		if ( userAccountRepository.existsByUsername(input.getUsername()) ) {
+			return Optional.empty();
+		}
+
 		UserAccount userAccount = new UserAccount(
 			null,
 			input.getUsername(),
-			passwordEncoder.encode(input.getPassword()),
+			passwordHash,
 			input.getRole(),
 			LocalDateTime.now(),
 			LocalDateTime.now()
 		);
 
-		if ( userAccountRepository.existsByUsername(input.getUsername()) ) {
-			return Optional.empty();
-		}
-
 		return Optional.of(userAccountRepository.save(userAccount));
 	}
 
@@ -47,19 +56,39 @@ public class UserAccountServiceImpl implements UserAccountService {
 		return userAccountRepository.findById(id);
 	}
 
+	@Override
+	public Optional<EntityVersion> findVersion(Integer id) {
+		return userAccountRepository.findVersion(id);
+	}
+
 	@Override
 	public Optional<UserAccount> findByUsername(String username) {
 		return userAccountRepository.findByUsername(username);
 	}
 
 	@Override
-	public Page<UserAccount> findAll(Pageable pageable) {
-		return userAccountRepository.findAll(pageable);
+	public boolean existsByUsername(String username) {
+		return userAccountRepository.existsByUsername(username);
+	}
+
+	@Override
+	public boolean existsById(Integer id) {
+		return userAccountRepository.existsById(id);
+	}
+
+	@Override
+	public Slice<UserAccount> findAll(Pageable pageable, TotalCount totalCount) {
+		return pageLoader.load(userAccountRepository, null, "user_account", pageable, totalCount);
+	}
+
+	@Override
+	public Window<UserAccount> scroll(ScrollPosition position, Limit limit, Sort sort) {
+		return userAccountRepository.findAllBy(position, limit, sort);
 	}
 
 	@Override
 	@Transactional
-	public Optional<UserAccount> update(Integer id, UserAccountInput input) throws ResourceNotFoundException, IllegalArgumentException {
+	public Optional<UserAccount> update(Integer id, UserAccountInput input, String passwordHash) throws ResourceNotFoundException, IllegalArgumentException {
 		// Check if the username the user is trying to update already exists
 		Optional<UserAccount> userAccountOptional = userAccountRepository.findByUsername(input.getUsername());
 
@@ -77,9 +106,10 @@ public class UserAccountServiceImpl implements UserAccountService {
 		}
 
 		UserAccount userAccount = existingUserAccount.get();
+		principalCache.invalidate(userAccount.getUsername());
 		userAccount.setUsername(input.getUsername()); // Updating the username is safe as it was already validated to be non existent.
-		if ( !input.getPassword().isEmpty() ) { // If the password is empty or null, we do not update it
-			userAccount.setPassword(passwordEncoder.encode(input.getPassword())); // Only update password if provided
+		if ( passwordHash != null ) { // No hash means no new password was given, so the current one is kept
+			userAccount.setPassword(passwordHash);
 		}
 
 		userAccount.setRole(input.getRole());
@@ -87,13 +117,20 @@ public class UserAccountServiceImpl implements UserAccountService {
 		return Optional.of(userAccountRepository.save(userAccount));
 	}
 
+	@Override
+	@Transactional
+	public void updatePasswordHash(Integer id, String passwordHash) {
+		// Rehashing with a new cost is not a change made by the user, so updatedAt is left alone.
+		userAccountRepository.findById(id).ifPresent(userAccount -> userAccount.setPassword(passwordHash));
+	}
+
 	@Override
 	@Transactional
 	public void delete(Integer id) {
-		if ( !userAccountRepository.existsById(id) ) {
+		if ( userAccountRepository.deleteDirectlyById(id) == 0 ) {
 			throw new ResourceNotFoundException("UserAccount not found with id: " + id);
 		}
-
-		userAccountRepository.deleteById(id);
+		indexingService.purge(UserAccount.class, id);
+		principalCache.invalidateById(id);
 	}
 }
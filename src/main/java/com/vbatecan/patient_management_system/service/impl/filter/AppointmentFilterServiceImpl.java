@@ -1,17 +1,50 @@
 package com.vbatecan.patient_management_system.service.impl.filter;
 
 import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
 import com.vbatecan.patient_management_system.model.filter.AppointmentFilter;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.repository.AppointmentRepository;
 import com.vbatecan.patient_management_system.service.interfaces.filter.AppointmentFilterService;
-import org.springframework.data.domain.Page;
+import com.vbatecan.patient_management_system.specification.CompiledFilter;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static com.vbatecan.patient_management_system.specification.FilterSpecification.enumValue;
+
 @Service
+@RequiredArgsConstructor
 public class AppointmentFilterServiceImpl implements AppointmentFilterService {
 
+	private static final FilterSpecification<AppointmentFilter, Appointment> SPECIFICATION = FilterSpecification.<AppointmentFilter, Appointment>builder("appointment")
+		.equal("patientId", "patient.id", AppointmentFilter::getPatientId)
+		.equal("doctorId", "doctor.id", AppointmentFilter::getDoctorId)
+		.atLeast("appointmentStartDate", "appointmentDate", filter -> Optional.ofNullable(filter.getAppointmentStartDate())
+			.map(LocalDate::atStartOfDay)
+			.orElse(null))
+		// The end date is inclusive, so compare against the start of the next day.
+		.before("appointmentEndDate", "appointmentDate", filter -> Optional.ofNullable(filter.getAppointmentEndDate())
+			.map(date -> date.plusDays(1).atStartOfDay())
+			.orElse(null))
+		.contains("reason", "reason", AppointmentFilter::getReason)
+		.equal("status", "status", filter -> Optional.ofNullable(enumValue(AppointmentStatus.class, filter.getStatus()))
+			.map(Enum::name)
+			.orElse(null))
+		.build();
+
+	private final AppointmentRepository appointmentRepository;
+	private final PageLoader pageLoader;
+
 	@Override
-	public Page<Appointment> filter(AppointmentFilter appointmentFilter, Pageable pageable) {
-		return null;
+	public Slice<Appointment> filter(AppointmentFilter appointmentFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException {
+		CompiledFilter<Appointment> filter = SPECIFICATION.compile(appointmentFilter);
+		return pageLoader.load(appointmentRepository, filter.specification(), filter.countKey(), pageable, totalCount);
 	}
 }
@@ -0,0 +1,50 @@
+package com.vbatecan.patient_management_system.service.impl.filter;
+
+import com.vbatecan.patient_management_system.model.entities.Billing;
+import com.vbatecan.patient_management_system.model.enums.BillingStatus;
+import com.vbatecan.patient_management_system.model.filter.BillingFilter;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.repository.BillingRepository;
+import com.vbatecan.patient_management_system.service.interfaces.filter.BillingFilterService;
+import com.vbatecan.patient_management_system.specification.CompiledFilter;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+import static com.vbatecan.patient_management_system.specification.FilterSpecification.enumValue;
+
+@Service
+@RequiredArgsConstructor
+public class BillingFilterServiceImpl implements BillingFilterService {
+
+	private static final FilterSpecification<BillingFilter, Billing> SPECIFICATION = FilterSpecification.<BillingFilter, Billing>builder("billing")
+		.equal("id", "id", BillingFilter::getId)
+		.equal("patientId", "patient.id", BillingFilter::getPatientId)
+		.equal("appointmentId", "appointment.id", BillingFilter::getAppointmentId)
+		.atLeast("minAmount", "amount", BillingFilter::getMinAmount)
+		.atMost("maxAmount", "amount", BillingFilter::getMaxAmount)
+		.equal("status", "status", filter -> Optional.ofNullable(enumValue(BillingStatus.class, filter.getStatus()))
+			.map(Enum::name)
+			.orElse(null))
+		.atLeast("billingDateStart", "billingDate", BillingFilter::getBillingDateStart)
+		.atMost("billingDateEnd", "billingDate", BillingFilter::getBillingDateEnd)
+		.atLeast("createdAtStartDate", "createdAt", BillingFilter::getCreatedAtStartDate)
+		.atMost("createdAtEndDate", "createdAt", BillingFilter::getCreatedAtEndDate)
+		.atLeast("updatedAtStartDate", "updatedAt", BillingFilter::getUpdatedAtStartDate)
+		.atMost("updatedAtEndDate", "updatedAt", BillingFilter::getUpdatedAtEndDate)
+		.build();
+
+	private final BillingRepository billingRepository;
+	private final PageLoader pageLoader;
+
+	@Override
+	public Slice<Billing> filter(BillingFilter billingFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException {
+		CompiledFilter<Billing> filter = SPECIFICATION.compile(billingFilter);
+		return pageLoader.load(billingRepository, filter.specification(), filter.countKey(), pageable, totalCount);
+	}
+}
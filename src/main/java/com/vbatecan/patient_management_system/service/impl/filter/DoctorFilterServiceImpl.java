@@ -0,0 +1,42 @@
+package com.vbatecan.patient_management_system.service.impl.filter;
+
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.filter.DoctorFilter;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.repository.DoctorRepository;
+import com.vbatecan.patient_management_system.service.interfaces.filter.DoctorFilterService;
+import com.vbatecan.patient_management_system.specification.CompiledFilter;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class DoctorFilterServiceImpl implements DoctorFilterService {
+
+	private static final FilterSpecification<DoctorFilter, Doctor> SPECIFICATION = FilterSpecification.<DoctorFilter, Doctor>builder("doctor")
+		.equal("id", "id", DoctorFilter::getId)
+		.equal("userAccountId", "userAccount.id", DoctorFilter::getUserAccountId)
+		.contains("firstName", "firstName", DoctorFilter::getFirstName)
+		.contains("lastName", "lastName", DoctorFilter::getLastName)
+		.contains("specialty", "specialty", DoctorFilter::getSpecialty)
+		.contains("contactNumber", "contactNumber", DoctorFilter::getContactNumber)
+		.contains("email", "email", DoctorFilter::getEmail)
+		.atLeast("createdAtStartDate", "createdAt", DoctorFilter::getCreatedAtStartDate)
+		.atMost("createdAtEndDate", "createdAt", DoctorFilter::getCreatedAtEndDate)
+		.atLeast("updatedAtStartDate", "updatedAt", DoctorFilter::getUpdatedAtStartDate)
+		.atMost("updatedAtEndDate", "updatedAt", DoctorFilter::getUpdatedAtEndDate)
+		.build();
+
+	private final DoctorRepository doctorRepository;
+	private final PageLoader pageLoader;
+
+	@Override
+	public Slice<Doctor> filter(DoctorFilter doctorFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException {
+		CompiledFilter<Doctor> filter = SPECIFICATION.compile(doctorFilter);
+		return pageLoader.load(doctorRepository, filter.specification(), filter.countKey(), pageable, totalCount);
+	}
+}
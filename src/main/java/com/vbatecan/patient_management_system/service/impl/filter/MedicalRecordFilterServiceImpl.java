@@ -0,0 +1,41 @@
+package com.vbatecan.patient_management_system.service.impl.filter;
+
+import com.vbatecan.patient_management_system.model.entities.MedicalRecord;
+import com.vbatecan.patient_management_system.model.filter.MedicalRecordFilter;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.repository.MedicalRecordRepository;
+import com.vbatecan.patient_management_system.service.interfaces.filter.MedicalRecordFilterService;
+import com.vbatecan.patient_management_system.specification.CompiledFilter;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class MedicalRecordFilterServiceImpl implements MedicalRecordFilterService {
+
+	private static final FilterSpecification<MedicalRecordFilter, MedicalRecord> SPECIFICATION = FilterSpecification.<MedicalRecordFilter, MedicalRecord>builder("medical_record")
+		.equal("id", "id", MedicalRecordFilter::getId)
+		.equal("patientId", "patient.id", MedicalRecordFilter::getPatientId)
+		.atLeast("recordDateStart", "recordDate", MedicalRecordFilter::getRecordDateStart)
+		.atMost("recordDateEnd", "recordDate", MedicalRecordFilter::getRecordDateEnd)
+		.contains("description", "description", MedicalRecordFilter::getDescription)
+		.contains("filePath", "filePath", MedicalRecordFilter::getFilePath)
+		.atLeast("createdAtStartDate", "createdAt", MedicalRecordFilter::getCreatedAtStartDate)
+		.atMost("createdAtEndDate", "createdAt", MedicalRecordFilter::getCreatedAtEndDate)
+		.atLeast("updatedAtStartDate", "updatedAt", MedicalRecordFilter::getUpdatedAtStartDate)
+		.atMost("updatedAtEndDate", "updatedAt", MedicalRecordFilter::getUpdatedAtEndDate)
+		.build();
+
+	private final MedicalRecordRepository medicalRecordRepository;
+	private final PageLoader pageLoader;
+
+	@Override
+	public Slice<MedicalRecord> filter(MedicalRecordFilter medicalRecordFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException {
+		CompiledFilter<MedicalRecord> filter = SPECIFICATION.compile(medicalRecordFilter);
+		return pageLoader.load(medicalRecordRepository, filter.specification(), filter.countKey(), pageable, totalCount);
+	}
+}
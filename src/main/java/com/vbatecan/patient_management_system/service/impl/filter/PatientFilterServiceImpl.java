@@ -0,0 +1,48 @@
+package com.vbatecan.patient_management_system.service.impl.filter;
+
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.enums.Gender;
+import com.vbatecan.patient_management_system.model.filter.PatientFilter;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.repository.PatientRepository;
+import com.vbatecan.patient_management_system.service.interfaces.filter.PatientFilterService;
+import com.vbatecan.patient_management_system.specification.CompiledFilter;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import static com.vbatecan.patient_management_system.specification.FilterSpecification.enumValue;
+
+@Service
+@RequiredArgsConstructor
+public class PatientFilterServiceImpl implements PatientFilterService {
+
+	private static final FilterSpecification<PatientFilter, Patient> SPECIFICATION = FilterSpecification.<PatientFilter, Patient>builder("patient")
+		.equal("id", "id", PatientFilter::getId)
+		.equal("userAccountId", "userAccount.id", PatientFilter::getUserAccountId)
+		.contains("firstName", "firstName", PatientFilter::getFirstName)
+		.contains("lastName", "lastName", PatientFilter::getLastName)
+		.equal("dateOfBirth", "dateOfBirth", PatientFilter::getDateOfBirth)
+		.equal("gender", "gender", filter -> enumValue(Gender.class, filter.getGender()))
+		.contains("contactNumber", "contactNumber", PatientFilter::getContactNumber)
+		.contains("email", "email", PatientFilter::getEmail)
+		.contains("address", "address", PatientFilter::getAddress)
+		.contains("emergencyContact", "emergencyContact", PatientFilter::getEmergencyContact)
+		.atLeast("createdAtStartDate", "createdAt", PatientFilter::getCreatedAtStartDate)
+		.atMost("createdAtEndDate", "createdAt", PatientFilter::getCreatedAtEndDate)
+		.atLeast("updatedAtStartDate", "updatedAt", PatientFilter::getUpdatedAtStartDate)
+		.atMost("updatedAtEndDate", "updatedAt", PatientFilter::getUpdatedAtEndDate)
+		.build();
+
+	private final PatientRepository patientRepository;
+	private final PageLoader pageLoader;
+
+	@Override
+	public Slice<Patient> filter(PatientFilter patientFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException {
+		CompiledFilter<Patient> filter = SPECIFICATION.compile(patientFilter);
+		return pageLoader.load(patientRepository, filter.specification(), filter.countKey(), pageable, totalCount);
+	}
+}
@@ -0,0 +1,40 @@
+package com.vbatecan.patient_management_system.service.impl.filter;
+
+import com.vbatecan.patient_management_system.model.entities.Prescription;
+import com.vbatecan.patient_management_system.model.filter.PrescriptionFilter;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.repository.PrescriptionRepository;
+import com.vbatecan.patient_management_system.service.interfaces.filter.PrescriptionFilterService;
+import com.vbatecan.patient_management_system.specification.CompiledFilter;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class PrescriptionFilterServiceImpl implements PrescriptionFilterService {
+
+	private static final FilterSpecification<PrescriptionFilter, Prescription> SPECIFICATION = FilterSpecification.<PrescriptionFilter, Prescription>builder("prescription")
+		.equal("id", "id", PrescriptionFilter::getId)
+		.equal("appointmentId", "appointment.id", PrescriptionFilter::getAppointmentId)
+		.contains("medication", "medication", PrescriptionFilter::getMedication)
+		.contains("dosage", "dosage", PrescriptionFilter::getDosage)
+		.contains("instructions", "instructions", PrescriptionFilter::getInstructions)
+		.atLeast("createdAtStartDate", "createdAt", PrescriptionFilter::getCreatedAtStartDate)
+		.atMost("createdAtEndDate", "createdAt", PrescriptionFilter::getCreatedAtEndDate)
+		.atLeast("updatedAtStartDate", "updatedAt", PrescriptionFilter::getUpdatedAtStartDate)
+		.atMost("updatedAtEndDate", "updatedAt", PrescriptionFilter::getUpdatedAtEndDate)
+		.build();
+
+	private final PrescriptionRepository prescriptionRepository;
+	private final PageLoader pageLoader;
+
+	@Override
+	public Slice<Prescription> filter(PrescriptionFilter prescriptionFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException {
+		CompiledFilter<Prescription> filter = SPECIFICATION.compile(prescriptionFilter);
+		return pageLoader.load(prescriptionRepository, filter.specification(), filter.countKey(), pageable, totalCount);
+	}
+}
@@ -0,0 +1,38 @@
+package com.vbatecan.patient_management_system.service.impl.filter;
+
+import com.vbatecan.patient_management_system.model.entities.UserAccount;
+import com.vbatecan.patient_management_system.model.filter.UserAccountFilter;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.repository.UserAccountRepository;
+import com.vbatecan.patient_management_system.service.interfaces.filter.UserAccountFilterService;
+import com.vbatecan.patient_management_system.specification.CompiledFilter;
+import com.vbatecan.patient_management_system.specification.FilterSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class UserAccountFilterServiceImpl implements UserAccountFilterService {
+
+	private static final FilterSpecification<UserAccountFilter, UserAccount> SPECIFICATION = FilterSpecification.<UserAccountFilter, UserAccount>builder("user_account")
+		.equal("id", "id", UserAccountFilter::getId)
+		.contains("username", "username", UserAccountFilter::getUsername)
+		.equal("role", "role", UserAccountFilter::getRole)
+		.atLeast("createdAtStartDate", "createdAt", UserAccountFilter::getCreatedAtStartDate)
+		.atMost("createdAtEndDate", "createdAt", UserAccountFilter::getCreatedAtEndDate)
+		.atLeast("updatedAtStartDate", "updatedAt", UserAccountFilter::getUpdatedAtStartDate)
+		.atMost("updatedAtEndDate", "updatedAt", UserAccountFilter::getUpdatedAtEndDate)
+		.build();
+
+	private final UserAccountRepository userAccountRepository;
+	private final PageLoader pageLoader;
+
+	@Override
+	public Slice<UserAccount> filter(UserAccountFilter userAccountFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException {
+		CompiledFilter<UserAccount> filter = SPECIFICATION.compile(userAccountFilter);
+		return pageLoader.load(userAccountRepository, filter.specification(), filter.countKey(), pageable, totalCount);
+	}
+}
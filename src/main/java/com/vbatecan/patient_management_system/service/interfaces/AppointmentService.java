@@ -1,12 +1,20 @@
 package com.vbatecan.patient_management_system.service.interfaces;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
+import com.vbatecan.patient_management_system.exception.ConflictException;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
 import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
+import com.vbatecan.patient_management_system.model.filter.AppointmentFilter;
 import com.vbatecan.patient_management_system.model.input.AppointmentInput;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
 import com.vbatecan.patient_management_system.model.update.AppointmentUpdate;
-import org.springframework.data.domain.Page;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Optional;
 
@@ -15,15 +23,36 @@ public interface AppointmentService {
 
 	Optional<Appointment> findById(Integer id);
 
-	Page<Appointment> findAll(Pageable pageable);
+	Optional<EntityVersion> findVersion(Integer id);
 
-	Page<Appointment> findByPatientId(Integer patientId, Pageable pageable);
+	Slice<Appointment> findAll(Pageable pageable, TotalCount totalCount);
 
-	Page<Appointment> findByDoctorId(Integer doctorId, Pageable pageable);
+	Window<Appointment> scroll(ScrollPosition position, Limit limit, Sort sort);
 
-	Appointment update(Integer id, AppointmentUpdate appointmentUpdate) throws JsonMappingException, JsonMappingException;
+	Slice<Appointment> findByPatientId(Integer patientId, Pageable pageable, TotalCount totalCount);
 
-	Appointment updateAppointmentStatus(Integer id, String status);
+	Slice<Appointment> findByDoctorId(Integer doctorId, Pageable pageable, TotalCount totalCount);
+
+	Appointment update(Integer id, AppointmentUpdate appointmentUpdate) throws ResourceNotFoundException;
+
+	/**
+	 * Moves one appointment to {@code status} if its current status allows the transition.
+	 *
+	 * @throws IllegalArgumentException  if no status can move to {@code status}.
+	 * @throws ResourceNotFoundException if no appointment has that id.
+	 * @throws ConflictException         if the current status of the appointment cannot move to {@code status}.
+	 */
+	Appointment updateAppointmentStatus(Integer id, AppointmentStatus status) throws IllegalArgumentException, ResourceNotFoundException, ConflictException;
+
+	/**
+	 * Moves every appointment matching the filter to {@code status}, skipping those whose current status cannot make the
+	 * transition.
+	 *
+	 * @return the number of updated appointments.
+	 * @throws IllegalArgumentException if no status can move to {@code status}, the status of the filter cannot, or the
+	 *                                  filter has no criterion besides the status.
+	 */
+	int updateStatuses(AppointmentFilter filter, AppointmentStatus status) throws IllegalArgumentException;
 
 	void delete(Integer id) throws ResourceNotFoundException;
 }
@@ -1,15 +1,29 @@
 package com.vbatecan.patient_management_system.service.interfaces;
 
+import com.vbatecan.patient_management_system.exception.ServiceBusyException;
 import com.vbatecan.patient_management_system.model.input.AuthenticationInput;
 import com.vbatecan.patient_management_system.model.responses.SuccessfulLoginResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface AuthenticationService {
 
-	Optional<SuccessfulLoginResponse> login(AuthenticationInput input) throws UsernameNotFoundException;
+	CompletableFuture<Optional<SuccessfulLoginResponse>> login(AuthenticationInput input) throws UsernameNotFoundException, ServiceBusyException;
 
 	Boolean isAuthenticated(Authentication authentication);
+
+	/**
+	 * Revokes the token the given authentication was built from, so it is rejected on every node until it expires.
+	 */
+	void logout(Authentication authentication);
+
+	/**
+	 * Revokes the given token.
+	 *
+	 * @return false if the token is not a valid, unexpired token issued by us.
+	 */
+	boolean revoke(String token);
 }
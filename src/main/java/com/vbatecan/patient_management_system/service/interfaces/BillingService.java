@@ -1,10 +1,20 @@
 package com.vbatecan.patient_management_system.service.interfaces;
 
+import com.vbatecan.patient_management_system.exception.ConflictException;
+import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
 import com.vbatecan.patient_management_system.model.dto.BillingDTO;
 import com.vbatecan.patient_management_system.model.entities.Billing;
+import com.vbatecan.patient_management_system.model.enums.BillingStatus;
+import com.vbatecan.patient_management_system.model.filter.BillingFilter;
 import com.vbatecan.patient_management_system.model.input.BillingInput;
-import org.springframework.data.domain.Page;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Optional;
 
@@ -13,15 +23,36 @@ public interface BillingService {
 
 	Optional<Billing> findById(Integer id);
 
-	Page<Billing> findAll(Pageable pageable);
+	Optional<EntityVersion> findVersion(Integer id);
 
-	Page<Billing> findByPatientId(Integer patientId, Pageable pageable);
+	Slice<Billing> findAll(Pageable pageable, TotalCount totalCount);
 
-	Page<Billing> findByAppointmentId(Integer appointmentId, Pageable pageable);
+	Window<Billing> scroll(ScrollPosition position, Limit limit, Sort sort);
+
+	Slice<Billing> findByPatientId(Integer patientId, Pageable pageable, TotalCount totalCount);
+
+	Slice<Billing> findByAppointmentId(Integer appointmentId, Pageable pageable, TotalCount totalCount);
 
 	Billing update(Integer id, BillingDTO billingDTO);
 
-	Billing updateBillingStatus(Integer id, String status);
+	/**
+	 * Moves one billing to {@code status} if its current status allows the transition.
+	 *
+	 * @throws IllegalArgumentException  if no status can move to {@code status}.
+	 * @throws ResourceNotFoundException if no billing has that id.
+	 * @throws ConflictException         if the current status of the billing cannot move to {@code status}.
+	 */
+	Billing updateBillingStatus(Integer id, BillingStatus status) throws IllegalArgumentException, ResourceNotFoundException, ConflictException;
+
+	/**
+	 * Moves every billing matching the filter to {@code status}, skipping those whose current status cannot make the
+	 * transition.
+	 *
+	 * @return the number of updated billings.
+	 * @throws IllegalArgumentException if no status can move to {@code status}, the status of the filter cannot, or the
+	 *                                  filter has no criterion besides the status.
+	 */
+	int updateStatuses(BillingFilter filter, BillingStatus status) throws IllegalArgumentException;
 
 	void delete(Integer id);
 }
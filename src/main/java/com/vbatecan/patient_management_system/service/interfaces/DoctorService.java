@@ -1,12 +1,17 @@
 package com.vbatecan.patient_management_system.service.interfaces;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
 import com.vbatecan.patient_management_system.model.dto.DoctorDTO;
 import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
 import com.vbatecan.patient_management_system.model.update.DoctorUpdate;
-import org.springframework.data.domain.Page;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Optional;
 
@@ -15,13 +20,17 @@ public interface DoctorService {
 
 	Optional<Doctor> findById(Integer id);
 
+	Optional<EntityVersion> findVersion(Integer id);
+
 	Optional<Doctor> findByUserAccountId(Integer userAccountId);
 
 	Optional<Doctor> findByEmail(String email);
 
-	Page<Doctor> findAll(Pageable pageable);
+	Slice<Doctor> findAll(Pageable pageable, TotalCount totalCount);
+
+	Window<Doctor> scroll(ScrollPosition position, Limit limit, Sort sort);
 
-	Doctor update(Integer id, DoctorUpdate doctorUpdate) throws ResourceNotFoundException, JsonMappingException;
+	Doctor update(Integer id, DoctorUpdate doctorUpdate) throws ResourceNotFoundException;
 
 	void delete(Integer id);
 }
@@ -2,8 +2,14 @@ package com.vbatecan.patient_management_system.service.interfaces;
 
 import com.vbatecan.patient_management_system.model.dto.MedicalRecordDTO;
 import com.vbatecan.patient_management_system.model.entities.MedicalRecord;
-import org.springframework.data.domain.Page;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Optional;
 
@@ -12,9 +18,13 @@ public interface MedicalRecordService {
 
 	Optional<MedicalRecord> findById(Integer id);
 
-	Page<MedicalRecord> findAll(Pageable pageable);
+	Optional<EntityVersion> findVersion(Integer id);
 
-	Page<MedicalRecord> findByPatientId(Integer patientId, Pageable pageable);
+	Slice<MedicalRecord> findAll(Pageable pageable, TotalCount totalCount);
+
+	Window<MedicalRecord> scroll(ScrollPosition position, Limit limit, Sort sort);
+
+	Slice<MedicalRecord> findByPatientId(Integer patientId, Pageable pageable, TotalCount totalCount);
 
 	MedicalRecord update(Integer id, MedicalRecordDTO medicalRecordDTO);
 
@@ -1,10 +1,15 @@
 package com.vbatecan.patient_management_system.service.interfaces;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
 import com.vbatecan.patient_management_system.model.dto.PatientDTO;
 import com.vbatecan.patient_management_system.model.entities.Patient;
-import org.springframework.data.domain.Page;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Optional;
 
@@ -13,9 +18,13 @@ public interface PatientService {
 
 	Optional<Patient> findById(Integer id);
 
-	Page<Patient> findAll(Pageable pageable);
+	Optional<EntityVersion> findVersion(Integer id);
 
-	Optional<Patient> update(Integer id, PatientDTO patientDTO) throws JsonMappingException;
+	Slice<Patient> findAll(Pageable pageable, TotalCount totalCount);
+
+	Window<Patient> scroll(ScrollPosition position, Limit limit, Sort sort);
+
+	Optional<Patient> update(Integer id, PatientDTO patientDTO);
 
 	void delete(Integer id);
 }
@@ -2,8 +2,14 @@ package com.vbatecan.patient_management_system.service.interfaces;
 
 import com.vbatecan.patient_management_system.model.dto.PrescriptionDTO;
 import com.vbatecan.patient_management_system.model.entities.Prescription;
-import org.springframework.data.domain.Page;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Optional;
 
@@ -12,9 +18,13 @@ public interface PrescriptionService {
 
     Optional<Prescription> findById(Integer id);
 
-    Page<Prescription> findAll(Pageable pageable);
+    Optional<EntityVersion> findVersion(Integer id);
 
-    Page<Prescription> findByAppointmentId(Integer appointmentId, Pageable pageable);
+    Slice<Prescription> findAll(Pageable pageable, TotalCount totalCount);
+
+    Window<Prescription> scroll(ScrollPosition position, Limit limit, Sort sort);
+
+    Slice<Prescription> findByAppointmentId(Integer appointmentId, Pageable pageable, TotalCount totalCount);
 
     Prescription update(Integer id, PrescriptionDTO prescriptionDTO);
 
@@ -3,21 +3,49 @@ package com.vbatecan.patient_management_system.service.interfaces;
 import com.vbatecan.patient_management_system.exception.ResourceNotFoundException;
 import com.vbatecan.patient_management_system.model.entities.UserAccount;
 import com.vbatecan.patient_management_system.model.input.UserAccountInput;
-import org.springframework.data.domain.Page;
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Optional;
 
 public interface UserAccountService {
-	Optional<UserAccount> save(UserAccountInput input) throws IllegalArgumentException;
+	/**
+	 * Creates the account with an already hashed password. Hash it before calling, BCrypt is too slow to run while
+	 * this method holds a transaction and a connection.
+	 */
+	Optional<UserAccount> save(UserAccountInput input, String passwordHash) throws IllegalArgumentException;
 
 	Optional<UserAccount> findById(Integer id);
 
+	Optional<EntityVersion> findVersion(Integer id);
+
 	Optional<UserAccount> findByUsername(String username);
 
-	Page<UserAccount> findAll(Pageable pageable);
+	/**
+	 * Cheap checks for what {@link #save(UserAccountInput, String)} and
+	 * {@link #update(Integer, UserAccountInput, String)} would refuse, so a caller can skip hashing the password.
+	 */
+	boolean existsByUsername(String username);
+
+	boolean existsById(Integer id);
+
+	Slice<UserAccount> findAll(Pageable pageable, TotalCount totalCount);
+
+	Window<UserAccount> scroll(ScrollPosition position, Limit limit, Sort sort);
+
+	/**
+	 * Updates the account, replacing its password with {@code passwordHash} unless that is null. As with
+	 * {@link #save(UserAccountInput, String)}, the hash is computed by the caller.
+	 */
+	Optional<UserAccount> update(Integer id, UserAccountInput userAccountDTO, String passwordHash) throws ResourceNotFoundException, IllegalArgumentException;
 
-	Optional<UserAccount> update(Integer id, UserAccountInput userAccountDTO) throws ResourceNotFoundException, IllegalArgumentException;
+	void updatePasswordHash(Integer id, String passwordHash);
 
 	void delete(Integer id);
 }
@@ -0,0 +1,11 @@
+package com.vbatecan.patient_management_system.service.interfaces.filter;
+
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.filter.AppointmentFilter;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface AppointmentFilterService {
+	Slice<Appointment> filter(AppointmentFilter appointmentFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException;
+}
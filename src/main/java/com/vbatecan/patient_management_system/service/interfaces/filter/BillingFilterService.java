@@ -0,0 +1,11 @@
+package com.vbatecan.patient_management_system.service.interfaces.filter;
+
+import com.vbatecan.patient_management_system.model.entities.Billing;
+import com.vbatecan.patient_management_system.model.filter.BillingFilter;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface BillingFilterService {
+	Slice<Billing> filter(BillingFilter billingFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException;
+}
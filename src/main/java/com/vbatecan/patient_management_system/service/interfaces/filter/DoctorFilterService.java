@@ -0,0 +1,11 @@
+package com.vbatecan.patient_management_system.service.interfaces.filter;
+
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.filter.DoctorFilter;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface DoctorFilterService {
+	Slice<Doctor> filter(DoctorFilter doctorFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException;
+}
@@ -0,0 +1,11 @@
+package com.vbatecan.patient_management_system.service.interfaces.filter;
+
+import com.vbatecan.patient_management_system.model.entities.MedicalRecord;
+import com.vbatecan.patient_management_system.model.filter.MedicalRecordFilter;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface MedicalRecordFilterService {
+	Slice<MedicalRecord> filter(MedicalRecordFilter medicalRecordFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException;
+}
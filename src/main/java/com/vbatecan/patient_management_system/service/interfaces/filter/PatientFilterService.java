@@ -0,0 +1,11 @@
+package com.vbatecan.patient_management_system.service.interfaces.filter;
+
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.filter.PatientFilter;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface PatientFilterService {
+	Slice<Patient> filter(PatientFilter patientFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException;
+}
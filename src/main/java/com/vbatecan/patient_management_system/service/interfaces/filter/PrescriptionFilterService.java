@@ -0,0 +1,11 @@
+package com.vbatecan.patient_management_system.service.interfaces.filter;
+
+import com.vbatecan.patient_management_system.model.entities.Prescription;
+import com.vbatecan.patient_management_system.model.filter.PrescriptionFilter;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface PrescriptionFilterService {
+	Slice<Prescription> filter(PrescriptionFilter prescriptionFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException;
+}
@@ -0,0 +1,11 @@
+package com.vbatecan.patient_management_system.service.interfaces.filter;
+
+import com.vbatecan.patient_management_system.model.entities.UserAccount;
+import com.vbatecan.patient_management_system.model.filter.UserAccountFilter;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface UserAccountFilterService {
+	Slice<UserAccount> filter(UserAccountFilter userAccountFilter, Pageable pageable, TotalCount totalCount) throws IllegalArgumentException;
+}
@@ -0,0 +1,13 @@
+package com.vbatecan.patient_management_system.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+/**
+ * A filter bound to its values.
+ *
+ * @param specification the conditions, or null when the filter has none.
+ * @param countKey      identifies the shape and the values, for {@link com.vbatecan.patient_management_system.pagination.PageLoader}.
+ */
+public record CompiledFilter<E>(@Nullable Specification<E> specification, String countKey) {
+}
@@ -0,0 +1,162 @@
+package com.vbatecan.patient_management_system.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Compiles a filter model into a {@link Specification} over {@code E}. Every condition applies only when its value is
+ * present, blank strings counting as absent, and all present conditions are combined with {@code and}.
+ * <p>
+ * The set of present conditions is the shape of a filter. Values are always bound as parameters, so filters of the
+ * same shape render the same SQL and share one query plan no matter their values.
+ *
+ * @param <F> the filter model.
+ * @param <E> the entity being filtered.
+ */
+public final class FilterSpecification<F, E> {
+
+	private final String name;
+	private final List<Condition<F, E>> conditions;
+
+	private FilterSpecification(String name, List<Condition<F, E>> conditions) {
+		this.name = name;
+		this.conditions = List.copyOf(conditions);
+	}
+
+	/**
+	 * @param name prefix of the count keys, the same one the unfiltered list of the entity is counted under.
+	 */
+	public static <F, E> Builder<F, E> builder(String name) {
+		return new Builder<>(name);
+	}
+
+	public CompiledFilter<E> compile(F filter) {
+		List<Condition<F, E>> present = new ArrayList<>();
+		List<Object> values = new ArrayList<>();
+		StringJoiner countKey = new StringJoiner("&", name + ":filter?", "");
+		for ( Condition<F, E> condition : conditions ) {
+			Object value = condition.value().apply(filter);
+			if ( value == null || value instanceof String string && string.isBlank() ) {
+				continue;
+			}
+			present.add(condition);
+			values.add(value);
+			countKey.add(condition.name() + "=" + value);
+		}
+
+		// Without a condition this is the plain list, keep its count key so both share the cached total.
+		if ( present.isEmpty() ) {
+			return new CompiledFilter<>(null, name);
+		}
+
+		Specification<E> specification = (root, query, criteriaBuilder) -> {
+			Predicate[] predicates = new Predicate[present.size()];
+			for ( int i = 0; i < predicates.length; i++ ) {
+				predicates[i] = present.get(i).predicate().create(root, criteriaBuilder, values.get(i));
+			}
+			return criteriaBuilder.and(predicates);
+		};
+		return new CompiledFilter<>(specification, countKey.toString());
+	}
+
+	/**
+	 * Parses a status or other enum constant given as text, case insensitive.
+	 *
+	 * @return null if the value is null or blank.
+	 * @throws IllegalArgumentException if the value names no constant of {@code type}.
+	 */
+	public static <T extends Enum<T>> T enumValue(Class<T> type, String value) throws IllegalArgumentException {
+		if ( value == null || value.isBlank() ) {
+			return null;
+		}
+		try {
+			return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+		} catch ( IllegalArgumentException e ) {
+			throw new IllegalArgumentException("Unknown " + type.getSimpleName() + ": " + value, e);
+		}
+	}
+
+	private record Condition<F, E>(String name, Function<F, ?> value, PredicateFactory<E> predicate) {
+	}
+
+	@FunctionalInterface
+	private interface PredicateFactory<E> {
+		Predicate create(Root<E> root, CriteriaBuilder criteriaBuilder, Object value);
+	}
+
+	public static final class Builder<F, E> {
+
+		private final String name;
+		private final List<Condition<F, E>> conditions = new ArrayList<>();
+
+		private Builder(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * @param attribute an attribute of the entity, or a dotted path such as {@code patient.id}.
+		 */
+		public Builder<F, E> equal(String name, String attribute, Function<F, ?> value) {
+			return add(name, value, (root, criteriaBuilder, v) -> criteriaBuilder.equal(path(root, attribute), v));
+		}
+
+		/**
+		 * Case insensitive substring match.
+		 */
+		public Builder<F, E> contains(String name, String attribute, Function<F, String> value) {
+			return add(name, value, (root, criteriaBuilder, v) -> criteriaBuilder.like(
+				criteriaBuilder.lower(path(root, attribute)),
+				"%" + escape(v.toString().toLowerCase(Locale.ROOT)) + "%",
+				'\\'
+			));
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public <Y extends Comparable<? super Y>> Builder<F, E> atLeast(String name, String attribute, Function<F, Y> value) {
+			return add(name, value, (root, criteriaBuilder, v) -> criteriaBuilder.greaterThanOrEqualTo((Expression) path(root, attribute), (Comparable) v));
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public <Y extends Comparable<? super Y>> Builder<F, E> atMost(String name, String attribute, Function<F, Y> value) {
+			return add(name, value, (root, criteriaBuilder, v) -> criteriaBuilder.lessThanOrEqualTo((Expression) path(root, attribute), (Comparable) v));
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public <Y extends Comparable<? super Y>> Builder<F, E> before(String name, String attribute, Function<F, Y> value) {
+			return add(name, value, (root, criteriaBuilder, v) -> criteriaBuilder.lessThan((Expression) path(root, attribute), (Comparable) v));
+		}
+
+		public FilterSpecification<F, E> build() {
+			return new FilterSpecification<>(name, conditions);
+		}
+
+		private Builder<F, E> add(String name, Function<F, ?> value, PredicateFactory<E> predicate) {
+			conditions.add(new Condition<>(name, value, predicate));
+			return this;
+		}
+
+		private static <Y> Path<Y> path(Root<?> root, String attribute) {
+			Path<?> path = root;
+			for ( String part : attribute.split("\\.") ) {
+				path = path.get(part);
+			}
+			@SuppressWarnings("unchecked")
+			Path<Y> typed = (Path<Y>) path;
+			return typed;
+		}
+
+		private static String escape(String value) {
+			return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+		}
+	}
+}
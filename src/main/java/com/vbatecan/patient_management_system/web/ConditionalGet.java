@@ -0,0 +1,50 @@
+package com.vbatecan.patient_management_system.web;
+
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Answers conditional GET requests for a single entity. The version is read first with a projection query, and only
+ * when the client's {@code If-None-Match} or {@code If-Modified-Since} is stale is the entity loaded and serialized.
+ */
+@Component
+public class ConditionalGet {
+
+	/**
+	 * @param version looks up the version of the entity with the given id, empty when there is no such entity.
+	 * @param body    loads the representation, only called when the client's copy is not current.
+	 * @return 304 with no body when the client's copy is current, 404 when the entity does not exist, and the body
+	 * with its ETag and Last-Modified headers otherwise.
+	 */
+	public <ID, T> ResponseEntity<T> respond(WebRequest request, ID id, Function<ID, Optional<EntityVersion>> version, Supplier<Optional<T>> body) {
+		Optional<EntityVersion> current = version.apply(id);
+		if ( current.isEmpty() ) {
+			return ResponseEntity.notFound().build();
+		}
+
+		String eTag = current.get().eTag(id);
+		long lastModified = current.get().lastModified();
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(eTag);
+		if ( lastModified >= 0 ) {
+			headers.setLastModified(lastModified);
+		}
+		if ( request.checkNotModified(eTag, lastModified) ) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+		}
+
+		// A write between the two reads leaves the ETag behind the body, which only costs the client one more full
+		// response.
+		return body.get()
+			.map(representation -> ResponseEntity.ok().headers(headers).body(representation))
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+}
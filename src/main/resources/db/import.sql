@@ -1,9 +1,18 @@
 CREATE TYPE role AS ENUM ('GUEST', 'PATIENT', 'DOCTOR', 'ADMIN');
 
 
+-- Hibernate hands out ids from these in blocks of 50 (pooled optimizer), so inserts can be batched.
+CREATE SEQUENCE user_account_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE patient_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE doctor_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE appointment_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE medical_record_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE prescription_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE billing_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE user_account
 (
-    id         SERIAL,
+    id         INT PRIMARY KEY DEFAULT (nextval('user_account_seq')),
     username   VARCHAR UNIQUE NOT NULL,
     password   VARCHAR        NOT NULL,
     role       role           NOT NULL DEFAULT 'GUEST',
@@ -14,7 +23,7 @@ CREATE TABLE user_account
 
 CREATE TABLE patient
 (
-    id                SERIAL,
+    id                INT PRIMARY KEY DEFAULT (nextval('patient_seq')),
     user_account_id   INT,
     first_name        VARCHAR NOT NULL,
     last_name         VARCHAR NOT NULL,
@@ -30,7 +39,7 @@ CREATE TABLE patient
 
 CREATE TABLE doctor
 (
-    id              SERIAL,
+    id              INT PRIMARY KEY DEFAULT (nextval('doctor_seq')),
     user_account_id INT,
     first_name      VARCHAR NOT NULL,
     last_name       VARCHAR NOT NULL,
@@ -43,7 +52,7 @@ CREATE TABLE doctor
 
 CREATE TABLE appointment
 (
-    id               SERIAL,
+    id               INT PRIMARY KEY DEFAULT (nextval('appointment_seq')),
     patient_id       INT,
     doctor_id        INT,
     appointment_date TIMESTAMP NOT NULL,
@@ -55,7 +64,7 @@ CREATE TABLE appointment
 
 CREATE TABLE medical_record
 (
-    id          SERIAL,
+    id          INT PRIMARY KEY DEFAULT (nextval('medical_record_seq')),
     patient_id  INT,
     record_date TIMESTAMP NOT NULL,
     description TEXT,
@@ -66,7 +75,7 @@ CREATE TABLE medical_record
 
 CREATE TABLE prescription
 (
-    id             SERIAL,
+    id             INT PRIMARY KEY DEFAULT (nextval('prescription_seq')),
     appointment_id INT,
     medication     VARCHAR NOT NULL,
     dosage         VARCHAR,
@@ -77,7 +86,7 @@ CREATE TABLE prescription
 
 CREATE TABLE billing
 (
-    id             SERIAL,
+    id             INT PRIMARY KEY DEFAULT (nextval('billing_seq')),
     patient_id     INT     NOT NULL,
     appointment_id INT,
     amount         DECIMAL NOT NULL,
@@ -88,6 +97,78 @@ CREATE TABLE billing
     updated_at     TIMESTAMP DEFAULT (now())
 );
 
+CREATE TABLE revoked_token
+(
+    id         BIGSERIAL PRIMARY KEY,
+    token_id   VARCHAR UNIQUE NOT NULL,
+    expires_at TIMESTAMPTZ    NOT NULL,
+    revoked_at TIMESTAMPTZ    NOT NULL DEFAULT (now())
+);
+
+CREATE INDEX ON revoked_token (revoked_at);
+
+-- Hibernate Search outbox polling: index work is appended here in the writing transaction and applied by background agents.
+-- Generated by the Hibernate Search 7.2 schema export, only needed with SEARCH_COORDINATION=outbox-polling.
+CREATE TABLE hsearch_agent
+(
+    assigned_shard_index INT            NULL,
+    total_shard_count    INT            NULL,
+    expiration           TIMESTAMPTZ(6) NOT NULL,
+    id                   UUID PRIMARY KEY,
+    name                 VARCHAR(255)   NOT NULL,
+    state                VARCHAR(255)   NOT NULL CHECK (state IN ('RUNNING', 'WAITING', 'SUSPENDED')),
+    tenant_id            VARCHAR(255)   NULL,
+    type                 VARCHAR(255)   NOT NULL CHECK (type IN ('EVENT_PROCESSING_DYNAMIC_SHARDING', 'EVENT_PROCESSING_STATIC_SHARDING', 'MASS_INDEXING')),
+    payload              BYTEA          NULL
+);
+
+CREATE TABLE hsearch_outbox_event
+(
+    entity_id_hash INT            NOT NULL,
+    retries        INT            NOT NULL,
+    process_after  TIMESTAMPTZ(6) NOT NULL,
+    id             UUID PRIMARY KEY,
+    entity_id      VARCHAR(256)   NOT NULL,
+    entity_name    VARCHAR(256)   NOT NULL,
+    status         VARCHAR(255)   NOT NULL CHECK (status IN ('PENDING', 'ABORTED')),
+    tenant_id      VARCHAR(255)   NULL,
+    payload        BYTEA          NOT NULL
+);
+
+CREATE INDEX "entityIdHash" ON hsearch_outbox_event (entity_id_hash);
+CREATE INDEX status ON hsearch_outbox_event (status);
+CREATE INDEX "processAfter" ON hsearch_outbox_event (process_after);
+
+CREATE TABLE index_watermark
+(
+    entity_name   VARCHAR PRIMARY KEY,
+    indexed_until TIMESTAMP NOT NULL
+);
+
+-- Incremental reindexing selects the rows updated since the last watermark.
+CREATE INDEX ON user_account (updated_at);
+CREATE INDEX ON patient (updated_at);
+CREATE INDEX ON doctor (updated_at);
+CREATE INDEX ON appointment (updated_at);
+CREATE INDEX ON medical_record (updated_at);
+CREATE INDEX ON prescription (updated_at);
+CREATE INDEX ON billing (updated_at);
+
+-- Composite indexes for the filter endpoints: an equality column followed by the range or sort column that usually goes with it.
+CREATE INDEX ON appointment (patient_id, appointment_date);
+CREATE INDEX ON appointment (doctor_id, appointment_date);
+CREATE INDEX ON appointment (status, appointment_date);
+CREATE INDEX ON billing (patient_id, billing_date);
+CREATE INDEX ON billing (appointment_id, billing_date);
+CREATE INDEX ON billing (status, billing_date);
+CREATE INDEX ON medical_record (patient_id, record_date);
+CREATE INDEX ON prescription (appointment_id, created_at);
+CREATE INDEX ON patient (user_account_id);
+CREATE INDEX ON doctor (user_account_id);
+
+-- Doctor email is the natural id cached by Hibernate, so it has to be unique.
+CREATE UNIQUE INDEX ON doctor (email);
+
 ALTER TABLE patient
     ADD FOREIGN KEY (user_account_id) REFERENCES user_account (id);
 
@@ -0,0 +1,43 @@
+package com.vbatecan.patient_management_system.model.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static com.vbatecan.patient_management_system.model.enums.AppointmentStatus.CANCELLED;
+import static com.vbatecan.patient_management_system.model.enums.AppointmentStatus.COMPLETED;
+import static com.vbatecan.patient_management_system.model.enums.AppointmentStatus.NOT_SCHEDULED;
+import static com.vbatecan.patient_management_system.model.enums.AppointmentStatus.SCHEDULED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppointmentStatusTest {
+
+	@Test
+	void movesAScheduledAppointmentAnywhereElse() {
+		assertThat(SCHEDULED.canTransitionTo(COMPLETED)).isTrue();
+		assertThat(SCHEDULED.canTransitionTo(CANCELLED)).isTrue();
+		assertThat(SCHEDULED.canTransitionTo(NOT_SCHEDULED)).isTrue();
+		assertThat(SCHEDULED.canTransitionTo(SCHEDULED)).isFalse();
+	}
+
+	@Test
+	void schedulesOrCancelsAnUnscheduledAppointment() {
+		assertThat(NOT_SCHEDULED.canTransitionTo(SCHEDULED)).isTrue();
+		assertThat(NOT_SCHEDULED.canTransitionTo(CANCELLED)).isTrue();
+		assertThat(NOT_SCHEDULED.canTransitionTo(COMPLETED)).isFalse();
+	}
+
+	@Test
+	void neverMovesACompletedOrCancelledAppointment() {
+		for ( AppointmentStatus target : AppointmentStatus.values() ) {
+			assertThat(COMPLETED.canTransitionTo(target)).isFalse();
+			assertThat(CANCELLED.canTransitionTo(target)).isFalse();
+		}
+	}
+
+	@Test
+	void listsTheStatusesThatCanReachATarget() {
+		assertThat(AppointmentStatus.sourcesOf(SCHEDULED)).containsExactly(NOT_SCHEDULED);
+		assertThat(AppointmentStatus.sourcesOf(COMPLETED)).containsExactly(SCHEDULED);
+		assertThat(AppointmentStatus.sourcesOf(CANCELLED)).containsExactlyInAnyOrder(SCHEDULED, NOT_SCHEDULED);
+		assertThat(AppointmentStatus.sourcesOf(NOT_SCHEDULED)).containsExactly(SCHEDULED);
+	}
+}
@@ -0,0 +1,42 @@
+package com.vbatecan.patient_management_system.model.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static com.vbatecan.patient_management_system.model.enums.BillingStatus.CANCELLED;
+import static com.vbatecan.patient_management_system.model.enums.BillingStatus.PAID;
+import static com.vbatecan.patient_management_system.model.enums.BillingStatus.PENDING;
+import static com.vbatecan.patient_management_system.model.enums.BillingStatus.REFUNDED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BillingStatusTest {
+
+	@Test
+	void paysOrCancelsAPendingBilling() {
+		assertThat(PENDING.canTransitionTo(PAID)).isTrue();
+		assertThat(PENDING.canTransitionTo(CANCELLED)).isTrue();
+		assertThat(PENDING.canTransitionTo(REFUNDED)).isFalse();
+	}
+
+	@Test
+	void onlyRefundsAPaidBilling() {
+		assertThat(PAID.canTransitionTo(REFUNDED)).isTrue();
+		assertThat(PAID.canTransitionTo(CANCELLED)).isFalse();
+		assertThat(PAID.canTransitionTo(PENDING)).isFalse();
+	}
+
+	@Test
+	void neverMovesACancelledOrRefundedBilling() {
+		for ( BillingStatus target : BillingStatus.values() ) {
+			assertThat(CANCELLED.canTransitionTo(target)).isFalse();
+			assertThat(REFUNDED.canTransitionTo(target)).isFalse();
+		}
+	}
+
+	@Test
+	void listsTheStatusesThatCanReachATarget() {
+		assertThat(BillingStatus.sourcesOf(PAID)).containsExactly(PENDING);
+		assertThat(BillingStatus.sourcesOf(CANCELLED)).containsExactly(PENDING);
+		assertThat(BillingStatus.sourcesOf(REFUNDED)).containsExactly(PAID);
+		assertThat(BillingStatus.sourcesOf(PENDING)).isEmpty();
+	}
+}
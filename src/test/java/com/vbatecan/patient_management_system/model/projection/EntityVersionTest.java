@@ -0,0 +1,46 @@
+package com.vbatecan.patient_management_system.model.projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityVersionTest {
+
+	private static final LocalDateTime EARLIER = LocalDateTime.of(1970, 1, 1, 0, 0, 1);
+	private static final LocalDateTime LATER = LocalDateTime.of(2026, 3, 14, 9, 30);
+
+	@Test
+	void tagsTheIdFollowedByEveryTimestampInMicroseconds() {
+		EntityVersion version = new EntityVersion(Arrays.asList(EARLIER, null));
+
+		assertThat(version.eTag(7)).isEqualTo("\"7-f4240-0\"");
+	}
+
+	@Test
+	void changesTheTagWhenAnyTimestampChanges() {
+		String tag = new EntityVersion(List.of(LATER, EARLIER)).eTag(7);
+
+		assertThat(new EntityVersion(List.of(LATER.plusNanos(1_000), EARLIER)).eTag(7)).isNotEqualTo(tag);
+		assertThat(new EntityVersion(List.of(LATER, EARLIER.plusSeconds(1))).eTag(7)).isNotEqualTo(tag);
+		assertThat(new EntityVersion(List.of(EARLIER, LATER)).eTag(7)).isNotEqualTo(tag);
+		assertThat(new EntityVersion(List.of(LATER, EARLIER)).eTag(8)).isNotEqualTo(tag);
+	}
+
+	@Test
+	void lastModifiedIsTheLatestTimestamp() {
+		EntityVersion version = new EntityVersion(Arrays.asList(EARLIER, null, LATER));
+
+		assertThat(version.lastModified()).isEqualTo(LATER.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+	}
+
+	@Test
+	void lastModifiedIsNegativeWithoutTimestamps() {
+		assertThat(new EntityVersion(Arrays.asList(null, null)).lastModified()).isEqualTo(-1);
+		assertThat(new EntityVersion(List.of()).lastModified()).isEqualTo(-1);
+	}
+}
@@ -0,0 +1,123 @@
+package com.vbatecan.patient_management_system.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.responses.CursorSlice;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CursorCodecTest {
+
+	private static final Set<String> SORTABLE = Set.of("appointmentDate");
+	private static final LocalDateTime DATE = LocalDateTime.of(2026, 3, 14, 9, 30);
+
+	private final CursorCodec cursorCodec = new CursorCodec(new ObjectMapper());
+
+	@Test
+	void startsFromTheBeginningWithoutAToken() {
+		CursorRequest request = cursorCodec.decode(null, 20, Sort.by("appointmentDate"), Appointment.class, SORTABLE);
+
+		assertThat(request.position().isInitial()).isTrue();
+		assertThat(request.limit().max()).isEqualTo(20);
+		assertThat(request.sort()).containsExactly(Sort.Order.asc("appointmentDate"), Sort.Order.asc("id"));
+	}
+
+	@Test
+	void clampsTheSize() {
+		assertThat(cursorCodec.decode(null, 0, Sort.unsorted(), Appointment.class, SORTABLE).limit().max()).isEqualTo(1);
+		assertThat(cursorCodec.decode(null, 1_000, Sort.unsorted(), Appointment.class, SORTABLE).limit().max()).isEqualTo(CursorCodec.MAX_SIZE);
+	}
+
+	@Test
+	void doesNotAppendTheIdTwice() {
+		CursorRequest request = cursorCodec.decode(null, 20, Sort.by(Sort.Direction.DESC, "id"), Appointment.class, SORTABLE);
+
+		assertThat(request.sort()).containsExactly(Sort.Order.desc("id"));
+	}
+
+	@Test
+	void rejectsAPropertyThatIsNotSortable() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> cursorCodec.decode(null, 20, Sort.by("reason"), Appointment.class, SORTABLE));
+	}
+
+	@Test
+	void resumesAfterTheLastRowOfTheSlice() {
+		CursorRequest first = cursorCodec.decode(null, 2, Sort.by(Sort.Direction.DESC, "appointmentDate"), Appointment.class, SORTABLE);
+		Window<String> window = Window.from(
+			List.of("a", "b"),
+			index -> ScrollPosition.forward(Map.of("appointmentDate", DATE.plusDays(index), "id", 10 + index)),
+			true
+		);
+
+		CursorSlice<String> slice = cursorCodec.toSlice(window, first, String::toUpperCase);
+		assertThat(slice.getContent()).containsExactly("A", "B");
+		assertThat(slice.getHasNext()).isTrue();
+		assertThat(slice.getNextCursor()).isNotNull();
+
+		// The sort of the token wins over the one of the request
+		CursorRequest next = cursorCodec.decode(slice.getNextCursor(), 2, Sort.by("id"), Appointment.class, SORTABLE);
+		assertThat(next.sort()).containsExactly(Sort.Order.desc("appointmentDate"), Sort.Order.asc("id"));
+		KeysetScrollPosition position = (KeysetScrollPosition) next.position();
+		assertThat(position.getDirection()).isEqualTo(ScrollPosition.Direction.FORWARD);
+		assertThat(position.getKeys()).containsExactly(
+			Map.entry("appointmentDate", DATE.plusDays(1)),
+			Map.entry("id", 11)
+		);
+	}
+
+	@Test
+	void hasNoCursorOnTheLastSlice() {
+		CursorRequest request = cursorCodec.decode(null, 2, Sort.unsorted(), Appointment.class, SORTABLE);
+		Window<String> window = Window.from(List.of("a"), index -> ScrollPosition.forward(Map.of("id", 1)), false);
+
+		CursorSlice<String> slice = cursorCodec.toSlice(window, request, String::toUpperCase);
+
+		assertThat(slice.getHasNext()).isFalse();
+		assertThat(slice.getNextCursor()).isNull();
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> cursorCodec.decode("not a token", 20, Sort.unsorted(), Appointment.class, SORTABLE));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> cursorCodec.decode(token("{\"sort\":"), 20, Sort.unsorted(), Appointment.class, SORTABLE));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> cursorCodec.decode(token("{}"), 20, Sort.unsorted(), Appointment.class, SORTABLE));
+	}
+
+	@Test
+	void rejectsATokenMissingASortKey() {
+		String token = token("{\"sort\":[\"appointmentDate,ASC\",\"id,ASC\"],\"keys\":{\"id\":\"4\"}}");
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> cursorCodec.decode(token, 20, Sort.unsorted(), Appointment.class, SORTABLE))
+			.withMessageContaining("appointmentDate");
+	}
+
+	@Test
+	void rejectsATokenSortedByAPropertyThatIsNotSortable() {
+		String token = token("{\"sort\":[\"reason,ASC\",\"id,ASC\"],\"keys\":{\"reason\":\"x\",\"id\":\"4\"}}");
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> cursorCodec.decode(token, 20, Sort.unsorted(), Appointment.class, SORTABLE));
+	}
+
+	private static String token(String json) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,95 @@
+package com.vbatecan.patient_management_system.pagination;
+
+import com.vbatecan.patient_management_system.repository.BaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PageLoaderTest {
+
+	private static final Pageable FIRST_PAGE = PageRequest.of(0, 2);
+
+	private final PageLoader pageLoader = new PageLoader(Duration.ofSeconds(30), 10_000);
+	private BaseRepository<String, Integer> repository;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void mockRepository() {
+		repository = mock(BaseRepository.class);
+		when(repository.findSlice(isNull(), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of("a", "b"), FIRST_PAGE, true));
+		when(repository.count()).thenReturn(10L);
+		when(repository.estimateCount()).thenReturn(8L);
+	}
+
+	@Test
+	void countsEveryPageWhenExact() {
+		assertThat(total(TotalCount.EXACT)).isEqualTo(10);
+		when(repository.count()).thenReturn(11L);
+		assertThat(total(TotalCount.EXACT)).isEqualTo(11);
+
+		verify(repository, times(2)).count();
+	}
+
+	@Test
+	void reusesTheCountWhenCached() {
+		assertThat(total(TotalCount.CACHED)).isEqualTo(10);
+		when(repository.count()).thenReturn(11L);
+		assertThat(total(TotalCount.CACHED)).isEqualTo(10);
+
+		verify(repository, times(1)).count();
+	}
+
+	@Test
+	void usesThePlannerEstimateWhenApproximate() {
+		assertThat(total(TotalCount.APPROXIMATE)).isEqualTo(8);
+
+		verify(repository, never()).count();
+	}
+
+	@Test
+	void neverReportsFewerRowsThanThePageShows() {
+		when(repository.estimateCount()).thenReturn(0L);
+
+		// Two rows on the page and a next one
+		assertThat(total(TotalCount.APPROXIMATE)).isEqualTo(3);
+	}
+
+	@Test
+	void runsNoCountWithoutATotal() {
+		Slice<String> slice = pageLoader.load(repository, null, "entity", FIRST_PAGE, TotalCount.NONE);
+
+		assertThat(slice).isNotInstanceOf(Page.class);
+		verify(repository, never()).count();
+		verify(repository, never()).estimateCount();
+	}
+
+	@Test
+	void picksTheModeFromTheRequestFlags() {
+		assertThat(TotalCount.of(false, true, true)).isEqualTo(TotalCount.NONE);
+		assertThat(TotalCount.of(true, true, true)).isEqualTo(TotalCount.APPROXIMATE);
+		assertThat(TotalCount.of(true, false, true)).isEqualTo(TotalCount.CACHED);
+		assertThat(TotalCount.of(true, false, false)).isEqualTo(TotalCount.EXACT);
+	}
+
+	private long total(TotalCount totalCount) {
+		Slice<String> slice = pageLoader.load(repository, null, "entity", FIRST_PAGE, totalCount);
+		assertThat(slice).isInstanceOf(Page.class);
+		return ((Page<String>) slice).getTotalElements();
+	}
+}
@@ -0,0 +1,144 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.entities.UserAccount;
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
+import com.vbatecan.patient_management_system.model.enums.Gender;
+import com.vbatecan.patient_management_system.model.enums.Role;
+import com.vbatecan.patient_management_system.model.filter.AppointmentFilter;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class AppointmentRepositoryTest extends RepositoryTest {
+
+	private static final int APPOINTMENTS = 100;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	private final PageLoader pageLoader = new PageLoader(Duration.ofSeconds(30), 10_000);
+	private Integer appointmentId;
+
+	@BeforeEach
+	void createAppointments() {
+		for ( int i = 0; i < APPOINTMENTS; i++ ) {
+			Patient patient = new Patient();
+			patient.setUserAccount(persistUserAccount("patient" + i, Role.PATIENT));
+			patient.setFirstName("Patient");
+			patient.setLastName("Number" + i);
+			patient.setDateOfBirth(LocalDate.of(1990, 1, 1));
+			patient.setGender(Gender.FEMALE);
+			entityManager.persist(patient);
+
+			Doctor doctor = new Doctor();
+			doctor.setUserAccount(persistUserAccount("doctor" + i, Role.DOCTOR));
+			doctor.setFirstName("Doctor");
+			doctor.setLastName("Number" + i);
+			doctor.setEmail("doctor" + i + "@example.com");
+			entityManager.persist(doctor);
+
+			Appointment appointment = new Appointment();
+			appointment.setPatient(patient);
+			appointment.setDoctor(doctor);
+			appointment.setAppointmentDate(LocalDateTime.of(2026, 1, 1, 9, 0).plusHours(i));
+			entityManager.persist(appointment);
+			appointmentId = appointment.getId();
+		}
+	}
+
+	@Test
+	void loadsAPageWithItsParticipantsInTheSameNumberOfStatementsForAnyPageSize() {
+		long smallPage = statementsToLoadPage(10);
+		long largePage = statementsToLoadPage(50);
+
+		// The rows with their participants and user accounts, then the count
+		assertThat(smallPage).isEqualTo(2);
+		assertThat(largePage).isEqualTo(smallPage);
+	}
+
+	@Test
+	void updatesTheStatusInOneStatement() {
+		long statements = countStatements(() -> assertThat(appointmentRepository.updateStatus(appointmentId, "COMPLETED", List.of("SCHEDULED"), LocalDateTime.now()))
+			.hasValueSatisfying(appointment -> assertThat(appointment.getStatus()).isEqualTo("COMPLETED")));
+
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	void findsNoRowToUpdateInOneStatement() {
+		long statements = countStatements(() -> assertThat(appointmentRepository.updateStatus(-1, "COMPLETED", List.of("SCHEDULED"), LocalDateTime.now())).isEmpty());
+
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	void leavesARowWhoseStatusCannotMove() {
+		long statements = countStatements(() -> assertThat(appointmentRepository.updateStatus(appointmentId, "SCHEDULED", List.of("NOT_SCHEDULED"), LocalDateTime.now())).isEmpty());
+
+		assertThat(statements).isEqualTo(1);
+		assertThat(appointmentRepository.findById(appointmentId)).hasValueSatisfying(appointment -> assertThat(appointment.getStatus()).isEqualTo("SCHEDULED"));
+	}
+
+	@Test
+	void refusesABulkUpdateFilteredOnlyByStatus() {
+		AppointmentFilter filter = AppointmentFilter.builder().status("SCHEDULED").build();
+
+		long statements = countStatements(() -> assertThatIllegalArgumentException()
+			.isThrownBy(() -> appointmentRepository.updateStatuses(filter, Set.of(AppointmentStatus.SCHEDULED), AppointmentStatus.CANCELLED, LocalDateTime.now())));
+
+		assertThat(statements).isZero();
+		assertThat(appointmentRepository.findById(appointmentId)).hasValueSatisfying(appointment -> assertThat(appointment.getStatus()).isEqualTo("SCHEDULED"));
+	}
+
+	@Test
+	void deletesInOneStatement() {
+		long statements = countStatements(() -> assertThat(appointmentRepository.deleteDirectlyById(appointmentId)).isEqualTo(1));
+
+		assertThat(statements).isEqualTo(1);
+		assertThat(appointmentRepository.existsById(appointmentId)).isFalse();
+	}
+
+	@Test
+	void findsNoRowToDeleteInOneStatement() {
+		long statements = countStatements(() -> assertThat(appointmentRepository.deleteDirectlyById(-1)).isZero());
+
+		assertThat(statements).isEqualTo(1);
+	}
+
+	private long statementsToLoadPage(int size) {
+		return countStatements(() -> {
+			Slice<Appointment> page = pageLoader.load(appointmentRepository, null, "appointment", PageRequest.of(0, size), TotalCount.EXACT);
+			assertThat(page.getContent()).hasSize(size).allSatisfy(appointment -> {
+				assertThat(Hibernate.isInitialized(appointment.getPatient())).isTrue();
+				assertThat(Hibernate.isInitialized(appointment.getDoctor())).isTrue();
+				assertThat(appointment.getPatient().getUserAccount().getUsername()).startsWith("patient");
+				assertThat(appointment.getDoctor().getUserAccount().getUsername()).startsWith("doctor");
+			});
+		});
+	}
+
+	private UserAccount persistUserAccount(String username, Role role) {
+		UserAccount userAccount = new UserAccount();
+		userAccount.setUsername(username);
+		userAccount.setPassword("{noop}secret");
+		userAccount.setRole(role);
+		return entityManager.persist(userAccount);
+	}
+}
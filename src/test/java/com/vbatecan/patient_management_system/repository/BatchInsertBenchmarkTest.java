@@ -0,0 +1,89 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times inserting appointments through JPA in transactions of {@link #CHUNK_SIZE}, flushed and cleared like the bulk
+ * import does, once with {@code hibernate.jdbc.batch_size} and once with batching turned off for the session, which is
+ * what every insert got while ids came from identity columns. Ids come from the pooled sequences in both runs.
+ * Excluded from {@code test}, run it with {@code ./gradlew benchmark}; {@code -Dbenchmark.inserts} sets the number of
+ * appointments per run.
+ */
+@Tag("benchmark")
+class BatchInsertBenchmarkTest extends BenchmarkTest {
+
+	private static final int APPOINTMENTS = Integer.getInteger("benchmark.inserts", 100_000);
+	private static final int PATIENTS = 20_000;
+	private static final int DOCTORS = 200;
+	private static final int CHUNK_SIZE = 1000;
+	private static final String[] REASONS = { "Check-up", "Follow-up visit", "Lab results", "Vaccination" };
+
+	// Indexing would cost the same in both runs and hide the difference, the indexing benchmarks measure it.
+	@DynamicPropertySource
+	static void withoutIndexing(DynamicPropertyRegistry registry) {
+		registry.add("spring.jpa.properties.hibernate.search.indexing.listeners.enabled", () -> "false");
+	}
+
+	@Test
+	void timesAppointmentInserts() {
+		seedPatients(PATIENTS);
+		seedDoctors(DOCTORS);
+		// Warms up both paths, then starts from an empty table again.
+		insert(CHUNK_SIZE * 10, 1);
+		insert(CHUNK_SIZE * 10, null);
+		execute("DELETE FROM appointment");
+
+		System.out.printf("Inserting %,d appointments in transactions of %,d%n", APPOINTMENTS, CHUNK_SIZE);
+		long unbatched = insert(APPOINTMENTS, 1);
+		System.out.printf("%-24s %8.3f s   %,9.0f rows/s%n", "one insert per statement", unbatched / 1e9, APPOINTMENTS / (unbatched / 1e9));
+		long batched = insert(APPOINTMENTS, null);
+		System.out.printf("%-24s %8.3f s   %,9.0f rows/s   %.1fx%n", "jdbc batches", batched / 1e9, APPOINTMENTS / (batched / 1e9), (double) unbatched / batched);
+
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM appointment", Long.class)).isEqualTo(2L * APPOINTMENTS);
+	}
+
+	/**
+	 * @param batchSize the session's JDBC batch size, or {@code null} for the configured one.
+	 * @return the nanoseconds taken.
+	 */
+	private long insert(int count, Integer batchSize) {
+		long start = System.nanoTime();
+		for ( int first = 0; first < count; first += CHUNK_SIZE ) {
+			int from = first;
+			int to = Math.min(count, first + CHUNK_SIZE);
+			transactionTemplate.executeWithoutResult(status -> {
+				Session session = entityManager.getEntityManager().unwrap(Session.class);
+				session.setJdbcBatchSize(batchSize);
+				for ( int i = from; i < to; i++ ) {
+					session.persist(appointment(session, i));
+				}
+				session.flush();
+				session.clear();
+			});
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static Appointment appointment(Session session, int i) {
+		Appointment appointment = new Appointment();
+		appointment.setPatient(session.getReference(Patient.class, i % PATIENTS + 1));
+		appointment.setDoctor(session.getReference(Doctor.class, i % DOCTORS + 1));
+		appointment.setAppointmentDate(LocalDateTime.of(2024, 1, 1, 8, 0).plusDays(i % 730).plusHours(i % 9));
+		appointment.setReason(REASONS[i % REASONS.length]);
+		appointment.setStatus("SCHEDULED");
+		appointment.setCreatedAt(LocalDateTime.now());
+		appointment.setUpdatedAt(LocalDateTime.now());
+		return appointment;
+	}
+}
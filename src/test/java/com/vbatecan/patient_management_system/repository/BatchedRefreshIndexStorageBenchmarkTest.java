@@ -0,0 +1,20 @@
+package com.vbatecan.patient_management_system.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+/**
+ * Indexes on disk, memory-mapped, with the refresh and commit intervals configured for the appointment index.
+ */
+@Tag("benchmark")
+class BatchedRefreshIndexStorageBenchmarkTest extends IndexStorageBenchmarkTest {
+
+	@DynamicPropertySource
+	static void filesystemDirectory(DynamicPropertyRegistry registry) throws IOException {
+		onFilesystem(registry);
+		appointmentIntervals(registry, 1000, 5000);
+	}
+}
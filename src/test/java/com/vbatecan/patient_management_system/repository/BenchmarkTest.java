@@ -0,0 +1,129 @@
+package com.vbatecan.patient_management_system.repository;
+
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Base of the benchmarks that need their data committed, because the mass indexer reads it in its own transactions or
+ * because what is measured happens at commit. Test methods run outside of a transaction and open their own through
+ * {@link #transactionTemplate}. The {@code benchmark} task runs every class in its own JVM and container, so nothing
+ * committed here reaches another class, and a subclass may import the services it measures into its own application
+ * context without clashing with the second-level cache regions of another.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+abstract class BenchmarkTest extends RepositoryTest {
+
+	protected static final String[] FIRST_NAMES = {
+		"James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+		"David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+		"Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Betty", "Anthony", "Margaret", "Mark", "Sandra",
+		"Maria", "Jose", "Juan", "Ana", "Luis", "Carmen", "Miguel", "Rosa", "Angelo", "Cristina"
+	};
+
+	protected static final String[] LAST_NAMES = {
+		"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+		"Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+		"Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+		"Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+		"Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+		"Santos", "Reyes", "Cruz", "Bautista", "Ocampo", "Mendoza", "Villanueva", "Castillo", "Aquino", "Navarro"
+	};
+
+	protected static final String[] SPECIALTIES = {
+		"Cardiology", "Dermatology", "Family Medicine", "Internal Medicine", "Neurology", "Obstetrics and Gynecology",
+		"Ophthalmology", "Orthopedics", "Pediatrics", "Psychiatry", "Radiology", "General Surgery"
+	};
+
+	@Autowired
+	protected JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	protected TransactionTemplate transactionTemplate;
+
+	/**
+	 * Inserts patients with ids 1 to {@code count}, every pair of first and last name about equally often, and moves
+	 * the sequence past them.
+	 */
+	protected void seedPatients(int count) {
+		execute("INSERT INTO patient (id, first_name, last_name, date_of_birth, gender, contact_number, email, address, created_at, updated_at) "
+			+ "SELECT i, (" + array(FIRST_NAMES) + ")[i % " + FIRST_NAMES.length + " + 1], "
+			+ "(" + array(LAST_NAMES) + ")[i / " + FIRST_NAMES.length + " % " + LAST_NAMES.length + " + 1], "
+			+ "DATE '1940-01-01' + (i % 30000), CASE WHEN i % 2 = 0 THEN 'MALE' ELSE 'FEMALE' END, "
+			+ "'09' || lpad((i::bigint * 7919 % 1000000000)::text, 9, '0'), 'patient' || i || '@example.com', "
+			+ "i || ' Rizal Street', now(), now() "
+			+ "FROM generate_series(1, " + count + ") AS i");
+		execute("SELECT setval('patient_seq', " + count + ")");
+		execute("ANALYZE patient");
+	}
+
+	/**
+	 * Inserts doctors with ids 1 to {@code count}, spread over the specialties, and moves the sequence past them.
+	 */
+	protected void seedDoctors(int count) {
+		execute("INSERT INTO doctor (id, first_name, last_name, specialty, contact_number, email, created_at, updated_at) "
+			+ "SELECT i, (" + array(FIRST_NAMES) + ")[i % " + FIRST_NAMES.length + " + 1], "
+			+ "(" + array(LAST_NAMES) + ")[i % " + LAST_NAMES.length + " + 1], "
+			+ "(" + array(SPECIALTIES) + ")[i % " + SPECIALTIES.length + " + 1], "
+			+ "'02' || lpad(i::text, 8, '0'), 'doctor' || i || '@example.com', now(), now() "
+			+ "FROM generate_series(1, " + count + ") AS i");
+		execute("SELECT setval('doctor_seq', " + count + ")");
+		execute("ANALYZE doctor");
+	}
+
+	/**
+	 * Inserts appointments with ids 1 to {@code count}, spread over the seeded patients and doctors, two years of dates
+	 * from 2024 and the statuses, and moves the sequence past them.
+	 */
+	protected void seedAppointments(int count, int patients, int doctors) {
+		execute("INSERT INTO appointment (id, patient_id, doctor_id, appointment_date, reason, status, created_at, updated_at) "
+			+ "SELECT i, i % " + patients + " + 1, i % " + doctors + " + 1, "
+			+ "TIMESTAMP '2024-01-01 08:00' + (i % 730) * INTERVAL '1 day' + (i % 9) * INTERVAL '1 hour', "
+			+ "(ARRAY['Check-up', 'Follow-up visit', 'Lab results', 'Vaccination'])[i % 4 + 1], "
+			+ "(ARRAY['SCHEDULED', 'COMPLETED', 'CANCELLED', 'NOT_SCHEDULED'])[i % 4 + 1], now(), now() "
+			+ "FROM generate_series(1, " + count + ") AS i");
+		execute("SELECT setval('appointment_seq', " + count + ")");
+		execute("ANALYZE appointment");
+	}
+
+	/**
+	 * Builds the indexes of the given entities from the committed rows.
+	 */
+	protected void index(Class<?>... types) throws InterruptedException {
+		long start = System.nanoTime();
+		Search.mapping(entityManagerFactory).scope(Arrays.asList(types)).massIndexer().startAndWait();
+		System.out.printf("Indexed %s in %.1f s%n",
+			Arrays.stream(types).map(Class::getSimpleName).collect(Collectors.joining(", ")), (System.nanoTime() - start) / 1e9);
+	}
+
+	protected void execute(String sql) {
+		jdbcTemplate.execute(sql);
+	}
+
+	/**
+	 * Prints the median, 95th and 99th percentile and maximum of the timings, which it sorts.
+	 */
+	protected static void report(String label, long[] nanos) {
+		Arrays.sort(nanos);
+		System.out.printf("%-36s median %8.3f ms   p95 %8.3f ms   p99 %8.3f ms   max %8.3f ms%n",
+			label,
+			millis(nanos[nanos.length / 2]),
+			millis(nanos[nanos.length * 95 / 100]),
+			millis(nanos[nanos.length * 99 / 100]),
+			millis(nanos[nanos.length - 1]));
+	}
+
+	protected static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static String array(String[] values) {
+		return Arrays.stream(values).map(value -> "'" + value + "'").collect(Collectors.joining(", ", "ARRAY[", "]"));
+	}
+}
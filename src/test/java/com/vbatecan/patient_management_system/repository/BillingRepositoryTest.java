@@ -0,0 +1,85 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Billing;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.enums.BillingStatus;
+import com.vbatecan.patient_management_system.model.enums.Gender;
+import com.vbatecan.patient_management_system.model.filter.BillingFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class BillingRepositoryTest extends RepositoryTest {
+
+	@Autowired
+	private BillingRepository billingRepository;
+
+	private Integer billingId;
+
+	@BeforeEach
+	void createBilling() {
+		Patient patient = new Patient();
+		patient.setFirstName("Billed");
+		patient.setLastName("Patient");
+		patient.setDateOfBirth(LocalDate.of(1985, 6, 1));
+		patient.setGender(Gender.MALE);
+		entityManager.persist(patient);
+
+		Billing billing = new Billing();
+		billing.setPatient(patient);
+		billing.setAmount(new BigDecimal("120.00"));
+		billing.setBillingDate(LocalDateTime.of(2026, 2, 1, 10, 0));
+		billingId = entityManager.persistAndGetId(billing, Integer.class);
+	}
+
+	@Test
+	void updatesTheStatusInOneStatement() {
+		long statements = countStatements(() -> assertThat(billingRepository.updateStatus(billingId, "PAID", List.of("PENDING"), LocalDateTime.now()))
+			.hasValueSatisfying(billing -> assertThat(billing.getStatus()).isEqualTo("PAID")));
+
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	void findsNoRowToUpdateInOneStatement() {
+		long statements = countStatements(() -> assertThat(billingRepository.updateStatus(-1, "PAID", List.of("PENDING"), LocalDateTime.now())).isEmpty());
+
+		assertThat(statements).isEqualTo(1);
+	}
+
+	@Test
+	void leavesARowWhoseStatusCannotMove() {
+		long statements = countStatements(() -> assertThat(billingRepository.updateStatus(billingId, "REFUNDED", List.of("PAID"), LocalDateTime.now())).isEmpty());
+
+		assertThat(statements).isEqualTo(1);
+		assertThat(billingRepository.findById(billingId)).hasValueSatisfying(billing -> assertThat(billing.getStatus()).isEqualTo("PENDING"));
+	}
+
+	@Test
+	void refusesABulkUpdateFilteredOnlyByStatus() {
+		BillingFilter filter = BillingFilter.builder().status("PENDING").build();
+
+		long statements = countStatements(() -> assertThatIllegalArgumentException()
+			.isThrownBy(() -> billingRepository.updateStatuses(filter, Set.of(BillingStatus.PENDING), BillingStatus.PAID, LocalDateTime.now())));
+
+		assertThat(statements).isZero();
+		assertThat(billingRepository.findById(billingId)).hasValueSatisfying(billing -> assertThat(billing.getStatus()).isEqualTo("PENDING"));
+	}
+
+	@Test
+	void deletesInOneStatement() {
+		long statements = countStatements(() -> assertThat(billingRepository.deleteDirectlyById(billingId)).isEqualTo(1));
+
+		assertThat(statements).isEqualTo(1);
+		assertThat(billingRepository.existsById(billingId)).isFalse();
+	}
+}
@@ -0,0 +1,101 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.mapper.AppointmentMapper;
+import com.vbatecan.patient_management_system.mapper.DoctorMapper;
+import com.vbatecan.patient_management_system.mapper.PatientMapper;
+import com.vbatecan.patient_management_system.mapper.UserAccountMapper;
+import com.vbatecan.patient_management_system.model.responses.ImportResult;
+import com.vbatecan.patient_management_system.service.BulkImportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Enumeration;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times NDJSON imports of patients and then of appointments for them, with the configured chunk size and indexing at
+ * every chunk's commit. The input is generated while it is read, like a request body streamed by a client. The target
+ * is 20,000 rows/s. Excluded from {@code test}, run it with {@code ./gradlew benchmark}; {@code -Dbenchmark.imports}
+ * sets the number of rows per import.
+ */
+@Tag("benchmark")
+@Import({ BulkImportService.class, PatientMapper.class, AppointmentMapper.class, DoctorMapper.class, UserAccountMapper.class })
+@ImportAutoConfiguration({ JacksonAutoConfiguration.class, ValidationAutoConfiguration.class })
+class BulkImportBenchmarkTest extends BenchmarkTest {
+
+	private static final int ROWS = Integer.getInteger("benchmark.imports", 200_000);
+	private static final int DOCTORS = 200;
+	private static final int WARMUP_ROWS = 10_000;
+
+	@Autowired
+	private BulkImportService bulkImportService;
+
+	@Test
+	void timesPatientAndAppointmentImports() throws IOException {
+		seedDoctors(DOCTORS);
+		bulkImportService.importPatients(ndjson(WARMUP_ROWS, BulkImportBenchmarkTest::patientRow));
+
+		System.out.printf("NDJSON imports of %,d rows%n", ROWS);
+		timeImport("patients", () -> bulkImportService.importPatients(ndjson(ROWS, BulkImportBenchmarkTest::patientRow)));
+		int[] patientIds = jdbcTemplate.queryForList("SELECT id FROM patient ORDER BY id", Integer.class).stream().mapToInt(Integer::intValue).toArray();
+		timeImport("appointments", () -> bulkImportService.importAppointments(ndjson(ROWS, i -> appointmentRow(patientIds[i % patientIds.length]))));
+	}
+
+	private void timeImport(String label, ImportRun run) throws IOException {
+		long start = System.nanoTime();
+		ImportResult result = run.run();
+		long nanos = System.nanoTime() - start;
+
+		System.out.printf("%-14s %8.3f s   %,9.0f rows/s%n", label, nanos / 1e9, result.getImported() / (nanos / 1e9));
+		assertThat(result.getFailed()).as("rows of %s that failed", label).isZero();
+		assertThat(result.getImported()).isEqualTo(ROWS);
+	}
+
+	private static InputStream ndjson(int rows, IntFunction<String> row) {
+		return new SequenceInputStream(new Enumeration<>() {
+
+			private int next;
+
+			@Override
+			public boolean hasMoreElements() {
+				return next < rows;
+			}
+
+			@Override
+			public InputStream nextElement() {
+				return new ByteArrayInputStream((row.apply(next++) + "\n").getBytes(StandardCharsets.UTF_8));
+			}
+		});
+	}
+
+	private static String patientRow(int i) {
+		return "{\"firstName\":\"" + FIRST_NAMES[i % FIRST_NAMES.length] + "\",\"lastName\":\"" + LAST_NAMES[i % LAST_NAMES.length] + "\","
+			+ "\"dateOfBirth\":\"" + LocalDate.of(1940, 1, 1).plusDays(i % 30000) + "\",\"gender\":\"" + (i % 2 == 0 ? "MALE" : "FEMALE") + "\","
+			+ "\"contactNumber\":\"0917" + String.format("%07d", i % 10_000_000) + "\",\"email\":\"imported" + i + "@example.com\","
+			+ "\"address\":\"" + i + " Rizal Street\",\"emergencyContact\":\"Maria Santos 09177654321\"}";
+	}
+
+	private static String appointmentRow(int patientId) {
+		return "{\"appointmentDate\":\"" + LocalDateTime.of(2024, 1, 1, 8, 0).plusDays(patientId % 730) + "\",\"reason\":\"Check-up\","
+			+ "\"status\":\"COMPLETED\",\"patientId\":" + patientId + ",\"doctorId\":" + (patientId % DOCTORS + 1) + "}";
+	}
+
+	@FunctionalInterface
+	private interface ImportRun {
+		ImportResult run() throws IOException;
+	}
+}
@@ -0,0 +1,191 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.mapper.AppointmentMapper;
+import com.vbatecan.patient_management_system.mapper.DoctorMapper;
+import com.vbatecan.patient_management_system.mapper.PatientMapper;
+import com.vbatecan.patient_management_system.mapper.UserAccountMapper;
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.enums.Gender;
+import com.vbatecan.patient_management_system.model.responses.ImportResult;
+import com.vbatecan.patient_management_system.service.BulkImportService;
+import jakarta.validation.Validation;
+import org.hibernate.search.mapper.orm.Search;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Imports commit a transaction per chunk, so these tests run outside of the test transaction and delete what they
+ * imported afterwards, from the tables, the second-level cache and the indexes. The service is built by hand with a
+ * small chunk size, importing it would need an application context of its own.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkImportServiceTest extends RepositoryTest {
+
+	private static final int CHUNK_SIZE = 3;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Autowired
+	private UserAccountRepository userAccountRepository;
+
+	private BulkImportService bulkImportService;
+
+	@BeforeEach
+	void createService() {
+		UserAccountMapper userAccountMapper = new UserAccountMapper();
+		PatientMapper patientMapper = new PatientMapper(userAccountMapper);
+		bulkImportService = new BulkImportService(
+			Jackson2ObjectMapperBuilder.json().build(),
+			Validation.buildDefaultValidatorFactory().getValidator(),
+			transactionTemplate,
+			patientRepository,
+			doctorRepository,
+			userAccountRepository,
+			patientMapper,
+			new AppointmentMapper(patientMapper, new DoctorMapper(userAccountMapper)),
+			CHUNK_SIZE,
+			2
+		);
+		ReflectionTestUtils.setField(bulkImportService, "entityManager", SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+	}
+
+	@AfterEach
+	void deleteImported() {
+		jdbcTemplate.execute("DELETE FROM appointment");
+		jdbcTemplate.execute("DELETE FROM patient");
+		jdbcTemplate.execute("DELETE FROM doctor");
+		entityManagerFactory.getCache().evictAll();
+		Search.mapping(entityManagerFactory).scope(Object.class).workspace().purge();
+	}
+
+	@Test
+	void importsAJsonArrayOverSeveralChunks() throws IOException {
+		StringBuilder json = new StringBuilder("[");
+		for ( int i = 1; i <= 7; i++ ) {
+			json.append(i == 1 ? "" : ",").append(patientRow("Patient" + i));
+		}
+		json.append("]");
+
+		ImportResult result = bulkImportService.importPatients(input(json.toString()));
+
+		assertThat(result.getReceived()).isEqualTo(7);
+		assertThat(result.getImported()).isEqualTo(7);
+		assertThat(result.getFailed()).isZero();
+		assertThat(patientRepository.count()).isEqualTo(7);
+	}
+
+	@Test
+	void reportsInvalidNdjsonRowsAndImportsTheRest() throws IOException {
+		String ndjson = String.join("\n",
+			patientRow("Valid"),
+			patientRow(""),
+			patientRow("Valid"),
+			patientRow("Valid").replace("\"MALE\"", "\"OTHER\""),
+			patientRow("Valid").replace("\"dateOfBirth\":\"1990-05-17\"", "\"dateOfBirth\":\"not a date\""),
+			patientRow("Valid")
+		);
+
+		ImportResult result = bulkImportService.importPatients(input(ndjson));
+
+		assertThat(result.getReceived()).isEqualTo(6);
+		assertThat(result.getImported()).isEqualTo(3);
+		assertThat(result.getFailed()).isEqualTo(3);
+		assertThat(result.getErrors()).extracting(ImportResult.RowError::getRow).containsExactly(2L, 4L);
+		assertThat(result.getErrorsTruncated()).isTrue();
+		assertThat(patientRepository.count()).isEqualTo(3);
+	}
+
+	@Test
+	void stopsAtMalformedInputKeepingWhatWasImported() throws IOException {
+		ImportResult result = bulkImportService.importPatients(input("[" + patientRow("First") + ", {\"firstName\": "));
+
+		assertThat(result.getImported()).isEqualTo(1);
+		assertThat(result.getFailed()).isEqualTo(1);
+		assertThat(result.getErrors()).singleElement()
+			.satisfies(error -> assertThat(error.getMessage()).startsWith("Malformed input, import stopped"));
+		assertThat(patientRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void reportsAppointmentsOfUnknownPatientsOrDoctors() throws IOException {
+		int[] ids = transactionTemplate.execute(status -> {
+			Patient patient = new Patient();
+			patient.setFirstName("Patient");
+			patient.setLastName("Imported");
+			patient.setDateOfBirth(LocalDate.of(1990, 5, 17));
+			patient.setGender(Gender.MALE);
+			entityManager.persist(patient);
+
+			Doctor doctor = new Doctor();
+			doctor.setFirstName("Doctor");
+			doctor.setLastName("Imported");
+			doctor.setEmail("imported@example.com");
+			entityManager.persist(doctor);
+			return new int[] { patient.getId(), doctor.getId() };
+		});
+		int patientId = ids[0];
+		int doctorId = ids[1];
+
+		String ndjson = String.join("\n",
+			appointmentRow(patientId, doctorId),
+			appointmentRow(patientId + 1000, doctorId),
+			appointmentRow(patientId, doctorId + 1000),
+			appointmentRow(patientId, doctorId)
+		);
+
+		ImportResult result = bulkImportService.importAppointments(input(ndjson));
+
+		assertThat(result.getImported()).isEqualTo(2);
+		assertThat(result.getErrors())
+			.extracting(ImportResult.RowError::getRow, ImportResult.RowError::getMessage)
+			.containsExactly(
+				tuple(2L, "Patient not found with id: " + (patientId + 1000)),
+				tuple(3L, "Doctor not found with id: " + (doctorId + 1000))
+			);
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM appointment", Long.class)).isEqualTo(2);
+	}
+
+	private static String patientRow(String firstName) {
+		return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Imported\",\"dateOfBirth\":\"1990-05-17\",\"gender\":\"MALE\","
+			+ "\"contactNumber\":\"09171234567\",\"email\":\"imported@example.com\",\"address\":\"1 Rizal Street\","
+			+ "\"emergencyContact\":\"Maria Imported 09177654321\"}";
+	}
+
+	private static String appointmentRow(int patientId, int doctorId) {
+		return "{\"appointmentDate\":\"2024-03-04T09:30:00\",\"reason\":\"Check-up\",\"status\":\"COMPLETED\","
+			+ "\"patientId\":" + patientId + ",\"doctorId\":" + doctorId + "}";
+	}
+
+	private static InputStream input(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
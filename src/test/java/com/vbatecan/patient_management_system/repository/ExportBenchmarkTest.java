@@ -0,0 +1,94 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.enums.ExportFormat;
+import com.vbatecan.patient_management_system.service.ExportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a million patients, timing every format and checking that memory stays flat. The heap still in use after a
+ * collection is sampled all along the export and may not grow by more than {@link #MAX_RETAINED_GROWTH}: loaded and
+ * kept, a million patients take several hundred megabytes. Excluded from {@code test}, run it with
+ * {@code ./gradlew benchmark}; {@code -Dbenchmark.export.patients} sets the dataset size.
+ */
+@Tag("benchmark")
+@Import(ExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ExportBenchmarkTest extends BenchmarkTest {
+
+	private static final int PATIENTS = Integer.getInteger("benchmark.export.patients", 1_000_000);
+	private static final long MAX_RETAINED_GROWTH = 64L * 1024 * 1024;
+	private static final long SAMPLE_INTERVAL = 16L * 1024 * 1024;
+
+	@Autowired
+	private ExportService exportService;
+
+	@Test
+	void exportsPatientsInFlatMemory() throws IOException {
+		seedPatients(PATIENTS);
+
+		System.out.printf("Patient exports of %,d rows%n", PATIENTS);
+		for ( ExportFormat format : ExportFormat.values() ) {
+			for ( boolean gzip : new boolean[] { false, true } ) {
+				long start = System.nanoTime();
+				long rows = exportService.exportPatients(format, gzip, OutputStream.nullOutputStream());
+				long nanos = System.nanoTime() - start;
+
+				long before = retainedHeap();
+				RetainedHeapSampler sampler = new RetainedHeapSampler();
+				exportService.exportPatients(format, gzip, sampler);
+				long growth = Math.max(0, sampler.maxRetained - before);
+
+				System.out.printf("%-6s %-5s %8.3f s   %,9.0f rows/s   retained heap growth %6.1f MB over %d samples%n",
+					format, gzip ? "gzip" : "plain", nanos / 1e9, rows / (nanos / 1e9), growth / (1024.0 * 1024), sampler.samples);
+				assertThat(rows).isEqualTo(PATIENTS);
+				assertThat(growth).as("retained heap growth exporting %s", format).isLessThan(MAX_RETAINED_GROWTH);
+			}
+		}
+	}
+
+	private static long retainedHeap() {
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	/**
+	 * Discards the export, but every {@link #SAMPLE_INTERVAL} bytes collects garbage and records the heap still in use.
+	 */
+	private static final class RetainedHeapSampler extends OutputStream {
+
+		private long written;
+		private long nextSample = SAMPLE_INTERVAL;
+		private long maxRetained;
+		private int samples;
+
+		@Override
+		public void write(int b) {
+			written(1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			written(len);
+		}
+
+		private void written(long bytes) {
+			written += bytes;
+			if ( written >= nextSample ) {
+				maxRetained = Math.max(maxRetained, retainedHeap());
+				samples++;
+				nextSample += SAMPLE_INTERVAL;
+			}
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.service.SearchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times the facet counts of the dashboards, from the facets API's single index query, against the {@code GROUP BY}
+ * queries they replace, and checks that both count the same. Excluded from {@code test}, run it with
+ * {@code ./gradlew benchmark}; {@code -Dbenchmark.appointments} and {@code -Dbenchmark.patients} set the dataset size.
+ */
+@Tag("benchmark")
+@Import(SearchService.class)
+class FacetBenchmarkTest extends BenchmarkTest {
+
+	private static final int APPOINTMENTS = Integer.getInteger("benchmark.appointments", 1_000_000);
+	private static final int PATIENTS = Integer.getInteger("benchmark.patients", 200_000);
+	private static final int DOCTORS = 2_000;
+	private static final int WARMUP_RUNS = 20;
+	private static final int RUNS = 200;
+
+	@Autowired
+	private SearchService searchService;
+
+	@Test
+	void timesFacetsAgainstSql() throws InterruptedException {
+		seedPatients(PATIENTS);
+		seedDoctors(DOCTORS);
+		seedAppointments(APPOINTMENTS, PATIENTS, DOCTORS);
+		index(Patient.class, Doctor.class, Appointment.class);
+		Pageable pageable = PageRequest.of(0, 20);
+
+		System.out.printf("Facet counts over %,d appointments, %,d patients and %,d doctors, %d runs each%n", APPOINTMENTS, PATIENTS, DOCTORS, RUNS);
+		compare("appointment status and date",
+			() -> searchService.facetAppointments(null, pageable).getFacets(),
+			() -> Map.of("status", counts("SELECT status, count(*) FROM appointment GROUP BY status"), "appointmentDate", appointmentDateCounts()));
+		compare("patient gender",
+			() -> searchService.facetPatients(null, pageable).getFacets(),
+			() -> Map.of("gender", counts("SELECT gender, count(*) FROM patient GROUP BY gender")));
+		compare("doctor specialty",
+			() -> searchService.facetDoctors(null, pageable).getFacets(),
+			() -> Map.of("specialty", counts("SELECT specialty, count(*) FROM doctor GROUP BY specialty")));
+	}
+
+	private void compare(String label, Supplier<Map<String, Map<String, Long>>> facets, Supplier<Map<String, Map<String, Long>>> sql) {
+		assertThat(facets.get()).as("%s facets", label).isEqualTo(sql.get());
+		time(label + ", facets", facets);
+		time(label + ", sql", sql);
+	}
+
+	private static void time(String label, Supplier<?> counts) {
+		for ( int run = 0; run < WARMUP_RUNS; run++ ) {
+			counts.get();
+		}
+
+		long[] nanos = new long[RUNS];
+		for ( int run = 0; run < RUNS; run++ ) {
+			long start = System.nanoTime();
+			counts.get();
+			nanos[run] = System.nanoTime() - start;
+		}
+		report(label, nanos);
+	}
+
+	private Map<String, Long> counts(String sql) {
+		return jdbcTemplate.query(sql, rows -> {
+			Map<String, Long> counts = new LinkedHashMap<>();
+			while ( rows.next() ) {
+				counts.put(rows.getString(1), rows.getLong(2));
+			}
+			return counts;
+		});
+	}
+
+	// The buckets of SearchService.facetAppointments.
+	private Map<String, Long> appointmentDateCounts() {
+		LocalDateTime today = LocalDate.now().atStartOfDay();
+		return jdbcTemplate.query("SELECT count(*) FILTER (WHERE appointment_date < ?), "
+				+ "count(*) FILTER (WHERE appointment_date >= ? AND appointment_date < ?), "
+				+ "count(*) FILTER (WHERE appointment_date >= ? AND appointment_date < ?), "
+				+ "count(*) FILTER (WHERE appointment_date >= ?) FROM appointment",
+			rows -> {
+				rows.next();
+				Map<String, Long> counts = new LinkedHashMap<>();
+				counts.put("past", rows.getLong(1));
+				counts.put("today", rows.getLong(2));
+				counts.put("next7Days", rows.getLong(3));
+				counts.put("later", rows.getLong(4));
+				return counts;
+			},
+			today, today, today.plusDays(1), today.plusDays(1), today.plusDays(8), today.plusDays(8));
+	}
+}
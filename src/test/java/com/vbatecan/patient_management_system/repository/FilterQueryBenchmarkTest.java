@@ -0,0 +1,118 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.filter.AppointmentFilter;
+import com.vbatecan.patient_management_system.pagination.PageLoader;
+import com.vbatecan.patient_management_system.pagination.TotalCount;
+import com.vbatecan.patient_management_system.service.impl.filter.AppointmentFilterServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times the appointment filter endpoint's queries, rows and exact count, over a generated dataset with the composite
+ * indexes of {@code db/import.sql}. Every run of a shape binds different values, as real traffic would. Excluded from
+ * {@code test}, run it with {@code ./gradlew benchmark}; {@code -Dbenchmark.appointments} sets the dataset size.
+ */
+@Tag("benchmark")
+class FilterQueryBenchmarkTest extends RepositoryTest {
+
+	private static final int APPOINTMENTS = Integer.getInteger("benchmark.appointments", 500_000);
+	private static final int PATIENTS = 20_000;
+	private static final int DOCTORS = 200;
+	private static final int WARMUP_RUNS = 20;
+	private static final int RUNS = 200;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Test
+	void timesFilteredAppointmentQueries() {
+		seed();
+		AppointmentFilterServiceImpl filterService = new AppointmentFilterServiceImpl(appointmentRepository, new PageLoader(Duration.ofSeconds(30), 10_000));
+		Pageable pageable = PageRequest.of(0, 20, Sort.by("appointmentDate"));
+
+		Map<String, IntFunction<AppointmentFilter>> shapes = new LinkedHashMap<>();
+		shapes.put("patient", run -> AppointmentFilter.builder().patientId(run % PATIENTS + 1).build());
+		shapes.put("doctor + month", run -> AppointmentFilter.builder()
+			.doctorId(run % DOCTORS + 1)
+			.appointmentStartDate(FIRST_DAY.plusMonths(run % 24))
+			.appointmentEndDate(FIRST_DAY.plusMonths(run % 24 + 1).minusDays(1))
+			.build());
+		shapes.put("status + week", run -> AppointmentFilter.builder()
+			.status(run % 2 == 0 ? "completed" : "cancelled")
+			.appointmentStartDate(FIRST_DAY.plusWeeks(run % 100))
+			.appointmentEndDate(FIRST_DAY.plusWeeks(run % 100 + 1))
+			.build());
+		shapes.put("patient + reason", run -> AppointmentFilter.builder()
+			.patientId(run % PATIENTS + 1)
+			.reason(run % 2 == 0 ? "check" : "follow")
+			.build());
+
+		System.out.printf("Filtered appointment pages over %,d rows, %d runs each%n", APPOINTMENTS, RUNS);
+		shapes.forEach((shape, filters) -> {
+			for ( int run = 0; run < WARMUP_RUNS; run++ ) {
+				filterService.filter(filters.apply(run), pageable, TotalCount.EXACT);
+				entityManager.clear();
+			}
+
+			long[] nanos = new long[RUNS];
+			long rows = 0;
+			for ( int run = 0; run < RUNS; run++ ) {
+				AppointmentFilter filter = filters.apply(WARMUP_RUNS + run);
+				long start = System.nanoTime();
+				Slice<Appointment> page = filterService.filter(filter, pageable, TotalCount.EXACT);
+				nanos[run] = System.nanoTime() - start;
+				rows += page.getNumberOfElements();
+				entityManager.clear();
+			}
+
+			Arrays.sort(nanos);
+			System.out.printf("%-18s median %7.3f ms   p95 %7.3f ms   max %7.3f ms%n",
+				shape, millis(nanos[RUNS / 2]), millis(nanos[RUNS * 95 / 100]), millis(nanos[RUNS - 1]));
+			assertThat(rows).as("rows matched by %s", shape).isPositive();
+		});
+	}
+
+	private void seed() {
+		execute("INSERT INTO patient (id, first_name, last_name, date_of_birth, gender) "
+			+ "SELECT i, 'Patient', 'Number' || i, DATE '1950-01-01' + (i % 20000), CASE WHEN i % 2 = 0 THEN 'MALE' ELSE 'FEMALE' END "
+			+ "FROM generate_series(1, " + PATIENTS + ") AS i");
+		execute("INSERT INTO doctor (id, first_name, last_name, email) "
+			+ "SELECT i, 'Doctor', 'Number' || i, 'doctor' || i || '@example.com' "
+			+ "FROM generate_series(1, " + DOCTORS + ") AS i");
+		execute("INSERT INTO appointment (id, patient_id, doctor_id, appointment_date, reason, status, created_at, updated_at) "
+			+ "SELECT i, i % " + PATIENTS + " + 1, i % " + DOCTORS + " + 1, "
+			+ "TIMESTAMP '2024-01-01 08:00' + (i % 730) * INTERVAL '1 day' + (i % 9) * INTERVAL '1 hour', "
+			+ "(ARRAY['Check-up', 'Follow-up visit', 'Lab results', 'Vaccination'])[i % 4 + 1], "
+			+ "(ARRAY['SCHEDULED', 'COMPLETED', 'CANCELLED', 'NOT_SCHEDULED'])[i % 4 + 1], now(), now() "
+			+ "FROM generate_series(1, " + APPOINTMENTS + ") AS i");
+		// The composite indexes of db/import.sql, the generated test schema does not have them.
+		execute("CREATE INDEX ON appointment (patient_id, appointment_date)");
+		execute("CREATE INDEX ON appointment (doctor_id, appointment_date)");
+		execute("CREATE INDEX ON appointment (status, appointment_date)");
+		execute("ANALYZE patient, doctor, appointment");
+	}
+
+	private void execute(String sql) {
+		entityManager.getEntityManager().createNativeQuery(sql).executeUpdate();
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
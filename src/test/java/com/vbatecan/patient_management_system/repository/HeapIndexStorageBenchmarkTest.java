@@ -0,0 +1,17 @@
+package com.vbatecan.patient_management_system.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Indexes kept on the heap, the directory of every other test, refreshed before every search that follows a change.
+ */
+@Tag("benchmark")
+class HeapIndexStorageBenchmarkTest extends IndexStorageBenchmarkTest {
+
+	@DynamicPropertySource
+	static void refreshOnSearch(DynamicPropertyRegistry registry) {
+		appointmentIntervals(registry, 0, 1000);
+	}
+}
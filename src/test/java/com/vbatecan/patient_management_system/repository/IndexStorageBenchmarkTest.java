@@ -0,0 +1,124 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Appointment;
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.search.mapper.orm.Search;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the appointment index under a write-heavy load: how many appointments per second are written and indexed
+ * at commit, in transactions of {@link #TRANSACTION_SIZE}, and how long a single written appointment takes to become
+ * searchable. Subclasses choose the index directory and the appointment index's refresh and commit intervals. Excluded
+ * from {@code test}, run them with {@code ./gradlew benchmark}; {@code -Dbenchmark.appointments} sets the size of the
+ * indexed table and {@code -Dbenchmark.writes} the number of appointments written.
+ */
+abstract class IndexStorageBenchmarkTest extends BenchmarkTest {
+
+	private static final int APPOINTMENTS = Integer.getInteger("benchmark.appointments", 200_000);
+	private static final int WRITES = Integer.getInteger("benchmark.writes", 50_000);
+	private static final int PATIENTS = 20_000;
+	private static final int DOCTORS = 200;
+	private static final int TRANSACTION_SIZE = 100;
+	private static final int FRESHNESS_SAMPLES = 50;
+	private static final long SEARCHABLE_TIMEOUT_NANOS = 60_000_000_000L;
+
+	@Value("${spring.jpa.properties.hibernate.search.backend.directory.type}")
+	private String directoryType;
+
+	@Value("${spring.jpa.properties.hibernate.search.backend.indexes.Appointment.io.refresh_interval}")
+	private String refreshInterval;
+
+	@Value("${spring.jpa.properties.hibernate.search.backend.indexes.Appointment.io.commit_interval}")
+	private String commitInterval;
+
+	/**
+	 * Stores the indexes on disk, in a directory under the test task's temporary directory.
+	 */
+	protected static void onFilesystem(DynamicPropertyRegistry registry) throws IOException {
+		Path root = Files.createTempDirectory("indexes");
+		registry.add("spring.jpa.properties.hibernate.search.backend.directory.type", () -> "local-filesystem");
+		registry.add("spring.jpa.properties.hibernate.search.backend.directory.root", root::toString);
+	}
+
+	protected static void appointmentIntervals(DynamicPropertyRegistry registry, int refreshMillis, int commitMillis) {
+		registry.add("spring.jpa.properties.hibernate.search.backend.indexes.Appointment.io.refresh_interval", () -> refreshMillis);
+		registry.add("spring.jpa.properties.hibernate.search.backend.indexes.Appointment.io.commit_interval", () -> commitMillis);
+	}
+
+	@Test
+	void timesIndexedWrites() throws InterruptedException {
+		seedPatients(PATIENTS);
+		seedDoctors(DOCTORS);
+		seedAppointments(APPOINTMENTS, PATIENTS, DOCTORS);
+		index(Appointment.class);
+		write(0, WRITES / 10);
+
+		long start = System.nanoTime();
+		write(WRITES / 10, WRITES);
+		long nanos = System.nanoTime() - start;
+
+		long[] lags = new long[FRESHNESS_SAMPLES];
+		for ( int sample = 0; sample < FRESHNESS_SAMPLES; sample++ ) {
+			int id = write(WRITES + sample, WRITES + sample + 1);
+			long committed = System.nanoTime();
+			while ( !searchable(id) ) {
+				assertThat(System.nanoTime() - committed).as("nanoseconds until appointment %d is searchable", id).isLessThan(SEARCHABLE_TIMEOUT_NANOS);
+				Thread.sleep(1);
+			}
+			lags[sample] = System.nanoTime() - committed;
+		}
+
+		System.out.printf("Appointment index on %s, refresh every %s ms, commit every %s ms, %,d appointments indexed%n",
+			directoryType, refreshInterval, commitInterval, APPOINTMENTS);
+		System.out.printf("%-36s %,9.0f appointments/s%n", "written and indexed", (WRITES - WRITES / 10) / (nanos / 1e9));
+		report("searchable after", lags);
+	}
+
+	/**
+	 * Writes appointments {@code from} to {@code to}, in transactions of {@link #TRANSACTION_SIZE}.
+	 *
+	 * @return the id of the last one.
+	 */
+	private int write(int from, int to) {
+		int last = 0;
+		for ( int first = from; first < to; first += TRANSACTION_SIZE ) {
+			int chunkFrom = first;
+			int chunkTo = Math.min(to, first + TRANSACTION_SIZE);
+			last = transactionTemplate.execute(status -> {
+				Session session = entityManager.getEntityManager().unwrap(Session.class);
+				Appointment appointment = null;
+				for ( int i = chunkFrom; i < chunkTo; i++ ) {
+					appointment = new Appointment();
+					appointment.setPatient(session.getReference(Patient.class, i % PATIENTS + 1));
+					appointment.setDoctor(session.getReference(Doctor.class, i % DOCTORS + 1));
+					appointment.setAppointmentDate(LocalDateTime.of(2026, 1, 1, 8, 0).plusDays(i % 365).plusHours(i % 9));
+					appointment.setReason("Follow-up visit");
+					appointment.setCreatedAt(LocalDateTime.now());
+					appointment.setUpdatedAt(LocalDateTime.now());
+					session.persist(appointment);
+				}
+				session.flush();
+				return appointment.getId();
+			});
+		}
+		return last;
+	}
+
+	private boolean searchable(int id) {
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			return Search.session(entityManager).search(Appointment.class).where(f -> f.id().matching(id)).fetchTotalHitCount() > 0;
+		}
+	}
+}
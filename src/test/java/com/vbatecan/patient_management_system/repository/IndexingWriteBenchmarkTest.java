@@ -0,0 +1,96 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.enums.Gender;
+import jakarta.persistence.EntityManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times single patient writes, an insert and then an update each in a transaction of its own, over an indexed table,
+ * and how long the last write takes to become searchable. Subclasses choose the search coordination strategy, the
+ * index work is done at commit with {@code none} and by the background agents with {@code outbox-polling}. Excluded
+ * from {@code test}, run them with {@code ./gradlew benchmark}; {@code -Dbenchmark.patients} sets the size of the
+ * indexed table and {@code -Dbenchmark.writes} the number of writes timed.
+ */
+abstract class IndexingWriteBenchmarkTest extends BenchmarkTest {
+
+	private static final int PATIENTS = Integer.getInteger("benchmark.patients", 100_000);
+	private static final int WARMUP_RUNS = 200;
+	private static final int RUNS = Integer.getInteger("benchmark.writes", 2_000);
+	private static final long SEARCHABLE_TIMEOUT_NANOS = 60_000_000_000L;
+
+	@Value("${spring.jpa.properties.hibernate.search.coordination.strategy}")
+	private String coordination;
+
+	@Test
+	void timesPatientWrites() throws InterruptedException {
+		seedPatients(PATIENTS);
+		index(Patient.class);
+
+		long[] inserts = new long[RUNS];
+		long[] updates = new long[RUNS];
+		int id = 0;
+		String contactNumber = null;
+		for ( int run = -WARMUP_RUNS; run < RUNS; run++ ) {
+			Patient patient = patient(run);
+			long start = System.nanoTime();
+			id = transactionTemplate.execute(status -> entityManager.persistAndGetId(patient, Integer.class));
+			long inserted = System.nanoTime();
+			int updatedId = id;
+			contactNumber = String.format("0918%07d", run + WARMUP_RUNS);
+			String updatedContactNumber = contactNumber;
+			transactionTemplate.executeWithoutResult(status -> entityManager.find(Patient.class, updatedId).setContactNumber(updatedContactNumber));
+			long updated = System.nanoTime();
+			if ( run >= 0 ) {
+				inserts[run] = inserted - start;
+				updates[run] = updated - inserted;
+			}
+		}
+		long written = System.nanoTime();
+		boolean searchable = awaitSearchable(id, contactNumber);
+		long searchableAfter = System.nanoTime() - written;
+
+		System.out.printf("Single patient writes with %s coordination over %,d indexed patients, %d runs each%n", coordination, PATIENTS, RUNS);
+		report("insert", inserts);
+		report("update", updates);
+		System.out.printf("%-36s %8.3f ms%n", "last write searchable after", millis(searchableAfter));
+		assertThat(searchable).as("last write searchable").isTrue();
+	}
+
+	private boolean awaitSearchable(int id, String contactNumber) throws InterruptedException {
+		long deadline = System.nanoTime() + SEARCHABLE_TIMEOUT_NANOS;
+		while ( System.nanoTime() < deadline ) {
+			try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+				long hits = Search.session(entityManager)
+					.search(Patient.class)
+					.where(f -> f.bool().must(f.id().matching(id)).must(f.match().field("contactNumber").matching(contactNumber)))
+					.fetchTotalHitCount();
+				if ( hits > 0 ) {
+					return true;
+				}
+			}
+			Thread.sleep(1);
+		}
+		return false;
+	}
+
+	private static Patient patient(int run) {
+		Patient patient = new Patient();
+		patient.setFirstName(FIRST_NAMES[Math.floorMod(run, FIRST_NAMES.length)]);
+		patient.setLastName(LAST_NAMES[Math.floorMod(run, LAST_NAMES.length)]);
+		patient.setDateOfBirth(LocalDate.of(1980, 1, 1).plusDays(Math.floorMod(run, 10_000)));
+		patient.setGender(run % 2 == 0 ? Gender.MALE : Gender.FEMALE);
+		patient.setContactNumber("09170000000");
+		patient.setEmail("written" + run + "@example.com");
+		patient.setCreatedAt(LocalDateTime.now());
+		patient.setUpdatedAt(LocalDateTime.now());
+		return patient;
+	}
+}
@@ -0,0 +1,18 @@
+package com.vbatecan.patient_management_system.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Patient writes that only append index events to the outbox, applied to the index by the background agents. The
+ * outbox tables are part of the generated schema.
+ */
+@Tag("benchmark")
+class OutboxIndexingWriteBenchmarkTest extends IndexingWriteBenchmarkTest {
+
+	@DynamicPropertySource
+	static void outboxPolling(DynamicPropertyRegistry registry) {
+		registry.add("spring.jpa.properties.hibernate.search.coordination.strategy", () -> "outbox-polling");
+	}
+}
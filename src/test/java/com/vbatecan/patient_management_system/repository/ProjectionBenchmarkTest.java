@@ -0,0 +1,70 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.projection.PatientSearchHit;
+import jakarta.persistence.EntityManager;
+import org.hibernate.search.engine.search.query.dsl.SearchQueryWhereStep;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times pages of 50 patient search hits loaded as entities, one select per page, against the same pages projected
+ * from the index's stored fields, and counts the statements each way runs. Every run asks for another last name and
+ * page. Excluded from {@code test}, run it with {@code ./gradlew benchmark}; {@code -Dbenchmark.patients} sets the
+ * dataset size.
+ */
+@Tag("benchmark")
+class ProjectionBenchmarkTest extends BenchmarkTest {
+
+	private static final int PATIENTS = Integer.getInteger("benchmark.patients", 200_000);
+	private static final int PAGE_SIZE = 50;
+	private static final int WARMUP_RUNS = 50;
+	private static final int RUNS = 500;
+
+	@Test
+	void timesEntityLoadingAgainstProjections() throws InterruptedException {
+		seedPatients(PATIENTS);
+		index(Patient.class);
+
+		System.out.printf("Pages of %d patient hits over %,d patients, %d runs each%n", PAGE_SIZE, PATIENTS, RUNS);
+		time("loaded entities", session -> session.search(Patient.class));
+		time("projections", session -> session.search(Patient.class).select(PatientSearchHit.class));
+	}
+
+	private void time(String label, Function<SearchSession, SearchQueryWhereStep<?, ?, ?, ?>> select) {
+		for ( int run = 0; run < WARMUP_RUNS; run++ ) {
+			fetch(select, run);
+		}
+
+		statistics.clear();
+		long[] nanos = new long[RUNS];
+		long hits = 0;
+		for ( int run = 0; run < RUNS; run++ ) {
+			long start = System.nanoTime();
+			hits += fetch(select, WARMUP_RUNS + run).size();
+			nanos[run] = System.nanoTime() - start;
+		}
+
+		report(label, nanos);
+		System.out.printf("%-36s %.2f statements per page%n", "", (double) statistics.getPrepareStatementCount() / RUNS);
+		assertThat(hits).as("hits of %s", label).isPositive();
+	}
+
+	// Like SearchService, every page gets a session of its own outside of a transaction.
+	private List<?> fetch(Function<SearchSession, SearchQueryWhereStep<?, ?, ?, ?>> select, int run) {
+		String lastName = LAST_NAMES[run % LAST_NAMES.length].toLowerCase(Locale.ROOT);
+		try ( EntityManager entityManager = entityManagerFactory.createEntityManager() ) {
+			return select.apply(Search.session(entityManager))
+				.where(f -> f.match().field("lastName").matching(lastName))
+				.fetchHits(run % 10 * PAGE_SIZE, PAGE_SIZE);
+		}
+	}
+}
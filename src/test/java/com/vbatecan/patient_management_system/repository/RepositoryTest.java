@@ -0,0 +1,64 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.config.JpaConfig;
+import com.vbatecan.patient_management_system.config.SecondLevelCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the repositories against a real Postgres, the native queries do not work anywhere else. The schema is generated
+ * from the mapping and every test rolls back. All subclasses share this configuration and with it one application
+ * context, the second-level cache regions can only be created once per JVM.
+ */
+@DataJpaTest(properties = {
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"spring.jpa.properties.hibernate.search.backend.directory.type=local-heap",
+	"spring.jpa.properties.hibernate.search.coordination.strategy=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ JpaConfig.class, SecondLevelCacheConfig.class })
+@Testcontainers(disabledWithoutDocker = true)
+abstract class RepositoryTest {
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	protected TestEntityManager entityManager;
+
+	@Autowired
+	protected EntityManagerFactory entityManagerFactory;
+
+	protected Statistics statistics;
+
+	@BeforeEach
+	void lookUpStatistics() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	/**
+	 * Writes out and detaches everything persisted so far, then counts the JDBC statements prepared while
+	 * {@code action} runs, including the ones it leaves to the next flush.
+	 */
+	protected long countStatements(Runnable action) {
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+		action.run();
+		entityManager.flush();
+		return statistics.getPrepareStatementCount();
+	}
+}
@@ -0,0 +1,84 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.projection.PatientSearchHit;
+import com.vbatecan.patient_management_system.model.responses.SearchResults;
+import com.vbatecan.patient_management_system.service.SearchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times patient searches over an index of a million patients, for the kinds of queries typed at the front desk. Every
+ * run of a kind searches different words. Excluded from {@code test}, run it with {@code ./gradlew benchmark};
+ * {@code -Dbenchmark.patients} sets the dataset size.
+ */
+@Tag("benchmark")
+@Import(SearchService.class)
+class SearchBenchmarkTest extends BenchmarkTest {
+
+	private static final int PATIENTS = Integer.getInteger("benchmark.patients", 1_000_000);
+	private static final int WARMUP_RUNS = 50;
+	private static final int RUNS = 500;
+
+	@Autowired
+	private SearchService searchService;
+
+	@Test
+	void timesPatientSearches() throws InterruptedException {
+		seedPatients(PATIENTS);
+		index(Patient.class);
+		Pageable pageable = PageRequest.of(0, 20);
+
+		Map<String, IntFunction<String>> kinds = new LinkedHashMap<>();
+		kinds.put("last name", SearchBenchmarkTest::lastName);
+		kinds.put("first and last name", run -> firstName(run) + " " + lastName(run + 7));
+		kinds.put("misspelled last name", run -> misspell(lastName(run)));
+		kinds.put("first name prefix", run -> firstName(run).substring(0, 3));
+		kinds.put("phone number", run -> String.format("09%09d", (long) (run * 997 % PATIENTS + 1) * 7919 % 1_000_000_000));
+		kinds.put("email", run -> "patient" + (run * 997 % PATIENTS + 1) + "@example.com");
+
+		System.out.printf("Patient searches over %,d patients, %d runs each%n", PATIENTS, RUNS);
+		kinds.forEach((kind, queries) -> {
+			for ( int run = 0; run < WARMUP_RUNS; run++ ) {
+				searchService.searchPatients(queries.apply(run), pageable);
+			}
+
+			long[] nanos = new long[RUNS];
+			long hits = 0;
+			for ( int run = 0; run < RUNS; run++ ) {
+				String query = queries.apply(WARMUP_RUNS + run);
+				long start = System.nanoTime();
+				SearchResults<PatientSearchHit> results = searchService.searchPatients(query, pageable);
+				nanos[run] = System.nanoTime() - start;
+				hits += results.getContent().size();
+			}
+
+			report(kind, nanos);
+			assertThat(hits).as("hits of %s searches", kind).isPositive();
+		});
+	}
+
+	private static String firstName(int run) {
+		return FIRST_NAMES[run % FIRST_NAMES.length].toLowerCase(Locale.ROOT);
+	}
+
+	private static String lastName(int run) {
+		return LAST_NAMES[run % LAST_NAMES.length].toLowerCase(Locale.ROOT);
+	}
+
+	// Swaps the two letters after the first, which the fuzzy match allows as one edit.
+	private static String misspell(String word) {
+		return word.charAt(0) + "" + word.charAt(2) + word.charAt(1) + word.substring(3);
+	}
+}
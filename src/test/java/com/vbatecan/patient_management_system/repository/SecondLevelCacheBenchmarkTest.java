@@ -0,0 +1,82 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Doctor;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a read-heavy load against the second-level cache: every request, in a transaction of its own, looks its user
+ * account up by username and renders a doctor loaded by id with that doctor's account, and another looked up by email.
+ * The same requests run once with the cache ignored and once with a warm cache, counting the statements and timing
+ * the requests each way. Excluded from {@code test}, run it with {@code ./gradlew benchmark};
+ * {@code -Dbenchmark.requests} sets the number of requests.
+ */
+@Tag("benchmark")
+class SecondLevelCacheBenchmarkTest extends BenchmarkTest {
+
+	private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+	private static final int USER_ACCOUNTS = 2_000;
+	private static final int DOCTORS = 500;
+
+	@Autowired
+	private UserAccountRepository userAccountRepository;
+
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	@Test
+	void countsStatementsWithAndWithoutTheCache() {
+		execute("INSERT INTO user_account (id, username, password, role, created_at, updated_at) "
+			+ "SELECT i, 'user' || i, 'not a hash', CASE WHEN i <= " + DOCTORS + " THEN 'DOCTOR' ELSE 'PATIENT' END, now(), now() "
+			+ "FROM generate_series(1, " + USER_ACCOUNTS + ") AS i");
+		execute("SELECT setval('user_account_seq', " + USER_ACCOUNTS + ")");
+		seedDoctors(DOCTORS);
+		execute("UPDATE doctor SET user_account_id = id");
+		execute("ANALYZE user_account, doctor");
+
+		System.out.printf("%,d requests over %,d user accounts and %,d doctors%n", REQUESTS, USER_ACCOUNTS, DOCTORS);
+		run(CacheMode.IGNORE, REQUESTS);
+		long uncached = time("cache ignored", CacheMode.IGNORE);
+		// Every entry read once, so the timed run starts from a warm cache.
+		run(CacheMode.NORMAL, USER_ACCOUNTS);
+		long cached = time("warm cache", CacheMode.NORMAL);
+
+		assertThat(cached).isLessThan(uncached);
+	}
+
+	/**
+	 * @return the statements the requests ran.
+	 */
+	private long time(String label, CacheMode cacheMode) {
+		statistics.clear();
+		long[] nanos = run(cacheMode, REQUESTS);
+		report(label, nanos);
+		System.out.printf("%-36s %.2f statements per request, %,d second-level cache hits, %,d natural id cache hits%n",
+			"", (double) statistics.getPrepareStatementCount() / REQUESTS, statistics.getSecondLevelCacheHitCount(), statistics.getNaturalIdCacheHitCount());
+		return statistics.getPrepareStatementCount();
+	}
+
+	private long[] run(CacheMode cacheMode, int requests) {
+		long[] nanos = new long[requests];
+		for ( int request = 0; request < requests; request++ ) {
+			int id = request % USER_ACCOUNTS + 1;
+			long start = System.nanoTime();
+			transactionTemplate.executeWithoutResult(status -> {
+				Session session = entityManager.getEntityManager().unwrap(Session.class);
+				session.setCacheMode(cacheMode);
+				userAccountRepository.findByUsername("user" + id).orElseThrow();
+				Doctor doctor = session.find(Doctor.class, id % DOCTORS + 1);
+				Hibernate.initialize(doctor.getUserAccount());
+				doctorRepository.findByEmail("doctor" + (id * 7 % DOCTORS + 1) + "@example.com").orElseThrow();
+			});
+			nanos[request] = System.nanoTime() - start;
+		}
+		return nanos;
+	}
+}
@@ -0,0 +1,67 @@
+package com.vbatecan.patient_management_system.repository;
+
+import com.vbatecan.patient_management_system.model.entities.Patient;
+import com.vbatecan.patient_management_system.model.projection.PatientSearchHit;
+import com.vbatecan.patient_management_system.model.responses.Suggestions;
+import com.vbatecan.patient_management_system.service.SearchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times patient suggestions over an index of a million patients for name prefixes of one to four characters, as typed
+ * keystroke by keystroke, and counts the suggestions cut short by the time budget. Excluded from {@code test}, run it
+ * with {@code ./gradlew benchmark}; {@code -Dbenchmark.patients} sets the dataset size.
+ */
+@Tag("benchmark")
+@Import(SearchService.class)
+class SuggestBenchmarkTest extends BenchmarkTest {
+
+	private static final int PATIENTS = Integer.getInteger("benchmark.patients", 1_000_000);
+	private static final int WARMUP_RUNS = 100;
+	private static final int RUNS = 1000;
+
+	@Autowired
+	private SearchService searchService;
+
+	@Test
+	void timesPatientSuggestions() throws InterruptedException {
+		seedPatients(PATIENTS);
+		index(Patient.class);
+
+		System.out.printf("Patient suggestions over %,d patients, %d runs per prefix length%n", PATIENTS, RUNS);
+		for ( int length = 1; length <= 4; length++ ) {
+			for ( int run = 0; run < WARMUP_RUNS; run++ ) {
+				searchService.suggestPatients(prefix(run, length), null);
+			}
+
+			long[] nanos = new long[RUNS];
+			long hits = 0;
+			int partial = 0;
+			for ( int run = 0; run < RUNS; run++ ) {
+				String prefix = prefix(WARMUP_RUNS + run, length);
+				long start = System.nanoTime();
+				Suggestions<PatientSearchHit> suggestions = searchService.suggestPatients(prefix, null);
+				nanos[run] = System.nanoTime() - start;
+				hits += suggestions.getContent().size();
+				partial += suggestions.getPartial() ? 1 : 0;
+			}
+
+			report(length + " character prefix", nanos);
+			System.out.printf("%-36s %d of %d partial%n", "", partial, RUNS);
+			assertThat(hits).as("suggestions for %d character prefixes", length).isPositive();
+		}
+	}
+
+	// Alternates between first and last names, the suggestion fields cover both.
+	private static String prefix(int run, int length) {
+		String[] names = run % 2 == 0 ? FIRST_NAMES : LAST_NAMES;
+		String name = names[run / 2 % names.length];
+		return name.substring(0, Math.min(length, name.length())).toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,10 @@
+package com.vbatecan.patient_management_system.repository;
+
+import org.junit.jupiter.api.Tag;
+
+/**
+ * Patient writes indexed synchronously at commit, the {@code none} coordination of every other test.
+ */
+@Tag("benchmark")
+class SyncIndexingWriteBenchmarkTest extends IndexingWriteBenchmarkTest {
+}
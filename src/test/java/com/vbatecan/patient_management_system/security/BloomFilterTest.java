@@ -0,0 +1,61 @@
+package com.vbatecan.patient_management_system.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+	@Test
+	void neverReportsAPutValueAsAbsent() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		IntStream.range(0, 10_000).forEach(i -> filter.put("token-" + i));
+
+		assertThat(IntStream.range(0, 10_000)).allMatch(i -> filter.mightContain("token-" + i));
+	}
+
+	@Test
+	void keepsTheFalsePositiveRateNearTheConfiguredOne() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		IntStream.range(0, 10_000).forEach(i -> filter.put("token-" + i));
+
+		long falsePositives = IntStream.range(0, 100_000)
+			.filter(i -> filter.mightContain("other-" + i))
+			.count();
+
+		// 1% configured, allow for the variance of a single run
+		assertThat(falsePositives).isLessThan(2_000);
+	}
+
+	@Test
+	void isEmptyBeforeAnyPut() {
+		BloomFilter filter = new BloomFilter(100, 0.01);
+
+		assertThat(IntStream.range(0, 1_000)).noneMatch(i -> filter.mightContain("token-" + i));
+	}
+
+	@Test
+	void clampsTheCapacityToOne() {
+		assertThat(new BloomFilter(0, 0.01).capacity()).isEqualTo(1);
+		assertThat(new BloomFilter(500, 0.01).capacity()).isEqualTo(500);
+	}
+
+	@Test
+	void keepsEveryValuePutConcurrently() throws InterruptedException {
+		BloomFilter filter = new BloomFilter(80_000, 0.01);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for ( int thread = 0; thread < 8; thread++ ) {
+			int offset = thread * 10_000;
+			executor.execute(() -> IntStream.range(offset, offset + 10_000).forEach(i -> filter.put("token-" + i)));
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(IntStream.range(0, 80_000)).allMatch(i -> filter.mightContain("token-" + i));
+	}
+}
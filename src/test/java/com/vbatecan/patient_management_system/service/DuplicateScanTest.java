@@ -0,0 +1,53 @@
+package com.vbatecan.patient_management_system.service;
+
+import com.vbatecan.patient_management_system.model.responses.DuplicatePair;
+import com.vbatecan.patient_management_system.model.responses.DuplicateScanStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DuplicateScanTest {
+
+	@Test
+	void keepsAPairFoundOnlyFromTheHigherId() {
+		DuplicateScan scan = new DuplicateScan(10);
+
+		scan.add(9, 4, 0.9);
+
+		assertThat(scan.status().getPairs())
+			.extracting(DuplicatePair::getPatientId, DuplicatePair::getDuplicateId, DuplicatePair::getScore)
+			.containsExactly(tuple(4, 9, 0.9));
+	}
+
+	@Test
+	void reportsAPairFoundFromBothSidesOnceWithItsHigherScore() {
+		DuplicateScan scan = new DuplicateScan(10);
+
+		scan.add(4, 9, 0.7);
+		scan.add(9, 4, 0.8);
+		scan.add(4, 9, 0.6);
+
+		assertThat(scan.status().getPairs())
+			.extracting(DuplicatePair::getPatientId, DuplicatePair::getDuplicateId, DuplicatePair::getScore)
+			.containsExactly(tuple(4, 9, 0.8));
+	}
+
+	@Test
+	void stopsAtTheMaximumNumberOfPairs() {
+		DuplicateScan scan = new DuplicateScan(2);
+
+		scan.add(1, 2, 0.6);
+		scan.add(3, 4, 0.9);
+		scan.add(2, 1, 0.7);
+		DuplicateScanStatus full = scan.status();
+		scan.add(5, 6, 0.8);
+		DuplicateScanStatus truncated = scan.status();
+
+		assertThat(full.getTruncated()).isFalse();
+		assertThat(truncated.getTruncated()).isTrue();
+		assertThat(truncated.getPairs())
+			.extracting(DuplicatePair::getPatientId, DuplicatePair::getScore)
+			.containsExactly(tuple(3, 0.9), tuple(1, 0.7));
+	}
+}
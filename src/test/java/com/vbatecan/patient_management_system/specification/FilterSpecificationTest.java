@@ -0,0 +1,116 @@
+package com.vbatecan.patient_management_system.specification;
+
+import com.vbatecan.patient_management_system.model.enums.AppointmentStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyChar;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FilterSpecificationTest {
+
+	private static final FilterSpecification<Filter, Object> SPECIFICATION = FilterSpecification.<Filter, Object>builder("thing")
+		.equal("patientId", "patient.id", Filter::patientId)
+		.contains("reason", "reason", Filter::reason)
+		.equal("status", "status", Filter::status)
+		.build();
+
+	private Root<Object> root;
+	private CriteriaBuilder criteriaBuilder;
+	private Path<Object> patientId;
+	private Path<Object> reason;
+	private Path<Object> status;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void mockCriteria() {
+		root = mock(Root.class);
+		criteriaBuilder = mock(CriteriaBuilder.class);
+		Path<Object> patient = mock(Path.class);
+		patientId = mock(Path.class);
+		reason = mock(Path.class);
+		status = mock(Path.class);
+		when(root.<Object>get("patient")).thenReturn(patient);
+		when(patient.<Object>get("id")).thenReturn(patientId);
+		when(root.<Object>get("reason")).thenReturn(reason);
+		when(root.<Object>get("status")).thenReturn(status);
+	}
+
+	@Test
+	void compilesAFilterWithoutValuesToThePlainList() {
+		CompiledFilter<Object> compiled = SPECIFICATION.compile(new Filter(null, "  ", ""));
+
+		assertThat(compiled.specification()).isNull();
+		assertThat(compiled.countKey()).isEqualTo("thing");
+	}
+
+	@Test
+	void keysTheCountByTheSetConditionsInDeclarationOrder() {
+		CompiledFilter<Object> compiled = SPECIFICATION.compile(new Filter(4, null, "SCHEDULED"));
+
+		assertThat(compiled.countKey()).isEqualTo("thing:filter?patientId=4&status=SCHEDULED");
+	}
+
+	@Test
+	void combinesOnlyTheSetConditions() {
+		Predicate byPatient = mock(Predicate.class);
+		Predicate byStatus = mock(Predicate.class);
+		when(criteriaBuilder.equal(patientId, 4)).thenReturn(byPatient);
+		when(criteriaBuilder.equal(status, "SCHEDULED")).thenReturn(byStatus);
+
+		SPECIFICATION.compile(new Filter(4, null, "SCHEDULED")).specification().toPredicate(root, null, criteriaBuilder);
+
+		verify(criteriaBuilder).and(new Predicate[] { byPatient, byStatus });
+		verify(criteriaBuilder, never()).like(any(), anyString(), anyChar());
+	}
+
+	@Test
+	void bindsTheValuesOfEachCompiledFilter() {
+		CompiledFilter<Object> first = SPECIFICATION.compile(new Filter(4, null, null));
+		CompiledFilter<Object> second = SPECIFICATION.compile(new Filter(9, null, null));
+
+		assertThat(first.countKey()).isEqualTo("thing:filter?patientId=4");
+		assertThat(second.countKey()).isEqualTo("thing:filter?patientId=9");
+
+		second.specification().toPredicate(root, null, criteriaBuilder);
+		first.specification().toPredicate(root, null, criteriaBuilder);
+		verify(criteriaBuilder).equal(patientId, 9);
+		verify(criteriaBuilder).equal(patientId, 4);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void escapesLikeWildcardsInContains() {
+		Expression<String> lowered = mock(Expression.class);
+		when(criteriaBuilder.lower(any())).thenReturn(lowered);
+
+		SPECIFICATION.compile(new Filter(null, "50%_Off", null)).specification().toPredicate(root, null, criteriaBuilder);
+
+		verify(criteriaBuilder).like(lowered, "%50\\%\\_off%", '\\');
+	}
+
+	@Test
+	void parsesEnumValuesIgnoringCaseAndBlanks() {
+		assertThat(FilterSpecification.enumValue(AppointmentStatus.class, " completed ")).isEqualTo(AppointmentStatus.COMPLETED);
+		assertThat(FilterSpecification.enumValue(AppointmentStatus.class, " ")).isNull();
+		assertThat(FilterSpecification.enumValue(AppointmentStatus.class, null)).isNull();
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> FilterSpecification.enumValue(AppointmentStatus.class, "postponed"))
+			.withMessage("Unknown AppointmentStatus: postponed");
+	}
+
+	private record Filter(Integer patientId, String reason, String status) {
+	}
+}
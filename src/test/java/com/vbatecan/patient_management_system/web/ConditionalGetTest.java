@@ -0,0 +1,105 @@
+package com.vbatecan.patient_management_system.web;
+
+import com.vbatecan.patient_management_system.model.projection.EntityVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetTest {
+
+	private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 3, 14, 9, 30);
+	private static final EntityVersion VERSION = new EntityVersion(List.of(UPDATED_AT));
+	private static final long LAST_MODIFIED = UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+	private final ConditionalGet conditionalGet = new ConditionalGet();
+	private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/patients/7");
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void answersWithTheBodyAndItsValidators() {
+		ResponseEntity<String> response = respond(Optional.of(VERSION), Optional.of("patient"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo("patient");
+		assertThat(response.getHeaders().getETag()).isEqualTo(VERSION.eTag(7));
+		assertThat(response.getHeaders().getLastModified()).isEqualTo(LAST_MODIFIED);
+	}
+
+	@Test
+	void answersNotModifiedWithoutLoadingForAMatchingETag() {
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, VERSION.eTag(7));
+
+		ResponseEntity<String> response = respond(Optional.of(VERSION), Optional.of("patient"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(response.getBody()).isNull();
+		assertThat(response.getHeaders().getETag()).isEqualTo(VERSION.eTag(7));
+		assertThat(loads).hasValue(0);
+	}
+
+	@Test
+	void answersNotModifiedWithoutLoadingWhenNotModifiedSince() {
+		request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED);
+
+		ResponseEntity<String> response = respond(Optional.of(VERSION), Optional.of("patient"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(loads).hasValue(0);
+	}
+
+	@Test
+	void loadsTheBodyForAStaleETag() {
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, new EntityVersion(List.of(UPDATED_AT.minusSeconds(1))).eTag(7));
+
+		ResponseEntity<String> response = respond(Optional.of(VERSION), Optional.of("patient"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getBody()).isEqualTo("patient");
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void answersNotFoundWithoutLoadingForAMissingEntity() {
+		ResponseEntity<String> response = respond(Optional.empty(), Optional.of("patient"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(loads).hasValue(0);
+	}
+
+	@Test
+	void answersNotFoundWhenTheEntityIsDeletedBetweenTheReads() {
+		ResponseEntity<String> response = respond(Optional.of(VERSION), Optional.empty());
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void leavesOutLastModifiedWithoutTimestamps() {
+		ResponseEntity<String> response = respond(Optional.of(new EntityVersion(Arrays.asList((LocalDateTime) null))), Optional.of("patient"));
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getETag()).isEqualTo("\"7-0\"");
+		assertThat(response.getHeaders().containsKey(HttpHeaders.LAST_MODIFIED)).isFalse();
+	}
+
+	private ResponseEntity<String> respond(Optional<EntityVersion> version, Optional<String> body) {
+		return conditionalGet.respond(new ServletWebRequest(request, new MockHttpServletResponse()), 7, id -> version, () -> {
+			loads.incrementAndGet();
+			return body;
+		});
+	}
+}